@@ -3,6 +3,7 @@ package com.marketplace.auth.config;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableAutoConfiguration
@@ -11,5 +12,6 @@ import org.springframework.context.annotation.Configuration;
         "com.marketplace.usercore",
         "com.marketplace.common"
 })
+@EnableScheduling
 public class AuthApplicationConfig {
 }
@@ -0,0 +1,55 @@
+package com.marketplace.auth.config;
+
+import com.marketplace.auth.security.token.RefreshToken;
+import com.marketplace.auth.security.token.RevokedTokenFamily;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class AuthIndexConfigurer {
+
+    public static final String REFRESH_TOKENS_TTL_INDEX = "expiresAt_ttl";
+
+    public static final String REFRESH_TOKENS_FAMILY_INDEX = "familyId";
+
+    public static final String REVOKED_FAMILIES_TTL_INDEX = "expiresAt_ttl";
+
+    public static final String REVOKED_FAMILIES_REVOKED_AT_INDEX = "revokedAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureAuthIndexes() {
+        try {
+            mongoTemplate.indexOps(RefreshToken.class).ensureIndex(new Index()
+                    .on("expiresAt", Sort.Direction.ASC)
+                    .expire(Duration.ZERO)
+                    .named(REFRESH_TOKENS_TTL_INDEX));
+            mongoTemplate.indexOps(RefreshToken.class).ensureIndex(new Index()
+                    .on("familyId", Sort.Direction.ASC)
+                    .named(REFRESH_TOKENS_FAMILY_INDEX));
+            mongoTemplate.indexOps(RevokedTokenFamily.class).ensureIndex(new Index()
+                    .on("expiresAt", Sort.Direction.ASC)
+                    .expire(Duration.ZERO)
+                    .named(REVOKED_FAMILIES_TTL_INDEX));
+            mongoTemplate.indexOps(RevokedTokenFamily.class).ensureIndex(new Index()
+                    .on("revokedAt", Sort.Direction.ASC)
+                    .named(REVOKED_FAMILIES_REVOKED_AT_INDEX));
+            log.info("[AUTH_INDEX_CONFIGURER]: Refresh token indexes are ensured");
+        } catch (DataAccessException exception) {
+            log.error("[AUTH_INDEX_CONFIGURER]: Index creation failed {}", exception.getMessage());
+        }
+    }
+
+}
@@ -2,11 +2,14 @@ package com.marketplace.auth.exception;
 
 import com.marketplace.common.exception.ExceptionService;
 import com.marketplace.common.exception.ExceptionType;
+import com.marketplace.usercore.security.PasswordHashingRejectedException;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.ModelAndView;
@@ -20,6 +23,9 @@ public class AuthenticationExceptionHandler {
 
     private final ExceptionService exceptionService;
 
+    @Value("${user.password.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
     @ExceptionHandler(CredentialException.class)
     public ModelAndView handleCredentialsException(CredentialException exception, HttpServletResponse response, HttpServletRequest request) {
         log.error("[AUTHENTICATION_EXCEPTION_HANDLER]: {}", exception.getMessage());
@@ -34,6 +40,21 @@ public class AuthenticationExceptionHandler {
                 .build());
     }
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ModelAndView handlePasswordHashingRejectedException(PasswordHashingRejectedException exception, HttpServletResponse response, HttpServletRequest request) {
+        log.warn("[AUTHENTICATION_EXCEPTION_HANDLER]: {}", exception.getMessage());
+
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return exceptionService.buildErrorResponseModelAndView(ExceptionService.ErrorModelPayload.builder()
+                        .modelView("error")
+                        .status(429)
+                        .message(exception.getMessage())
+                        .exceptionType(ExceptionType.AUTHORIZATION)
+                        .path(request.getRequestURI())
+                .build());
+    }
+
     @ExceptionHandler(ExpiredJwtException.class)
     public void handleExpiredJwtException(ExpiredJwtException exception, HttpServletResponse response) throws IOException {
         log.error("[EXPIRED_JWT_EXCEPTION_HANDLER]: {}", exception.getMessage());
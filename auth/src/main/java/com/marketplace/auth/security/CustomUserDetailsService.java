@@ -1,6 +1,7 @@
 package com.marketplace.auth.security;
 
 import com.marketplace.usercore.repository.UserRepository;
+import com.marketplace.usercore.security.UserDetailsCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +17,8 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    private final UserDetailsCacheService userDetailsCacheService;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
@@ -24,7 +27,7 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User does not exist!");
         }
 
-        return userRepository.findByEmail(username)
+        return userDetailsCacheService.findByEmail(username, userRepository::findByEmail)
                 .map(user -> (UserDetails) user)
                 .orElseThrow(() -> {
                     log.error("[CUSTOM_USER_DETAILS_SERVICE]: User not found by username: {}", username);
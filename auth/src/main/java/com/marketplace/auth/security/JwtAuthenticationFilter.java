@@ -1,5 +1,6 @@
 package com.marketplace.auth.security;
 
+import com.marketplace.auth.security.config.SecurityConfig;
 import com.marketplace.auth.security.cookie.CookieNotFoundException;
 import com.marketplace.auth.security.cookie.CookieService;
 import com.marketplace.auth.security.token.TokenPayload;
@@ -19,12 +20,17 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
 
 import static com.marketplace.auth.security.cookie.CookieService.COOKIE_ACCESS_TOKEN;
 import static com.marketplace.auth.security.cookie.CookieService.COOKIE_REFRESH_TOKEN;
@@ -34,6 +40,13 @@ import static com.marketplace.auth.security.cookie.CookieService.COOKIE_REFRESH_
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Set on public routes, where the principal is only resolved when something reads the security context.
+     */
+    public static final String DEFERRED_AUTHENTICATION_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".DEFERRED";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     private final CookieService cookieService;
 
     private final JwtCookieService jwtCookieService;
@@ -51,14 +64,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
+            if (matchesAny(SecurityConfig.PERMITTED_ROUTES, request)) {
+                deferAuthentication(request, response);
+                filterChain.doFilter(request, response);
+                return;
+            }
+
             Cookie accessTokenCookie = cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, request);
-            UserDetails userDetails = validateUserAccessibility(accessTokenCookie.getValue());
+            UserDetails userDetails = validateUserAccessibility(jwtTokenService.authenticateAccessTokenOrThrow(accessTokenCookie.getValue()));
             addAuthenticationToContext(userDetails);
 
         } catch (JwtException exception) {
             log.error("[JWT_AUTHENTICATION_FILTER]: {}", exception.getMessage());
 
-            boolean refreshValid = updateTokensIfRefreshValid(response, request);
+            boolean refreshValid = updateTokensIfRefreshValid(response, request).isPresent();
             if (refreshValid) {
                 filterChain.doFilter(request, response);
                 return;
@@ -80,18 +99,81 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return matchesAny(SecurityConfig.STATIC_ROUTES, request);
+    }
+
+    private void deferAuthentication(HttpServletRequest request, HttpServletResponse response) {
+        SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+        request.setAttribute(DEFERRED_AUTHENTICATION_ATTRIBUTE, Boolean.TRUE);
+        securityContextHolderStrategy.setDeferredContext(SingletonSupplier.of(() -> {
+            SecurityContext securityContext = securityContextHolderStrategy.createEmptyContext();
+            resolveUserDetails(request, response)
+                    .ifPresent(userDetails -> securityContext.setAuthentication(buildAuthentication(userDetails)));
+
+            return securityContext;
+        }));
+    }
+
+    /**
+     * Same checks as the eager path, but a failure leaves the request anonymous instead of redirecting.
+     * Cookies are only touched while the response is still uncommitted.
+     */
+    private Optional<UserDetails> resolveUserDetails(HttpServletRequest request, HttpServletResponse response) {
+        try {
+            Cookie accessTokenCookie = cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, request);
+            return Optional.of(validateUserAccessibility(jwtTokenService.authenticateAccessTokenOrThrow(accessTokenCookie.getValue())));
+        } catch (JwtException exception) {
+            log.info("[JWT_AUTHENTICATION_FILTER]: Deferred authentication failed {}", exception.getMessage());
+
+            if (response.isCommitted()) {
+                return Optional.empty();
+            }
+
+            Optional<UserDetails> refreshedUserDetails = updateTokensIfRefreshValid(response, request);
+            if (refreshedUserDetails.isEmpty()) {
+                jwtCookieService.deleteTokensFromCookie(response);
+            }
+
+            return refreshedUserDetails;
+        } catch (UsernameNotFoundException | AccessDeniedException exception) {
+            log.info("[JWT_AUTHENTICATION_FILTER]: Deferred authentication failed {}", exception.getMessage());
+
+            if (!response.isCommitted()) {
+                jwtCookieService.deleteTokensFromCookie(response);
+            }
+            return Optional.empty();
+        } catch (CookieNotFoundException exception) {
+            return Optional.empty();
+        }
+    }
+
     private void addAuthenticationToContext(UserDetails userDetails) {
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+        SecurityContextHolder.getContext().setAuthentication(buildAuthentication(userDetails));
+    }
+
+    private UsernamePasswordAuthenticationToken buildAuthentication(UserDetails userDetails) {
+        return new UsernamePasswordAuthenticationToken(
                 userDetails,
                 null,
                 userDetails.getAuthorities());
-
-        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 
-    private UserDetails validateUserAccessibility(String token) {
-        UserDetails userDetails = jwtTokenService.getUserDetailsIfTokenValidOrThrow(token);
+    private static boolean matchesAny(String[] routes, HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        if (requestUri == null) {
+            return false;
+        }
+
+        String contextPath = request.getContextPath();
+        String path = contextPath != null && requestUri.startsWith(contextPath) ? requestUri.substring(contextPath.length()) : requestUri;
 
+        return Arrays.stream(routes).anyMatch(route -> PATH_MATCHER.match(route, path));
+    }
+
+    private UserDetails validateUserAccessibility(UserDetails userDetails) {
         if (userDetails instanceof User && ((User) userDetails).getStatus() == UserStatus.BLOCKED) {
             throw new AccessDeniedException("User is blocked");
         }
@@ -99,21 +181,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return userDetails;
     }
 
-    private boolean updateTokensIfRefreshValid(HttpServletResponse response, HttpServletRequest request) {
+    private Optional<UserDetails> updateTokensIfRefreshValid(HttpServletResponse response, HttpServletRequest request) {
         try {
-            Cookie refreshTokenCookie = cookieService.extractCookieByName(COOKIE_REFRESH_TOKEN, request);
+            String refreshToken = cookieService.extractCookieByName(COOKIE_REFRESH_TOKEN, request).getValue();
 
-            UserDetails userDetails = jwtTokenService.getUserDetailsIfTokenValidOrThrow(refreshTokenCookie.getValue());
-            TokenPayload tokenPayload = jwtTokenService.generateTokenPayload(userDetails);
+            UserDetails userDetails = validateUserAccessibility(jwtTokenService.getUserDetailsIfTokenValidOrThrow(refreshToken));
+            TokenPayload tokenPayload = jwtTokenService.rotateTokenPayloadOrThrow(refreshToken, userDetails);
             jwtCookieService.addTokensToCookie(tokenPayload, response);
 
             log.info("[JWT_AUTHENTICATION_FILTER]: Tokens refreshed successfully");
 
-            return true;
-        } catch (JwtException exception) {
+            return Optional.of(userDetails);
+        } catch (JwtException | UsernameNotFoundException | AccessDeniedException | CookieNotFoundException exception) {
             log.info("[JWT_AUTHENTICATION_FILTER]: Tokens refresh failed {}", exception.getMessage());
 
-            return false;
+            return Optional.empty();
         }
     }
 }
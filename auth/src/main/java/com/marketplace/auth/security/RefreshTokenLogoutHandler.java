@@ -0,0 +1,31 @@
+package com.marketplace.auth.security;
+
+import com.marketplace.auth.security.cookie.CookieNotFoundException;
+import com.marketplace.auth.security.cookie.CookieService;
+import com.marketplace.auth.service.JwtTokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+import static com.marketplace.auth.security.cookie.CookieService.COOKIE_REFRESH_TOKEN;
+
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenLogoutHandler implements LogoutHandler {
+
+    private final CookieService cookieService;
+
+    private final JwtTokenService jwtTokenService;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        try {
+            jwtTokenService.revokeRefreshToken(cookieService.extractCookieByName(COOKIE_REFRESH_TOKEN, request).getValue());
+        } catch (CookieNotFoundException exception) {
+            // nothing to revoke
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.marketplace.auth.security.config;
 
 import com.marketplace.auth.security.JwtAuthenticationFilter;
+import com.marketplace.auth.security.RefreshTokenLogoutHandler;
 import com.marketplace.auth.security.RestAccessDeniedHandler;
 import com.marketplace.auth.security.RestAuthenticationEntryPoint;
 import com.marketplace.usercore.model.UserRole;
@@ -15,6 +16,9 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+
 import static com.marketplace.auth.security.cookie.CookieService.COOKIE_ACCESS_TOKEN;
 import static com.marketplace.auth.security.cookie.CookieService.COOKIE_REFRESH_TOKEN;
 
@@ -30,20 +34,30 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    public static final String[] PERMITTED_ROUTES = new String[] {
+    private final RefreshTokenLogoutHandler refreshTokenLogoutHandler;
+
+    /**
+     * Served without authentication; the JWT filter skips them entirely.
+     */
+    public static final String[] STATIC_ROUTES = new String[] {
+            "/favicon.ico",
+            "/images/**",
+            "/storage/**",
+            "/.well-known/appspecific/com.chrome.devtools.json"
+    };
+
+    public static final String[] PERMITTED_ROUTES = Stream.concat(Stream.of(
             "/sign-in",
             "/sign-up",
             "/logout",
             "/home",
             "/products/**",
-            "/error",
-            "/favicon.ico",
-            "/images/**",
-            "/.well-known/appspecific/com.chrome.devtools.json"
-    };
+            "/error"
+    ), Arrays.stream(STATIC_ROUTES)).toArray(String[]::new);
 
     private static final String[] ADMIN_ROUTES = new String[] {
-            "/users/**"
+            "/users/**",
+            "/actuator/**"
     };
 
     @Bean
@@ -55,7 +69,7 @@ public class SecurityConfig {
                         .authenticationEntryPoint(restAuthenticationEntryPoint)
                         .accessDeniedHandler(restAccessDeniedHandler)
                 )
-                .logout(logout -> logout.deleteCookies(COOKIE_ACCESS_TOKEN, COOKIE_REFRESH_TOKEN).logoutSuccessUrl("/home"))
+                .logout(logout -> logout.addLogoutHandler(refreshTokenLogoutHandler).deleteCookies(COOKIE_ACCESS_TOKEN, COOKIE_REFRESH_TOKEN).logoutSuccessUrl("/home"))
                 .authorizeHttpRequests(authorizationManagerRequestMatcherRegistry -> authorizationManagerRequestMatcherRegistry
                         .requestMatchers(PERMITTED_ROUTES).permitAll()
                         .requestMatchers(ADMIN_ROUTES).hasAuthority(UserRole.ADMIN.getAuthority())
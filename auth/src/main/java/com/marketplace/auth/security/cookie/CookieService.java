@@ -34,6 +34,21 @@ public class CookieService {
                 .findFirst().orElseThrow(() -> new CookieNotFoundException("No cookie present by name: " + name));
     }
 
+    /**
+     * Whether the request carries an access or refresh token cookie, without verifying either.
+     */
+    public boolean hasTokenCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+
+        if (cookies == null) {
+            return false;
+        }
+
+        return Arrays.stream(cookies)
+                .anyMatch(cookie -> cookie.getValue() != null
+                        && (cookie.getName().equals(COOKIE_ACCESS_TOKEN) || cookie.getName().equals(COOKIE_REFRESH_TOKEN)));
+    }
+
     public void deleteCookieByName(String name, HttpServletResponse response) {
         Cookie cookie = new Cookie(name, null);
         cookie.setMaxAge(0);
@@ -2,6 +2,9 @@ package com.marketplace.auth.security.token;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import com.marketplace.usercore.model.User;
+import com.marketplace.usercore.model.UserStatus;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,17 +12,24 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
 
     public static final String ROLES_CLAIM = "roles";
 
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String STATUS_VERSION_CLAIM = "sv";
+
+    public static final String STATUS_CLAIM = "st";
+
+    public static final String FAMILY_ID_CLAIM = "fid";
+
     @Value("${security.jwt.secret-key}")
     private String jwtSecretKey;
 
@@ -29,9 +39,27 @@ public class JwtService {
     @Value("${security.jwt.refresh-expiration-time}")
     public int JWT_REFRESH_EXPIRATION_TIME;
 
+    private SecretKey signInKey;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        signInKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+    }
+
     public String generateAccessToken(UserDetails userDetails) {
-        List<String> roles = getRoles(userDetails);
-        return generateAccessToken(userDetails, Map.of(ROLES_CLAIM, roles));
+        return generateAccessToken(userDetails, buildAccessClaims(userDetails));
+    }
+
+    public String generateAccessToken(UserDetails userDetails, String familyId) {
+        Map<String, Object> claims = buildAccessClaims(userDetails);
+        claims.put(FAMILY_ID_CLAIM, familyId);
+
+        return generateAccessToken(userDetails, claims);
     }
 
     public String generateAccessToken(UserDetails userDetails, Map<String, Object> claims) {
@@ -43,21 +71,35 @@ public class JwtService {
         return generateRefreshToken(userDetails, Map.of(ROLES_CLAIM, roles));
     }
 
+    public String generateRefreshToken(UserDetails userDetails, String tokenId, String familyId) {
+        return generateRefreshToken(userDetails, Map.of(
+                ROLES_CLAIM, getRoles(userDetails),
+                Claims.ID, tokenId,
+                FAMILY_ID_CLAIM, familyId));
+    }
+
     public String generateRefreshToken(UserDetails userDetails, Map<String, Object> claims) {
         return buildToken(userDetails, claims, JWT_REFRESH_EXPIRATION_TIME);
     }
 
+    public Claims parseClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            String subject = extractClaim(token, Claims::getSubject);
-            return (!isTokenExpired(token) && userDetails.getUsername().equals(subject));
+            return isTokenValid(parseClaims(token), userDetails);
         } catch (JwtException exception) {
             return false;
         }
     }
 
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return !isTokenExpired(claims) && userDetails.getUsername().equals(claims.getSubject());
+    }
+
     public String extractSubject(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseClaims(token).getSubject();
     }
 
     public List<String> getRoles(UserDetails userDetails) {
@@ -66,9 +108,48 @@ public class JwtService {
                 .toList();
     }
 
+    public List<String> getRoles(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+
+        if (roles == null) {
+            return List.of();
+        }
+
+        return roles.stream()
+                .map(String::valueOf)
+                .toList();
+    }
+
+    public String getUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, String.class);
+    }
+
+    public String getFamilyId(Claims claims) {
+        return claims.get(FAMILY_ID_CLAIM, String.class);
+    }
+
+    public Long getStatusVersion(Claims claims) {
+        Number statusVersion = claims.get(STATUS_VERSION_CLAIM, Number.class);
+        return statusVersion == null ? null : statusVersion.longValue();
+    }
+
+    public UserStatus getStatus(Claims claims) {
+        String status = claims.get(STATUS_CLAIM, String.class);
+
+        if (status == null) {
+            return null;
+        }
+
+        try {
+            return UserStatus.valueOf(status);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
     public boolean isTokenExpired(String token) {
         try {
-            return extractClaim(token, Claims::getExpiration).before(new Date());
+            return isTokenExpired(parseClaims(token));
         } catch (ExpiredJwtException exception) {
             return true;
         } catch (JwtException exception) {
@@ -76,30 +157,34 @@ public class JwtService {
         }
     }
 
+    public boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private Map<String, Object> buildAccessClaims(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, getRoles(userDetails));
+
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(STATUS_VERSION_CLAIM, user.currentStatusVersion());
+
+            if (user.getStatus() != null) {
+                claims.put(STATUS_CLAIM, user.getStatus().name());
+            }
+        }
+
+        return claims;
+    }
+
     private String buildToken(UserDetails userDetails, Map<String, Object> claims, int expiration) {
         return Jwts.builder()
                 .claims(claims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-}
\ No newline at end of file
+}
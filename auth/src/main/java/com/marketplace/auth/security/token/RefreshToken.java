@@ -0,0 +1,32 @@
+package com.marketplace.auth.security.token;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    private String familyId;
+
+    private String subject;
+
+    private Instant rotatedAt;
+
+    private String successorId;
+
+    private Instant expiresAt;
+
+}
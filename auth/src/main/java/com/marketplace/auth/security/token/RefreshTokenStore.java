@@ -0,0 +1,196 @@
+package com.marketplace.auth.security.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marketplace.auth.exception.TokenNotValidException;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tracks issued refresh tokens by jti and rotates them on every use. A token presented twice
+ * revokes its whole family, i.e. every token descending from the same sign-in.
+ * Revoked families are mirrored into an in-memory set so access tokens can be checked without a Mongo round trip.
+ */
+@Slf4j
+@Service
+public class RefreshTokenStore implements SmartInitializingSingleton {
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String FAMILY_ID_FIELD = "familyId";
+
+    private static final String ROTATED_AT_FIELD = "rotatedAt";
+
+    private static final String SUCCESSOR_ID_FIELD = "successorId";
+
+    private static final String LEGACY_SUCCESSOR_TOKEN_FIELD = "successorToken";
+
+    private static final String REVOKED_AT_FIELD = "revokedAt";
+
+    private static final String EXPIRES_AT_FIELD = "expiresAt";
+
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    private final JwtService jwtService;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Duration refreshTokenLifetime;
+
+    private final Duration reuseGracePeriod;
+
+    private final Cache<String, Boolean> revokedFamilies;
+
+    private volatile Instant lastSyncedAt = Instant.EPOCH;
+
+    public RefreshTokenStore(
+            JwtService jwtService,
+            MongoTemplate mongoTemplate,
+            @Value("${security.jwt.refresh-expiration-time}") long refreshExpirationTime,
+            @Value("${security.jwt.refresh-store.reuse-grace-period:PT10S}") Duration reuseGracePeriod
+    ) {
+        this.jwtService = jwtService;
+        this.mongoTemplate = mongoTemplate;
+        this.refreshTokenLifetime = Duration.ofMillis(refreshExpirationTime);
+        this.reuseGracePeriod = reuseGracePeriod;
+        this.revokedFamilies = Caffeine.newBuilder()
+                .expireAfterWrite(refreshTokenLifetime)
+                .build();
+    }
+
+    /**
+     * Earlier versions stored the signed successor token itself; it is dropped so the collection never holds usable tokens.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            long clearedTokens = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where(LEGACY_SUCCESSOR_TOKEN_FIELD).exists(true)),
+                    new Update().unset(LEGACY_SUCCESSOR_TOKEN_FIELD),
+                    RefreshToken.class).getModifiedCount();
+
+            log.info("[REFRESH_TOKEN_STORE]: {} stored successor tokens cleared", clearedTokens);
+        } catch (DataAccessException exception) {
+            log.error("[REFRESH_TOKEN_STORE]: Stored successor tokens were not cleared {}", exception.getMessage());
+        }
+    }
+
+    public String issue(UserDetails userDetails, String familyId) {
+        return issue(userDetails, UUID.randomUUID().toString(), familyId);
+    }
+
+    private String issue(UserDetails userDetails, String tokenId, String familyId) {
+        String refreshToken = jwtService.generateRefreshToken(userDetails, tokenId, familyId);
+
+        mongoTemplate.insert(RefreshToken.builder()
+                .id(tokenId)
+                .familyId(familyId)
+                .subject(userDetails.getUsername())
+                .expiresAt(Instant.now().plus(refreshTokenLifetime))
+                .build());
+
+        return refreshToken;
+    }
+
+    /**
+     * Marks the token as used and returns its successor of the same family.
+     * A second use within the grace period is tolerated for parallel requests sharing one cookie: it gets the successor
+     * re-signed from its stored jti, so the family never forks and no signed token is kept in Mongo.
+     */
+    public String rotateOrThrow(Claims claims, UserDetails userDetails) {
+        String tokenId = claims.getId();
+        String familyId = jwtService.getFamilyId(claims);
+
+        if (tokenId == null || familyId == null || isFamilyRevoked(familyId)) {
+            throw new TokenNotValidException("Token not valid!");
+        }
+
+        Instant now = Instant.now();
+        String successorId = UUID.randomUUID().toString();
+        String successorToken = issue(userDetails, successorId, familyId);
+        RefreshToken rotatedToken = mongoTemplate.findAndModify(
+                Query.query(Criteria.where(ID_FIELD).is(tokenId).and(FAMILY_ID_FIELD).is(familyId).and(ROTATED_AT_FIELD).is(null)),
+                new Update().set(ROTATED_AT_FIELD, now).set(SUCCESSOR_ID_FIELD, successorId),
+                FindAndModifyOptions.options().returnNew(true),
+                RefreshToken.class);
+
+        if (rotatedToken != null) {
+            return successorToken;
+        }
+
+        mongoTemplate.remove(Query.query(Criteria.where(ID_FIELD).is(successorId)), RefreshToken.class);
+
+        RefreshToken usedToken = mongoTemplate.findById(tokenId, RefreshToken.class);
+        if (usedToken != null && usedToken.getSuccessorId() != null && usedToken.getRotatedAt().isAfter(now.minus(reuseGracePeriod))) {
+            log.info("[REFRESH_TOKEN_STORE]: Refresh token {} reused within grace period", tokenId);
+            return jwtService.generateRefreshToken(userDetails, usedToken.getSuccessorId(), familyId);
+        }
+
+        log.warn("[REFRESH_TOKEN_STORE]: Refresh token {} reused, revoking family {}", tokenId, familyId);
+        revokeFamily(familyId);
+        throw new TokenNotValidException("Token not valid!");
+    }
+
+    public void revokeFamily(String familyId) {
+        if (familyId == null) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        revokedFamilies.put(familyId, Boolean.TRUE);
+
+        try {
+            mongoTemplate.save(RevokedTokenFamily.builder()
+                    .id(familyId)
+                    .revokedAt(now)
+                    .expiresAt(now.plus(refreshTokenLifetime))
+                    .build());
+            mongoTemplate.remove(Query.query(Criteria.where(FAMILY_ID_FIELD).is(familyId)), RefreshToken.class);
+        } catch (DataAccessException exception) {
+            log.error("[REFRESH_TOKEN_STORE]: Family {} revocation was not persisted {}", familyId, exception.getMessage());
+        }
+    }
+
+    public boolean isFamilyRevoked(String familyId) {
+        return familyId != null && revokedFamilies.getIfPresent(familyId) != null;
+    }
+
+    /**
+     * Picks up families revoked by other instances; the first run loads every revocation that has not expired yet.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-store.sync-interval-ms:5000}")
+    public void syncRevokedFamilies() {
+        Instant syncStartedAt = Instant.now();
+
+        try {
+            List<RevokedTokenFamily> families = mongoTemplate.find(
+                    Query.query(Criteria.where(REVOKED_AT_FIELD).gte(lastSyncedAt.minus(SYNC_OVERLAP)).and(EXPIRES_AT_FIELD).gt(syncStartedAt)),
+                    RevokedTokenFamily.class);
+
+            families.forEach(family -> revokedFamilies.put(family.getId(), Boolean.TRUE));
+            lastSyncedAt = syncStartedAt;
+        } catch (DataAccessException exception) {
+            log.error("[REFRESH_TOKEN_STORE]: Revoked families sync failed {}", exception.getMessage());
+        }
+    }
+
+    public long getRevokedFamiliesSize() {
+        return revokedFamilies.estimatedSize();
+    }
+}
@@ -0,0 +1,26 @@
+package com.marketplace.auth.security.token;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_token_families")
+public class RevokedTokenFamily {
+
+    @Id
+    private String id;
+
+    private Instant revokedAt;
+
+    private Instant expiresAt;
+
+}
@@ -10,13 +10,14 @@ import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserRole;
 import com.marketplace.usercore.model.UserStatus;
 import com.marketplace.usercore.repository.UserRepository;
+import com.marketplace.usercore.security.PasswordHashingService;
+import com.marketplace.usercore.security.PasswordVerification;
 import com.marketplace.usercore.service.UserManagerService;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -26,7 +27,7 @@ public class AuthenticationBusinessManagerService implements AuthenticationManag
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     private final UserManagerService userManagerService;
 
@@ -36,10 +37,13 @@ public class AuthenticationBusinessManagerService implements AuthenticationManag
 
     @Override
     public AuthResponse signIn(AuthRequest authRequest, HttpServletResponse response) {
+        return signIn(findUserByEmailOrThrow(authRequest.getEmail()), authRequest.getPassword(), response);
+    }
 
-        User user = findUserByEmailOrThrow(authRequest.getEmail());
+    @Override
+    public AuthResponse signIn(User user, String rawPassword, HttpServletResponse response) {
 
-        matchPasswordsOrThrow(authRequest.getPassword(), user.getPassword());
+        matchPasswordsOrThrow(rawPassword, user);
         TokenPayload tokenPayload = jwtTokenService.generateTokenPayload(user);
         jwtCookieService.addTokensToCookie(tokenPayload, response);
 
@@ -53,7 +57,7 @@ public class AuthenticationBusinessManagerService implements AuthenticationManag
     public void signUp(AuthRequest authRequest) {
 
         userManagerService.throwIfUserExistsByEmail(authRequest.getEmail());
-        String encodedPassword = passwordEncoder.encode(authRequest.getPassword());
+        String encodedPassword = passwordHashingService.encode(authRequest.getPassword());
 
         userRepository.save(User.builder()
                 .role(UserRole.USER)
@@ -69,7 +73,7 @@ public class AuthenticationBusinessManagerService implements AuthenticationManag
 
         try {
             UserDetails userDetails = jwtTokenService.getUserDetailsIfTokenValidOrThrow(authRefreshToken);
-            TokenPayload tokenPayload = jwtTokenService.generateTokenPayload(userDetails);
+            TokenPayload tokenPayload = jwtTokenService.rotateTokenPayloadOrThrow(authRefreshToken, userDetails);
 
             return AuthResponse.builder()
                     .accessToken(tokenPayload.getAccessToken())
@@ -85,10 +89,15 @@ public class AuthenticationBusinessManagerService implements AuthenticationManag
         return userRepository.findByEmail(email).orElseThrow(() -> new CredentialException("Wrong credentials!"));
     }
 
-    private void matchPasswordsOrThrow(String rawPassword, String encodedPassword) throws CredentialException {
-        if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+    private void matchPasswordsOrThrow(String rawPassword, User user) throws CredentialException {
+        PasswordVerification verification = passwordHashingService.verify(rawPassword, user.getPassword());
+
+        if (!verification.isMatched()) {
             throw new CredentialException("Wrong credentials!");
         }
+
+        verification.findUpgradedPassword()
+                .ifPresent(upgradedPassword -> userManagerService.upgradePassword(user, upgradedPassword));
     }
 
 }
@@ -3,12 +3,15 @@ package com.marketplace.auth.service;
 import com.marketplace.auth.web.dto.AuthRefreshRequest;
 import com.marketplace.auth.web.dto.AuthRequest;
 import com.marketplace.auth.web.dto.AuthResponse;
+import com.marketplace.usercore.model.User;
 import jakarta.servlet.http.HttpServletResponse;
 
 public interface AuthenticationManagerService {
 
     AuthResponse signIn(AuthRequest authRequest, HttpServletResponse response);
 
+    AuthResponse signIn(User user, String rawPassword, HttpServletResponse response);
+
     void signUp(AuthRequest authRequest);
 
     AuthResponse refreshToken(AuthRefreshRequest authRefreshRequest);
@@ -2,13 +2,24 @@ package com.marketplace.auth.service;
 
 import com.marketplace.auth.exception.TokenNotValidException;
 import com.marketplace.auth.security.token.JwtService;
+import com.marketplace.auth.security.token.RefreshTokenStore;
 import com.marketplace.auth.security.token.TokenPayload;
+import com.marketplace.usercore.model.User;
+import com.marketplace.usercore.model.UserRole;
+import com.marketplace.usercore.model.UserStatus;
+import com.marketplace.usercore.security.UserStatusVersionService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.UUID;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -18,14 +29,75 @@ public class JwtTokenService {
 
     private final UserDetailsService userDetailsService;
 
+    private final UserStatusVersionService userStatusVersionService;
+
+    private final RefreshTokenStore refreshTokenStore;
+
+    @Value("${security.jwt.stateless-authentication:false}")
+    private boolean statelessAuthentication;
+
     public TokenPayload generateTokenPayload(UserDetails userDetails) {
+        return generateTokenPayload(userDetails, UUID.randomUUID().toString());
+    }
 
+    /**
+     * Consumes the refresh token and issues the next pair of the same family; a reused token revokes the family.
+     */
+    public TokenPayload rotateTokenPayloadOrThrow(String refreshToken, UserDetails userDetails) {
         if (userDetails == null) {
             throw new IllegalArgumentException("User details not present");
         }
 
-        String accessToken = jwtService.generateAccessToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        Claims claims = parseClaimsOrThrow(refreshToken);
+        String successorToken = refreshTokenStore.rotateOrThrow(claims, userDetails);
+
+        return TokenPayload.builder()
+                .accessToken(jwtService.generateAccessToken(userDetails, jwtService.getFamilyId(claims)))
+                .refreshToken(successorToken)
+                .build();
+    }
+
+    public void revokeRefreshToken(String refreshToken) {
+        try {
+            refreshTokenStore.revokeFamily(jwtService.getFamilyId(parseClaimsOrThrow(refreshToken)));
+        } catch (JwtException exception) {
+            log.info("[JWT_TOKEN_SERVICE]: Refresh token revocation skipped {}", exception.getMessage());
+        }
+    }
+
+    public UserDetails authenticateAccessTokenOrThrow(String token) {
+        Claims claims = parseClaimsOrThrow(token);
+
+        if (refreshTokenStore.isFamilyRevoked(jwtService.getFamilyId(claims))) {
+            throw new TokenNotValidException("Token not valid!");
+        }
+
+        if (!statelessAuthentication) {
+            return loadUserDetailsIfClaimsValidOrThrow(claims);
+        }
+
+        User principal = buildPrincipalFromClaims(claims);
+
+        if (principal == null || userStatusVersionService.isStatusVersionOutdated(principal.getId(), principal.currentStatusVersion())) {
+            log.info("[JWT_TOKEN_SERVICE]: Access token claims are stale, loading user {}", claims.getSubject());
+            return loadUserDetailsIfClaimsValidOrThrow(claims);
+        }
+
+        return principal;
+    }
+
+    public UserDetails getUserDetailsIfTokenValidOrThrow(String token) {
+        return loadUserDetailsIfClaimsValidOrThrow(parseClaimsOrThrow(token));
+    }
+
+    private TokenPayload generateTokenPayload(UserDetails userDetails, String familyId) {
+
+        if (userDetails == null) {
+            throw new IllegalArgumentException("User details not present");
+        }
+
+        String accessToken = jwtService.generateAccessToken(userDetails, familyId);
+        String refreshToken = refreshTokenStore.issue(userDetails, familyId);
 
         return TokenPayload.builder()
                 .accessToken(accessToken)
@@ -33,10 +105,17 @@ public class JwtTokenService {
                 .build();
     }
 
-    public UserDetails getUserDetailsIfTokenValidOrThrow(String token) {
-        String subject = jwtService.extractSubject(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
-        boolean isTokenValid = jwtService.isTokenValid(token, userDetails);
+    private Claims parseClaimsOrThrow(String token) {
+        if (token == null || token.isBlank()) {
+            throw new TokenNotValidException("Token not valid!");
+        }
+
+        return jwtService.parseClaims(token);
+    }
+
+    private UserDetails loadUserDetailsIfClaimsValidOrThrow(Claims claims) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        boolean isTokenValid = jwtService.isTokenValid(claims, userDetails);
 
         if (isTokenValid) {
             return userDetails;
@@ -45,5 +124,23 @@ public class JwtTokenService {
         throw new TokenNotValidException("Token not valid!");
     }
 
+    private User buildPrincipalFromClaims(Claims claims) {
+        String userId = jwtService.getUserId(claims);
+        Long statusVersion = jwtService.getStatusVersion(claims);
+        UserStatus status = jwtService.getStatus(claims);
+        List<String> roles = jwtService.getRoles(claims);
+
+        if (userId == null || statusVersion == null || status == null || roles.size() != 1) {
+            return null;
+        }
+
+        return User.builder()
+                .id(userId)
+                .email(claims.getSubject())
+                .role(UserRole.valueOf(roles.get(0)))
+                .status(status)
+                .statusVersion(statusVersion)
+                .build();
+    }
 
 }
@@ -5,7 +5,6 @@ import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserStatus;
 import com.marketplace.usercore.validator.EmailValidator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
@@ -16,8 +15,6 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SignInValidator implements Validator {
 
-    private final PasswordEncoder passwordEncoder;
-
     private final EmailValidator emailValidator;
 
     @Override
@@ -27,31 +24,20 @@ public class SignInValidator implements Validator {
 
     @Override
     public void validate(Object target, Errors errors) {
-
-        if (errors.hasErrors()) {
-            return;
-        }
-
-        AuthRequest authRequest = (AuthRequest) target;
-        Optional<User> userOptional = emailValidator.findUserOrRejectByEmail(authRequest.getEmail(), errors);
-
-        userOptional.ifPresent(user -> {
-            if (validateUserBlocked(user, errors)) {
-                return;
-            }
-            validatePasswordMatching(authRequest.getPassword(), user, errors);
-        });
+        validateAndResolveUser((AuthRequest) target, errors);
     }
 
-    private void validatePasswordMatching(String rawPassword, User user, Errors errors) {
-        boolean matches = passwordEncoder.matches(rawPassword, user.getPassword());
+    /**
+     * Returns the user only when sign-in may proceed, so the caller can verify the password without looking it up again.
+     */
+    public Optional<User> validateAndResolveUser(AuthRequest authRequest, Errors errors) {
 
-        if (!matches) {
-            errors.rejectValue(
-                    "password",
-                    "error.password",
-                    "Passwords not matching");
+        if (errors.hasErrors()) {
+            return Optional.empty();
         }
+
+        return emailValidator.findUserOrRejectByEmail(authRequest.getEmail(), errors)
+                .filter(user -> !validateUserBlocked(user, errors));
     }
 
     private boolean validateUserBlocked(User user, Errors errors) {
@@ -1,9 +1,11 @@
 package com.marketplace.auth.web.view;
 
+import com.marketplace.auth.exception.CredentialException;
 import com.marketplace.auth.service.AuthenticationManagerService;
 import com.marketplace.auth.web.validator.SignInValidator;
 import com.marketplace.auth.web.validator.SignUpValidator;
 import com.marketplace.auth.web.dto.AuthRequest;
+import com.marketplace.usercore.model.User;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 
+import java.util.Optional;
+
 @Controller
 @RequiredArgsConstructor
 public class AuthenticationController {
@@ -36,13 +40,18 @@ public class AuthenticationController {
             BindingResult bindingResult,
             HttpServletResponse response
     ) {
-        signInValidator.validate(authRequest, bindingResult);
+        Optional<User> user = signInValidator.validateAndResolveUser(authRequest, bindingResult);
 
-        if (bindingResult.hasErrors()) {
+        if (bindingResult.hasErrors() || user.isEmpty()) {
             return "sign-in";
         }
 
-        authenticationManagerService.signIn(authRequest, response);
+        try {
+            authenticationManagerService.signIn(user.get(), authRequest.getPassword(), response);
+        } catch (CredentialException exception) {
+            bindingResult.rejectValue("password", "error.password", "Passwords not matching");
+            return "sign-in";
+        }
 
         return "redirect:/products/all";
     }
@@ -0,0 +1,82 @@
+package com.marketplace.auth.benchmark;
+
+import com.marketplace.auth.security.token.JwtService;
+import com.marketplace.usercore.model.User;
+import com.marketplace.usercore.model.UserRole;
+import com.marketplace.usercore.model.UserStatus;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access tokens verified per second when the claims are parsed once with the cached key and parser,
+ * versus rebuilding the key and parser and parsing the token separately for the subject and the expiry check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    private static final String SECRET_KEY = "benchmark-secret-key-with-at-least-256-bits";
+
+    private JwtService jwtService;
+
+    private User user;
+
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretKey", SECRET_KEY);
+        jwtService.JWT_ACCESS_EXPIRATION_TIME = 3_600_000;
+        jwtService.init();
+
+        user = User.builder()
+                .id("benchmark-user")
+                .email("benchmark@gmail.com")
+                .role(UserRole.USER)
+                .status(UserStatus.ACTIVE)
+                .build();
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        Claims claims = jwtService.parseClaims(accessToken);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean parseTwice() {
+        String subject = parseWithNewParser(accessToken).getSubject();
+        Date expiration = parseWithNewParser(accessToken).getExpiration();
+        return user.getUsername().equals(subject) && expiration.after(new Date());
+    }
+
+    private Claims parseWithNewParser(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -4,6 +4,8 @@ import com.marketplace.auth.config.AuthApplicationConfig;
 import com.marketplace.auth.web.util.builder.UserDataBuilder;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.repository.UserRepository;
+import com.marketplace.usercore.security.UserDetailsCacheService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -15,7 +17,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = AuthApplicationConfig.class)
 public class CustomUserDetailsServiceTest {
@@ -26,6 +28,14 @@ public class CustomUserDetailsServiceTest {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private UserDetailsCacheService userDetailsCacheService;
+
+    @AfterEach
+    public void tearDown() {
+        userDetailsCacheService.evictAll();
+    }
+
     @Test
     public void loadUserByUsername_ShouldReturnUserDetails() {
         User user = UserDataBuilder.buildUserWithAllFields().build();
@@ -38,6 +48,32 @@ public class CustomUserDetailsServiceTest {
         assertThat(userDetails.getUsername()).isEqualTo(user.getUsername());
     }
 
+    @Test
+    public void loadUserByUsername_ShouldReturnCachedUserDetails_WhenLoadedTwice() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername(user.getUsername());
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(user.getUsername());
+
+        assertThat(userDetails.getUsername()).isEqualTo(user.getUsername());
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    public void loadUserByUsername_ShouldReloadUserDetails_WhenEvicted() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername(user.getUsername());
+        userDetailsCacheService.evict(user.getEmail());
+        customUserDetailsService.loadUserByUsername(user.getUsername());
+
+        verify(userRepository, times(2)).findByEmail(user.getEmail());
+    }
+
     @Test
     public void loadUserByUsername_ShouldThrowException_WhenUserNotFound() {
         String userEmail = "test@gmail.com";
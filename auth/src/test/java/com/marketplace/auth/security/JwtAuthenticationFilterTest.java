@@ -77,7 +77,7 @@ public class JwtAuthenticationFilterTest {
             when(mockedSecurityContext.getAuthentication()).thenReturn(null);
             when(cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest)).thenReturn(mockedCookie);
             when(mockedCookie.getValue()).thenReturn(accessToken);
-            when(jwtTokenService.getUserDetailsIfTokenValidOrThrow(accessToken)).thenReturn(mockedUser);
+            when(jwtTokenService.authenticateAccessTokenOrThrow(accessToken)).thenReturn(mockedUser);
 
             jwtAuthenticationFilter.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
 
@@ -86,7 +86,7 @@ public class JwtAuthenticationFilterTest {
             verify(mockedSecurityContext).getAuthentication();
             verify(cookieService).extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest);
             verify(mockedCookie).getValue();
-            verify(jwtTokenService).getUserDetailsIfTokenValidOrThrow(accessToken);
+            verify(jwtTokenService).authenticateAccessTokenOrThrow(accessToken);
 
             verify(mockedSecurityContext).setAuthentication(authenticationArgumentCaptor.capture());
             assertThat(authenticationArgumentCaptor.getValue()).isNotNull();
@@ -125,10 +125,9 @@ public class JwtAuthenticationFilterTest {
 
             when(mockedSecurityContext.getAuthentication()).thenReturn(null);
             when(cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest)).thenReturn(mockedCookie);
-            when(mockedCookie.getValue()).thenReturn(accessToken);
-            when(jwtTokenService.getUserDetailsIfTokenValidOrThrow(accessToken)).thenThrow(JwtException.class);
+            when(mockedCookie.getValue()).thenReturn(accessToken, refreshToken);
+            when(jwtTokenService.authenticateAccessTokenOrThrow(accessToken)).thenThrow(JwtException.class);
             when(cookieService.extractCookieByName(COOKIE_REFRESH_TOKEN, httpServletRequest)).thenReturn(mockedCookie);
-            when(mockedCookie.getValue()).thenReturn(refreshToken);
             when(jwtTokenService.getUserDetailsIfTokenValidOrThrow(refreshToken)).thenThrow(JwtException.class);
 
             jwtAuthenticationFilter.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
@@ -137,7 +136,8 @@ public class JwtAuthenticationFilterTest {
             verify(cookieService).extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest);
             verify(cookieService).extractCookieByName(COOKIE_REFRESH_TOKEN, httpServletRequest);
             verify(mockedCookie, times(2)).getValue();
-            verify(jwtTokenService, times(2)).getUserDetailsIfTokenValidOrThrow(refreshToken);
+            verify(jwtTokenService).authenticateAccessTokenOrThrow(accessToken);
+            verify(jwtTokenService).getUserDetailsIfTokenValidOrThrow(refreshToken);
             verify(httpServletResponse).sendRedirect("/sign-in");
         }
     }
@@ -158,27 +158,57 @@ public class JwtAuthenticationFilterTest {
             when(mockedSecurityContext.getAuthentication()).thenReturn(null);
             when(cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest)).thenReturn(mockedAccessCookie);
             when(mockedAccessCookie.getValue()).thenReturn(accessToken);
-            when(jwtTokenService.getUserDetailsIfTokenValidOrThrow(accessToken)).thenThrow(JwtException.class);
+            when(jwtTokenService.authenticateAccessTokenOrThrow(accessToken)).thenThrow(JwtException.class);
             when(cookieService.extractCookieByName(COOKIE_REFRESH_TOKEN, httpServletRequest)).thenReturn(mockedRefreshCookie);
             when(mockedRefreshCookie.getValue()).thenReturn(refreshToken);
             when(jwtTokenService.getUserDetailsIfTokenValidOrThrow(refreshToken)).thenReturn(mockedUser);
-            when(jwtTokenService.generateTokenPayload(mockedUser)).thenReturn(mockedTokenPayload);
+            when(jwtTokenService.rotateTokenPayloadOrThrow(refreshToken, mockedUser)).thenReturn(mockedTokenPayload);
 
             jwtAuthenticationFilter.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
 
             verify(mockedSecurityContext).getAuthentication();
             verify(cookieService).extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest);
             verify(mockedAccessCookie).getValue();
-            verify(jwtTokenService).getUserDetailsIfTokenValidOrThrow(accessToken);
+            verify(jwtTokenService).authenticateAccessTokenOrThrow(accessToken);
             verify(cookieService).extractCookieByName(COOKIE_REFRESH_TOKEN, httpServletRequest);
             verify(mockedRefreshCookie).getValue();
             verify(jwtTokenService).getUserDetailsIfTokenValidOrThrow(refreshToken);
-            verify(jwtTokenService).generateTokenPayload(mockedUser);
+            verify(jwtTokenService).rotateTokenPayloadOrThrow(refreshToken, mockedUser);
 
             verify(httpServletResponse, never()).sendRedirect("/sign-in");
         }
     }
 
+    @Test
+    public void doFilterInternal_ShouldRedirectToSignIn_WhenRefreshUserBlocked() throws ServletException, IOException {
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            SecurityContext mockedSecurityContext = mock(SecurityContext.class);
+            Cookie mockedAccessCookie = mock(Cookie.class);
+            Cookie mockedRefreshCookie = mock(Cookie.class);
+            String accessToken = "accessToken";
+            String refreshToken = "refreshToken";
+            User mockedUser = mock(User.class);
+
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(mockedSecurityContext);
+
+            when(mockedSecurityContext.getAuthentication()).thenReturn(null);
+            when(cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest)).thenReturn(mockedAccessCookie);
+            when(mockedAccessCookie.getValue()).thenReturn(accessToken);
+            when(jwtTokenService.authenticateAccessTokenOrThrow(accessToken)).thenThrow(JwtException.class);
+            when(cookieService.extractCookieByName(COOKIE_REFRESH_TOKEN, httpServletRequest)).thenReturn(mockedRefreshCookie);
+            when(mockedRefreshCookie.getValue()).thenReturn(refreshToken);
+            when(jwtTokenService.getUserDetailsIfTokenValidOrThrow(refreshToken)).thenReturn(mockedUser);
+            when(mockedUser.getStatus()).thenReturn(UserStatus.BLOCKED);
+
+            jwtAuthenticationFilter.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
+
+            verify(jwtTokenService).getUserDetailsIfTokenValidOrThrow(refreshToken);
+            verify(jwtTokenService, never()).rotateTokenPayloadOrThrow(refreshToken, mockedUser);
+            verify(jwtCookieService).deleteTokensFromCookie(httpServletResponse);
+            verify(httpServletResponse).sendRedirect("/sign-in");
+        }
+    }
+
     @Test
     public void doFilterInternal_ShouldRedirectToErrorPage_WhenUserBlocked() throws ServletException, IOException {
         try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
@@ -192,7 +222,7 @@ public class JwtAuthenticationFilterTest {
             when(mockedSecurityContext.getAuthentication()).thenReturn(null);
             when(cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest)).thenReturn(mockedCookie);
             when(mockedCookie.getValue()).thenReturn(accessToken);
-            when(jwtTokenService.getUserDetailsIfTokenValidOrThrow(accessToken)).thenReturn(mockedUser);
+            when(jwtTokenService.authenticateAccessTokenOrThrow(accessToken)).thenReturn(mockedUser);
             when(mockedUser.getStatus()).thenReturn(UserStatus.BLOCKED);
 
             jwtAuthenticationFilter.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
@@ -200,7 +230,7 @@ public class JwtAuthenticationFilterTest {
             verify(mockedSecurityContext).getAuthentication();
             verify(cookieService).extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest);
             verify(mockedCookie).getValue();
-            verify(jwtTokenService).getUserDetailsIfTokenValidOrThrow(accessToken);
+            verify(jwtTokenService).authenticateAccessTokenOrThrow(accessToken);
             verify(jwtCookieService).deleteTokensFromCookie(httpServletResponse);
         }
     }
@@ -222,4 +252,72 @@ public class JwtAuthenticationFilterTest {
             verify(filterChain).doFilter(httpServletRequest, httpServletResponse);
         }
     }
+
+    @Test
+    public void shouldNotFilter_ShouldSkipStaticRoutesOnly() {
+        when(httpServletRequest.getContextPath()).thenReturn("");
+
+        when(httpServletRequest.getRequestURI()).thenReturn("/images/logo.png");
+        assertThat(jwtAuthenticationFilter.shouldNotFilter(httpServletRequest)).isTrue();
+
+        when(httpServletRequest.getRequestURI()).thenReturn("/products/all");
+        assertThat(jwtAuthenticationFilter.shouldNotFilter(httpServletRequest)).isFalse();
+
+        when(httpServletRequest.getRequestURI()).thenReturn("/orders/user-order");
+        assertThat(jwtAuthenticationFilter.shouldNotFilter(httpServletRequest)).isFalse();
+    }
+
+    @Test
+    public void doFilterInternal_ShouldResolvePrincipalLazily_WhenRouteIsPublic() throws ServletException, IOException {
+        Cookie mockedCookie = mock(Cookie.class);
+        String accessToken = "accessToken";
+        User mockedUser = mock(User.class);
+
+        when(httpServletRequest.getContextPath()).thenReturn("");
+        when(httpServletRequest.getRequestURI()).thenReturn("/products/all");
+        when(cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest)).thenReturn(mockedCookie);
+        when(mockedCookie.getValue()).thenReturn(accessToken);
+        when(jwtTokenService.authenticateAccessTokenOrThrow(accessToken)).thenReturn(mockedUser);
+
+        try {
+            jwtAuthenticationFilter.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
+
+            verify(filterChain).doFilter(httpServletRequest, httpServletResponse);
+            verify(httpServletRequest).setAttribute(JwtAuthenticationFilter.DEFERRED_AUTHENTICATION_ATTRIBUTE, Boolean.TRUE);
+            verifyNoInteractions(jwtTokenService);
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            assertThat(authentication).isNotNull();
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(authentication);
+            assertThat(authentication.getPrincipal()).isEqualTo(mockedUser);
+            verify(jwtTokenService, times(1)).authenticateAccessTokenOrThrow(accessToken);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void doFilterInternal_ShouldLeaveRequestAnonymous_WhenPublicRouteTokenInvalid() throws ServletException, IOException {
+        Cookie mockedCookie = mock(Cookie.class);
+        String accessToken = "accessToken";
+
+        when(httpServletRequest.getContextPath()).thenReturn("");
+        when(httpServletRequest.getRequestURI()).thenReturn("/home");
+        when(cookieService.extractCookieByName(COOKIE_ACCESS_TOKEN, httpServletRequest)).thenReturn(mockedCookie);
+        when(mockedCookie.getValue()).thenReturn(accessToken);
+        when(jwtTokenService.authenticateAccessTokenOrThrow(accessToken)).thenThrow(JwtException.class);
+        when(cookieService.extractCookieByName(COOKIE_REFRESH_TOKEN, httpServletRequest)).thenThrow(CookieNotFoundException.class);
+
+        try {
+            jwtAuthenticationFilter.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
+
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+            verify(filterChain).doFilter(httpServletRequest, httpServletResponse);
+            verify(jwtCookieService).deleteTokensFromCookie(httpServletResponse);
+            verify(httpServletResponse, never()).sendRedirect("/sign-in");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
 }
@@ -5,14 +5,18 @@ import com.marketplace.auth.security.token.JwtService;
 import com.marketplace.auth.util.JwtServiceHelper;
 import com.marketplace.auth.web.util.builder.UserDataBuilder;
 import com.marketplace.usercore.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.marketplace.auth.security.token.JwtService.ROLES_CLAIM;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 @SpringBootTest(classes = AuthApplicationConfig.class)
 public class JwtSecurityTest {
@@ -164,4 +168,26 @@ public class JwtSecurityTest {
         assertThat(jwtService.extractSubject(refreshToken)).isEqualTo(fakeUser.getUsername());
         assertThat(jwtService.isTokenValid(refreshToken, user)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parseClaims_shouldReturnSubjectAndRoles() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        String accessToken = jwtService.generateAccessToken(user);
+
+        Claims claims = jwtService.parseClaims(accessToken);
+
+        assertThat(claims.getSubject()).isEqualTo(user.getEmail());
+        assertThat(jwtService.getRoles(claims)).isEqualTo(List.of(user.getRole().getAuthority()));
+        assertThat(jwtService.isTokenValid(claims, user)).isTrue();
+    }
+
+    @Test
+    public void parseClaims_shouldThrowException_WhenTokenExpired() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        String accessToken = jwtServiceHelper.generateAccessTokenWithExpiration(user, 0);
+
+        assertThatThrownBy(() -> jwtService.parseClaims(accessToken)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
@@ -6,13 +6,18 @@ import com.marketplace.common.exception.EntityExistsException;
 import com.marketplace.auth.exception.TokenNotValidException;
 import com.marketplace.auth.security.CustomUserDetailsService;
 import com.marketplace.auth.security.token.JwtService;
+import com.marketplace.auth.security.token.RefreshTokenStore;
 import com.marketplace.auth.web.dto.AuthRefreshRequest;
 import com.marketplace.auth.web.dto.AuthRequest;
 import com.marketplace.auth.web.dto.AuthResponse;
 import com.marketplace.auth.web.util.builder.AuthRequestDataBuilder;
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
+import com.marketplace.usercore.kafka.producer.UserEventProducer;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserStatus;
 import com.marketplace.usercore.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -44,6 +49,15 @@ public class AuthenticationManagerServiceTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private MongoPartialUpdateService mongoPartialUpdateService;
+
+    @MockitoBean
+    private RefreshTokenStore refreshTokenStore;
+
+    @MockitoBean
+    private UserEventProducer userEventProducer;
+
     @Autowired
     private AuthenticationManagerService authenticationManagerService;
 
@@ -59,8 +73,8 @@ public class AuthenticationManagerServiceTest {
         when(mockUser.getPassword()).thenReturn(mockEncodedPassword);
         when(userRepository.findByEmail(authRequest.getEmail())).thenReturn(Optional.of(mockUser));
         when(passwordEncoder.matches(authRequest.getPassword(), mockEncodedPassword)).thenReturn(true);
-        when(jwtService.generateAccessToken(mockUser)).thenReturn(mockAccessToken);
-        when(jwtService.generateRefreshToken(mockUser)).thenReturn(mockRefreshToken);
+        when(jwtService.generateAccessToken(eq(mockUser), anyString())).thenReturn(mockAccessToken);
+        when(refreshTokenStore.issue(eq(mockUser), anyString())).thenReturn(mockRefreshToken);
 
         AuthResponse authResponse = authenticationManagerService.signIn(authRequest, httpServletResponse);
 
@@ -71,8 +85,73 @@ public class AuthenticationManagerServiceTest {
         verify(mockUser).getPassword();
         verify(userRepository).findByEmail(authRequest.getEmail());
         verify(passwordEncoder).matches(authRequest.getPassword(), mockEncodedPassword);
-        verify(jwtService).generateAccessToken(mockUser);
-        verify(jwtService).generateRefreshToken(mockUser);
+        verify(jwtService).generateAccessToken(eq(mockUser), anyString());
+        verify(refreshTokenStore).issue(eq(mockUser), anyString());
+    }
+
+    @Test
+    public void signIn_shouldIssueTokens_WithoutLookingUpResolvedUserAgain() {
+        AuthRequest authRequest = AuthRequestDataBuilder.withAllFields().build();
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        User mockUser = mock(User.class);
+        String mockEncodedPassword = "mockEncodedPassword";
+
+        when(mockUser.getPassword()).thenReturn(mockEncodedPassword);
+        when(passwordEncoder.matches(authRequest.getPassword(), mockEncodedPassword)).thenReturn(true);
+        when(jwtService.generateAccessToken(eq(mockUser), anyString())).thenReturn("mockAccessToken");
+        when(refreshTokenStore.issue(eq(mockUser), anyString())).thenReturn("mockRefreshToken");
+
+        AuthResponse authResponse = authenticationManagerService.signIn(mockUser, authRequest.getPassword(), httpServletResponse);
+
+        assertThat(authResponse.getAccessToken()).isEqualTo("mockAccessToken");
+        assertThat(authResponse.getRefreshToken()).isEqualTo("mockRefreshToken");
+
+        verify(passwordEncoder, times(1)).matches(authRequest.getPassword(), mockEncodedPassword);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void signIn_shouldUpgradePasswordHash_WhenStoredHashIsWeaker() {
+        AuthRequest authRequest = AuthRequestDataBuilder.withAllFields().build();
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        String weakEncodedPassword = "weakEncodedPassword";
+        String upgradedPassword = "upgradedPassword";
+        User user = User.builder()
+                .id("userId")
+                .version(1L)
+                .email(authRequest.getEmail())
+                .password(weakEncodedPassword)
+                .build();
+        ArgumentCaptor<PartialUpdate> partialUpdateCaptor = ArgumentCaptor.forClass(PartialUpdate.class);
+
+        when(userRepository.findByEmail(authRequest.getEmail())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(authRequest.getPassword(), weakEncodedPassword)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(weakEncodedPassword)).thenReturn(true);
+        when(passwordEncoder.encode(authRequest.getPassword())).thenReturn(upgradedPassword);
+
+        authenticationManagerService.signIn(authRequest, httpServletResponse);
+
+        verify(passwordEncoder, times(1)).matches(authRequest.getPassword(), weakEncodedPassword);
+        verify(mongoPartialUpdateService).updateOrThrow(eq(user.getId()), eq(user.getVersion()), partialUpdateCaptor.capture(), eq(User.class));
+        assertThat(partialUpdateCaptor.getValue().getValue("password")).isEqualTo(upgradedPassword);
+        verify(userEventProducer).sendUserDetailsCacheInvalidationEvent(user.getEmail());
+    }
+
+    @Test
+    public void signIn_shouldNotUpgradePasswordHash_WhenPasswordNotMatched() {
+        AuthRequest authRequest = AuthRequestDataBuilder.withAllFields().build();
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+        User mockUser = mock(User.class);
+        String mockEncodedPassword = "mockEncodedPassword";
+
+        when(mockUser.getPassword()).thenReturn(mockEncodedPassword);
+        when(userRepository.findByEmail(authRequest.getEmail())).thenReturn(Optional.of(mockUser));
+        when(passwordEncoder.matches(authRequest.getPassword(), mockEncodedPassword)).thenReturn(false);
+
+        assertThrows(CredentialException.class, () -> authenticationManagerService.signIn(authRequest, httpServletResponse));
+
+        verify(passwordEncoder, never()).upgradeEncoding(anyString());
+        verify(mongoPartialUpdateService, never()).updateOrThrow(any(), any(), any(PartialUpdate.class), eq(User.class));
     }
 
     @Test
@@ -152,16 +231,19 @@ public class AuthenticationManagerServiceTest {
         String mockAccessToken = "newAccessToken";
         String mockRefreshToken = "newRefreshToken";
         User mockUser = mock(User.class);
+        Claims mockClaims = mock(Claims.class);
 
         AuthRefreshRequest authRefreshRequest = AuthRefreshRequest.builder()
                 .refreshToken(mockValidRefreshToken)
                 .build();
 
-        when(jwtService.extractSubject(mockValidRefreshToken)).thenReturn(mockSubject);
+        when(jwtService.parseClaims(mockValidRefreshToken)).thenReturn(mockClaims);
+        when(mockClaims.getSubject()).thenReturn(mockSubject);
         when(customUserDetailsService.loadUserByUsername(mockSubject)).thenReturn(mockUser);
-        when(jwtService.isTokenValid(mockValidRefreshToken, mockUser)).thenReturn(true);
-        when(jwtService.generateAccessToken(mockUser)).thenReturn(mockAccessToken);
-        when(jwtService.generateRefreshToken(mockUser)).thenReturn(mockRefreshToken);
+        when(jwtService.isTokenValid(mockClaims, mockUser)).thenReturn(true);
+        when(refreshTokenStore.rotateOrThrow(mockClaims, mockUser)).thenReturn(mockRefreshToken);
+        when(jwtService.getFamilyId(mockClaims)).thenReturn("mockFamilyId");
+        when(jwtService.generateAccessToken(mockUser, "mockFamilyId")).thenReturn(mockAccessToken);
 
         AuthResponse authResponse = authenticationManagerService.refreshToken(authRefreshRequest);
 
@@ -169,11 +251,11 @@ public class AuthenticationManagerServiceTest {
         assertThat(authResponse.getAccessToken()).isEqualTo(mockAccessToken);
         assertThat(authResponse.getRefreshToken()).isEqualTo(mockRefreshToken);
 
-        verify(jwtService).extractSubject(mockValidRefreshToken);
+        verify(jwtService, times(2)).parseClaims(mockValidRefreshToken);
         verify(customUserDetailsService).loadUserByUsername(mockSubject);
-        verify(jwtService).isTokenValid(mockValidRefreshToken, mockUser);
-        verify(jwtService).generateAccessToken(mockUser);
-        verify(jwtService).generateRefreshToken(mockUser);
+        verify(jwtService).isTokenValid(mockClaims, mockUser);
+        verify(refreshTokenStore).rotateOrThrow(mockClaims, mockUser);
+        verify(jwtService).generateAccessToken(mockUser, "mockFamilyId");
     }
 
     @Test
@@ -181,21 +263,23 @@ public class AuthenticationManagerServiceTest {
         String mockValidRefreshToken = "validRefreshToken";
         String mockSubject = "mockSubject";
         User mockUser = mock(User.class);
+        Claims mockClaims = mock(Claims.class);
 
         AuthRefreshRequest authRefreshRequest = AuthRefreshRequest.builder()
                 .refreshToken(mockValidRefreshToken)
                 .build();
 
-        when(jwtService.extractSubject(mockValidRefreshToken)).thenReturn(mockSubject);
+        when(jwtService.parseClaims(mockValidRefreshToken)).thenReturn(mockClaims);
+        when(mockClaims.getSubject()).thenReturn(mockSubject);
         when(customUserDetailsService.loadUserByUsername(mockSubject)).thenReturn(mockUser);
-        when(jwtService.isTokenValid(mockValidRefreshToken, mockUser)).thenReturn(false);
+        when(jwtService.isTokenValid(mockClaims, mockUser)).thenReturn(false);
 
         assertThatThrownBy(() -> authenticationManagerService.refreshToken(authRefreshRequest))
                 .isInstanceOf(TokenNotValidException.class)
                 .hasMessage("Token not valid!");
 
-        verify(jwtService).extractSubject(mockValidRefreshToken);
+        verify(jwtService).parseClaims(mockValidRefreshToken);
         verify(customUserDetailsService).loadUserByUsername(mockSubject);
-        verify(jwtService).isTokenValid(mockValidRefreshToken, mockUser);
+        verify(jwtService).isTokenValid(mockClaims, mockUser);
     }
 }
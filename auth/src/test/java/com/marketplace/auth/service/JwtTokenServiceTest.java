@@ -3,14 +3,24 @@ package com.marketplace.auth.service;
 import com.marketplace.auth.config.AuthApplicationConfig;
 import com.marketplace.auth.exception.TokenNotValidException;
 import com.marketplace.auth.security.token.JwtService;
+import com.marketplace.auth.security.token.RefreshTokenStore;
 import com.marketplace.auth.security.token.TokenPayload;
 import com.marketplace.usercore.model.User;
+import com.marketplace.usercore.model.UserRole;
+import com.marketplace.usercore.model.UserStatus;
+import com.marketplace.usercore.security.UserStatusVersionService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -25,25 +35,72 @@ public class JwtTokenServiceTest {
     @MockitoBean
     private UserDetailsService userDetailsService;
 
+    @MockitoBean
+    private UserStatusVersionService userStatusVersionService;
+
+    @MockitoBean
+    private RefreshTokenStore refreshTokenStore;
+
     @Autowired
     private JwtTokenService jwtTokenService;
 
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(jwtTokenService, "statelessAuthentication", false);
+    }
+
     @Test
     public void generateTokenPayload_ShouldGenerateTokenPayload() {
         User mockedUser = mock(User.class);
         String mockedAccessToken = "mockedAccessToken";
         String mockedRefreshToken = "mockedRefreshToken";
+        ArgumentCaptor<String> familyIdCaptor = ArgumentCaptor.forClass(String.class);
 
-        when(jwtService.generateAccessToken(mockedUser)).thenReturn(mockedAccessToken);
-        when(jwtService.generateRefreshToken(mockedUser)).thenReturn(mockedRefreshToken);
+        when(jwtService.generateAccessToken(eq(mockedUser), anyString())).thenReturn(mockedAccessToken);
+        when(refreshTokenStore.issue(eq(mockedUser), anyString())).thenReturn(mockedRefreshToken);
 
         TokenPayload tokenPayload = jwtTokenService.generateTokenPayload(mockedUser);
         assertThat(tokenPayload).isNotNull();
         assertThat(tokenPayload.getAccessToken()).isEqualTo(mockedAccessToken);
         assertThat(tokenPayload.getRefreshToken()).isEqualTo(mockedRefreshToken);
 
-        verify(jwtService, times(1)).generateAccessToken(mockedUser);
-        verify(jwtService, times(1)).generateRefreshToken(mockedUser);
+        verify(jwtService, times(1)).generateAccessToken(eq(mockedUser), familyIdCaptor.capture());
+        verify(refreshTokenStore, times(1)).issue(mockedUser, familyIdCaptor.getValue());
+    }
+
+    @Test
+    public void rotateTokenPayloadOrThrow_ShouldIssueTokensOfSameFamily() {
+        String mockedRefreshToken = "mockedRefreshToken";
+        String mockedFamilyId = "mockedFamilyId";
+        User mockedUser = mock(User.class);
+        Claims mockedClaims = mock(Claims.class);
+
+        when(jwtService.parseClaims(mockedRefreshToken)).thenReturn(mockedClaims);
+        when(refreshTokenStore.rotateOrThrow(mockedClaims, mockedUser)).thenReturn("rotatedRefreshToken");
+        when(jwtService.getFamilyId(mockedClaims)).thenReturn(mockedFamilyId);
+        when(jwtService.generateAccessToken(mockedUser, mockedFamilyId)).thenReturn("rotatedAccessToken");
+
+        TokenPayload tokenPayload = jwtTokenService.rotateTokenPayloadOrThrow(mockedRefreshToken, mockedUser);
+
+        assertThat(tokenPayload.getAccessToken()).isEqualTo("rotatedAccessToken");
+        assertThat(tokenPayload.getRefreshToken()).isEqualTo("rotatedRefreshToken");
+        verify(refreshTokenStore, never()).issue(any(), anyString());
+    }
+
+    @Test
+    public void rotateTokenPayloadOrThrow_ShouldThrowException_WhenRefreshTokenReused() {
+        String mockedRefreshToken = "mockedRefreshToken";
+        User mockedUser = mock(User.class);
+        Claims mockedClaims = mock(Claims.class);
+
+        when(jwtService.parseClaims(mockedRefreshToken)).thenReturn(mockedClaims);
+        when(refreshTokenStore.rotateOrThrow(mockedClaims, mockedUser)).thenThrow(new TokenNotValidException("Token not valid!"));
+
+        assertThatThrownBy(() -> jwtTokenService.rotateTokenPayloadOrThrow(mockedRefreshToken, mockedUser))
+                .isInstanceOf(TokenNotValidException.class)
+                .hasMessage("Token not valid!");
+
+        verify(refreshTokenStore, never()).issue(any(), anyString());
     }
 
     @Test
@@ -58,19 +115,21 @@ public class JwtTokenServiceTest {
         String mockedToken = "mockedToken";
         String mockedSubject = "mockedSubject";
         User mockedUser = mock(User.class);
+        Claims mockedClaims = mock(Claims.class);
 
-        when(jwtService.extractSubject(mockedToken)).thenReturn(mockedSubject);
+        when(jwtService.parseClaims(mockedToken)).thenReturn(mockedClaims);
+        when(mockedClaims.getSubject()).thenReturn(mockedSubject);
         when(userDetailsService.loadUserByUsername(mockedSubject)).thenReturn(mockedUser);
-        when(jwtService.isTokenValid(mockedToken, mockedUser)).thenReturn(true);
+        when(jwtService.isTokenValid(mockedClaims, mockedUser)).thenReturn(true);
 
         UserDetails userDetails = jwtTokenService.getUserDetailsIfTokenValidOrThrow(mockedToken);
 
         assertThat(userDetails).isNotNull();
         assertThat(userDetails).isEqualTo(mockedUser);
 
-        verify(jwtService).extractSubject(mockedToken);
+        verify(jwtService).parseClaims(mockedToken);
         verify(userDetailsService).loadUserByUsername(mockedSubject);
-        verify(jwtService).isTokenValid(mockedToken, mockedUser);
+        verify(jwtService).isTokenValid(mockedClaims, mockedUser);
     }
 
     @Test
@@ -78,10 +137,12 @@ public class JwtTokenServiceTest {
         String mockedToken = "mockedToken";
         String mockedSubject = "mockedSubject";
         User mockedUser = mock(User.class);
+        Claims mockedClaims = mock(Claims.class);
 
-        when(jwtService.extractSubject(mockedToken)).thenReturn(mockedSubject);
+        when(jwtService.parseClaims(mockedToken)).thenReturn(mockedClaims);
+        when(mockedClaims.getSubject()).thenReturn(mockedSubject);
         when(userDetailsService.loadUserByUsername(mockedSubject)).thenReturn(mockedUser);
-        when(jwtService.isTokenValid(mockedToken, mockedUser)).thenReturn(false);
+        when(jwtService.isTokenValid(mockedClaims, mockedUser)).thenReturn(false);
 
         assertThatThrownBy(() -> jwtTokenService.getUserDetailsIfTokenValidOrThrow(mockedToken))
                 .isInstanceOf(TokenNotValidException.class)
@@ -94,4 +155,116 @@ public class JwtTokenServiceTest {
                 .isInstanceOf(TokenNotValidException.class)
                 .hasMessage("Token not valid!");
     }
+
+    @Test
+    public void authenticateAccessTokenOrThrow_ShouldLoadUser_WhenStatelessAuthenticationDisabled() {
+        String mockedToken = "mockedToken";
+        String mockedSubject = "mockedSubject";
+        User mockedUser = mock(User.class);
+        Claims mockedClaims = mock(Claims.class);
+
+        when(jwtService.parseClaims(mockedToken)).thenReturn(mockedClaims);
+        when(mockedClaims.getSubject()).thenReturn(mockedSubject);
+        when(userDetailsService.loadUserByUsername(mockedSubject)).thenReturn(mockedUser);
+        when(jwtService.isTokenValid(mockedClaims, mockedUser)).thenReturn(true);
+
+        UserDetails userDetails = jwtTokenService.authenticateAccessTokenOrThrow(mockedToken);
+
+        assertThat(userDetails).isEqualTo(mockedUser);
+        verify(userDetailsService).loadUserByUsername(mockedSubject);
+    }
+
+    @Test
+    public void authenticateAccessTokenOrThrow_ShouldBuildUserFromClaims_WhenStatelessAuthenticationEnabled() {
+        ReflectionTestUtils.setField(jwtTokenService, "statelessAuthentication", true);
+        String mockedToken = "mockedToken";
+        String mockedSubject = "mockedSubject";
+        String mockedUserId = "mockedUserId";
+        Claims mockedClaims = mock(Claims.class);
+
+        when(jwtService.parseClaims(mockedToken)).thenReturn(mockedClaims);
+        when(mockedClaims.getSubject()).thenReturn(mockedSubject);
+        when(jwtService.getUserId(mockedClaims)).thenReturn(mockedUserId);
+        when(jwtService.getStatusVersion(mockedClaims)).thenReturn(2L);
+        when(jwtService.getStatus(mockedClaims)).thenReturn(UserStatus.BLOCKED);
+        when(jwtService.getRoles(mockedClaims)).thenReturn(List.of(UserRole.ADMIN.name()));
+        when(userStatusVersionService.isStatusVersionOutdated(mockedUserId, 2L)).thenReturn(false);
+
+        UserDetails userDetails = jwtTokenService.authenticateAccessTokenOrThrow(mockedToken);
+
+        assertThat(userDetails).isInstanceOf(User.class);
+        User user = (User) userDetails;
+        assertThat(user.getId()).isEqualTo(mockedUserId);
+        assertThat(user.getEmail()).isEqualTo(mockedSubject);
+        assertThat(user.getRole()).isEqualTo(UserRole.ADMIN);
+        assertThat(user.getStatus()).isEqualTo(UserStatus.BLOCKED);
+
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    public void authenticateAccessTokenOrThrow_ShouldLoadUser_WhenStatusClaimMissing() {
+        ReflectionTestUtils.setField(jwtTokenService, "statelessAuthentication", true);
+        String mockedToken = "mockedToken";
+        String mockedSubject = "mockedSubject";
+        String mockedUserId = "mockedUserId";
+        User mockedUser = mock(User.class);
+        Claims mockedClaims = mock(Claims.class);
+
+        when(jwtService.parseClaims(mockedToken)).thenReturn(mockedClaims);
+        when(mockedClaims.getSubject()).thenReturn(mockedSubject);
+        when(jwtService.getUserId(mockedClaims)).thenReturn(mockedUserId);
+        when(jwtService.getStatusVersion(mockedClaims)).thenReturn(2L);
+        when(jwtService.getStatus(mockedClaims)).thenReturn(null);
+        when(jwtService.getRoles(mockedClaims)).thenReturn(List.of(UserRole.USER.name()));
+        when(userDetailsService.loadUserByUsername(mockedSubject)).thenReturn(mockedUser);
+        when(jwtService.isTokenValid(mockedClaims, mockedUser)).thenReturn(true);
+
+        UserDetails userDetails = jwtTokenService.authenticateAccessTokenOrThrow(mockedToken);
+
+        assertThat(userDetails).isEqualTo(mockedUser);
+        verify(userDetailsService).loadUserByUsername(mockedSubject);
+    }
+
+    @Test
+    public void authenticateAccessTokenOrThrow_ShouldLoadUser_WhenStatusVersionOutdated() {
+        ReflectionTestUtils.setField(jwtTokenService, "statelessAuthentication", true);
+        String mockedToken = "mockedToken";
+        String mockedSubject = "mockedSubject";
+        String mockedUserId = "mockedUserId";
+        User mockedUser = mock(User.class);
+        Claims mockedClaims = mock(Claims.class);
+
+        when(jwtService.parseClaims(mockedToken)).thenReturn(mockedClaims);
+        when(mockedClaims.getSubject()).thenReturn(mockedSubject);
+        when(jwtService.getUserId(mockedClaims)).thenReturn(mockedUserId);
+        when(jwtService.getStatusVersion(mockedClaims)).thenReturn(1L);
+        when(jwtService.getStatus(mockedClaims)).thenReturn(UserStatus.ACTIVE);
+        when(jwtService.getRoles(mockedClaims)).thenReturn(List.of(UserRole.USER.name()));
+        when(userStatusVersionService.isStatusVersionOutdated(mockedUserId, 1L)).thenReturn(true);
+        when(userDetailsService.loadUserByUsername(mockedSubject)).thenReturn(mockedUser);
+        when(jwtService.isTokenValid(mockedClaims, mockedUser)).thenReturn(true);
+
+        UserDetails userDetails = jwtTokenService.authenticateAccessTokenOrThrow(mockedToken);
+
+        assertThat(userDetails).isEqualTo(mockedUser);
+        verify(userDetailsService).loadUserByUsername(mockedSubject);
+    }
+
+    @Test
+    public void authenticateAccessTokenOrThrow_ShouldThrowException_WhenFamilyRevoked() {
+        String mockedToken = "mockedToken";
+        String mockedFamilyId = "mockedFamilyId";
+        Claims mockedClaims = mock(Claims.class);
+
+        when(jwtService.parseClaims(mockedToken)).thenReturn(mockedClaims);
+        when(jwtService.getFamilyId(mockedClaims)).thenReturn(mockedFamilyId);
+        when(refreshTokenStore.isFamilyRevoked(mockedFamilyId)).thenReturn(true);
+
+        assertThatThrownBy(() -> jwtTokenService.authenticateAccessTokenOrThrow(mockedToken))
+                .isInstanceOf(TokenNotValidException.class)
+                .hasMessage("Token not valid!");
+
+        verifyNoInteractions(userDetailsService);
+    }
 }
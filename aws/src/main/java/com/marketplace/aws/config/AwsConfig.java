@@ -2,8 +2,10 @@ package com.marketplace.aws.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
@@ -13,16 +15,38 @@ import software.amazon.awssdk.services.s3.S3Client;
 @Configuration
 public class AwsConfig {
 
-    @Value("${aws.s3.access-key}")
-    private String AWS_S3_ACCESS_KEY;
+    @Value("${aws.s3.upload.pool-size:4}")
+    private int uploadPoolSize;
 
-    @Value("${aws.s3.secret-key}")
-    private String AWS_S3_SECRET_KEY;
+    @Value("${aws.s3.upload.queue-capacity:100}")
+    private int uploadQueueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Bean
+    public ThreadPoolTaskExecutor s3UploadTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadPoolSize);
+        executor.setMaxPoolSize(uploadPoolSize);
+        executor.setQueueCapacity(uploadQueueCapacity);
+        executor.setThreadNamePrefix("s3-upload-");
+        executor.setVirtualThreads(virtualThreadsEnabled);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        return executor;
+    }
 
     @Bean
-    public S3Client s3Client() {
+    @ConditionalOnProperty(name = "aws.storage.type", havingValue = "s3", matchIfMissing = true)
+    public S3Client s3Client(
+            @Value("${aws.s3.access-key}") String AWS_S3_ACCESS_KEY,
+            @Value("${aws.s3.secret-key}") String AWS_S3_SECRET_KEY,
+            @Value("${aws.s3.region:eu-north-1}") String AWS_S3_REGION
+    ) {
         S3Client s3Client = S3Client.builder()
-                .region(Region.EU_NORTH_1)
+                .region(Region.of(AWS_S3_REGION))
                 .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(AWS_S3_ACCESS_KEY, AWS_S3_SECRET_KEY)))
                 .build();
 
@@ -0,0 +1,28 @@
+package com.marketplace.aws.config;
+
+import com.marketplace.aws.storage.LocalObjectStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "aws.storage.type", havingValue = "local")
+public class LocalStorageWebConfig implements WebMvcConfigurer {
+
+    public static final String LOCAL_STORAGE_ROUTE = "/storage/**";
+
+    private final LocalObjectStorage localObjectStorage;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(LOCAL_STORAGE_ROUTE)
+                .addResourceLocations(localObjectStorage.getRootDirectory().toUri().toString())
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+    }
+}
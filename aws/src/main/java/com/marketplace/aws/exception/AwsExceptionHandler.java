@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.ModelAndView;
 
 @Slf4j
@@ -31,4 +32,19 @@ public class AwsExceptionHandler {
                 .path(request.getRequestURI())
                 .build());
     }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ModelAndView handleMaxUploadSizeExceededException(MaxUploadSizeExceededException exception, HttpServletResponse response, HttpServletRequest request) {
+
+        log.error("[AWS_EXCEPTION_HANDLER]: {}", exception.getMessage());
+
+        response.setStatus(413);
+        return exceptionService.buildErrorResponseModelAndView(ExceptionService.ErrorModelPayload.builder()
+                .modelView("error")
+                .status(413)
+                .message("Photo exceeds maximum upload size")
+                .exceptionType(ExceptionType.WEB)
+                .path(request.getRequestURI())
+                .build());
+    }
 }
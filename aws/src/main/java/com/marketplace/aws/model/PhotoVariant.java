@@ -0,0 +1,16 @@
+package com.marketplace.aws.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PhotoVariant {
+    FULL("full", 1280),
+    CARD("card", 480),
+    THUMBNAIL("thumbnail", 160);
+
+    private final String key;
+
+    private final int maxDimension;
+}
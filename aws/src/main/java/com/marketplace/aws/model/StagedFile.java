@@ -0,0 +1,18 @@
+package com.marketplace.aws.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.file.Path;
+
+@Data
+@Builder
+public class StagedFile {
+
+    private Path path;
+
+    private String fileName;
+
+    private String contentType;
+
+}
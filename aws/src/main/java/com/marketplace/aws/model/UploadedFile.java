@@ -0,0 +1,20 @@
+package com.marketplace.aws.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.net.URL;
+import java.util.Map;
+
+@Data
+@Builder
+public class UploadedFile {
+
+    private URL url;
+
+    @Builder.Default
+    private Map<PhotoVariant, URL> variantUrls = Map.of();
+
+    private boolean deduplicated;
+
+}
@@ -0,0 +1,123 @@
+package com.marketplace.aws.service;
+
+import com.marketplace.aws.model.PhotoVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final String VARIANT_FORMAT = "jpeg";
+
+    @Value("${aws.s3.photo.variant-quality:0.85}")
+    private float variantQuality;
+
+    public Map<PhotoVariant, byte[]> createVariants(Path imageFile) {
+        try {
+            BufferedImage image = readImage(imageFile, PhotoVariant.FULL.getMaxDimension());
+            if (image == null) {
+                log.warn("[IMAGE_VARIANT_SERVICE]: Image {} cannot be decoded, variants skipped", imageFile.getFileName());
+                return Map.of();
+            }
+
+            Map<PhotoVariant, byte[]> variants = new EnumMap<>(PhotoVariant.class);
+            for (PhotoVariant photoVariant : PhotoVariant.values()) {
+                image = resize(image, photoVariant.getMaxDimension());
+                variants.put(photoVariant, writeJpeg(image));
+            }
+
+            return variants;
+        } catch (IOException exception) {
+            log.warn("[IMAGE_VARIANT_SERVICE]: Variants for {} failed {}", imageFile.getFileName(), exception.getMessage());
+            return Map.of();
+        }
+    }
+
+    private BufferedImage readImage(Path imageFile, int maxDimension) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(imageFile.toFile())) {
+            if (imageInputStream == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(imageInputStream);
+            if (!imageReaders.hasNext()) {
+                return null;
+            }
+
+            ImageReader imageReader = imageReaders.next();
+            try {
+                imageReader.setInput(imageInputStream, true, true);
+
+                int subsampling = Math.max(1, Math.max(imageReader.getWidth(0), imageReader.getHeight(0)) / maxDimension);
+                ImageReadParam imageReadParam = imageReader.getDefaultReadParam();
+                imageReadParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return imageReader.read(0, imageReadParam);
+            } finally {
+                imageReader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage image, int maxDimension) {
+        double scale = Math.min(1d, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        if (image.getType() == BufferedImage.TYPE_INT_RGB && width == image.getWidth() && height == image.getHeight()) {
+            return image;
+        }
+
+        BufferedImage resizedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resizedImage.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return resizedImage;
+    }
+
+    private byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter imageWriter = ImageIO.getImageWritersByFormatName(VARIANT_FORMAT).next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam imageWriteParam = imageWriter.getDefaultWriteParam();
+            imageWriteParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            imageWriteParam.setCompressionQuality(variantQuality);
+
+            imageWriter.setOutput(imageOutputStream);
+            imageWriter.write(null, new IIOImage(image, null, null), imageWriteParam);
+        } finally {
+            imageWriter.dispose();
+        }
+
+        return outputStream.toByteArray();
+    }
+
+}
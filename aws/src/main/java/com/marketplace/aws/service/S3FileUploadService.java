@@ -1,13 +1,25 @@
 package com.marketplace.aws.service;
 
+import com.marketplace.aws.model.StagedFile;
+import com.marketplace.aws.model.UploadedFile;
 import org.springframework.core.io.InputStreamSource;
 
 import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 public interface S3FileUploadService {
 
-    URL uploadFile(InputStreamSource file, String fileName);
+    URL uploadFile(InputStreamSource file);
+
+    StagedFile stageFile(InputStreamSource file);
+
+    CompletableFuture<UploadedFile> uploadStagedFileAsync(StagedFile stagedFile);
+
+    void discardStagedFile(StagedFile stagedFile);
 
     void deleteFile(String fileName);
 
+    void deleteFiles(Collection<String> fileNames);
+
 }
@@ -1,63 +1,107 @@
 package com.marketplace.aws.service;
 
 import com.marketplace.aws.exception.AwsPhotoUploadException;
+import com.marketplace.aws.model.PhotoVariant;
+import com.marketplace.aws.model.StagedFile;
+import com.marketplace.aws.model.UploadedFile;
+import com.marketplace.aws.storage.ObjectStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class S3ProductPhotoService implements S3FileUploadService {
 
-    private final S3Client s3Client;
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    private static final String VARIANT_EXTENSION = ".jpg";
+
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+    private final ObjectStorage objectStorage;
 
     private final S3FileManagerService s3FileManagerService;
 
-    @Value("${aws.s3.products-photo-location}")
+    private final ThreadPoolTaskExecutor s3UploadTaskExecutor;
+
+    private final ImageVariantService imageVariantService;
+
+    @Value("${aws.s3.products-photo-location:products}")
     public String AWS_S3_PRODUCTS_PHOTO_LOCATION;
 
-    @Value("${aws.s3.bucket-name}")
-    private String AWS_S3_BUCKET_NAME;
+    @Override
+    public URL uploadFile(InputStreamSource file) {
 
-    @Value("${aws.s3.bucket-base-url}")
-    public String AWS_S3_BUCKET_BASE_URL;
+        StagedFile stagedFile = stageFile(file);
+        try {
+            return storeIfAbsent(stagedFile, buildProductPhotoPath(stagedFile.getFileName()));
+        } finally {
+            discardStagedFile(stagedFile);
+        }
+    }
 
+    /**
+     * Copies the photo to a temporary file and names it by content hash, so callers know the stored file name before the upload starts.
+     */
     @Override
-    public URL uploadFile(InputStreamSource file, String fileName) {
+    public StagedFile stageFile(InputStreamSource file) {
 
         MultipartFile multipartFile = validateInputStreamSourceOrThrow(file);
         String extension = s3FileManagerService.getExtension(multipartFile.getOriginalFilename());
 
-        return uploadFileOrThrow(multipartFile, fileName, extension);
+        return stageFileOrThrow(multipartFile, extension);
     }
 
     @Override
-    public void deleteFile(String fileName) {
-        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                .bucket(AWS_S3_BUCKET_NAME)
-                .key(buildProductPhotoPath(fileName))
-                .build();
-
+    public CompletableFuture<UploadedFile> uploadStagedFileAsync(StagedFile stagedFile) {
         try {
-            s3Client.deleteObject(deleteObjectRequest);
-        } catch (RuntimeException exception) {
-            log.error("[S3_PRODUCT_PHOTO_SERVICE]: File deletion failed {}", exception.getMessage());
-            return;
+            return CompletableFuture.supplyAsync(() -> uploadPhotoWithVariantsOrThrow(stagedFile), s3UploadTaskExecutor);
+        } catch (TaskRejectedException exception) {
+            discardStagedFile(stagedFile);
+            throw new AwsPhotoUploadException("Photo upload queue is full, try again later");
         }
+    }
+
+    @Override
+    public void discardStagedFile(StagedFile stagedFile) {
+        deleteStagedFile(stagedFile.getPath());
+    }
 
-        log.info("[S3_PRODUCT_PHOTO_SERVICE]: File {} successfully deleted", fileName);
+    @Override
+    public void deleteFile(String fileName) {
+        deleteFiles(List.of(fileName));
+    }
+
+    @Override
+    public void deleteFiles(Collection<String> fileNames) {
+        objectStorage.deleteAll(fileNames.stream()
+                .flatMap(fileName -> Stream.concat(Stream.of(buildProductPhotoPath(fileName)), buildVariantPaths(fileName)))
+                .toList());
     }
 
     private MultipartFile validateInputStreamSourceOrThrow(InputStreamSource file) {
@@ -68,28 +112,101 @@ public class S3ProductPhotoService implements S3FileUploadService {
         return multipartFile;
     }
 
-    private URL uploadFileOrThrow(MultipartFile multipartFile, String fileName, String extension) {
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(AWS_S3_BUCKET_NAME)
-                .key(buildProductPhotoPath(fileName, extension))
-                .build();
+    private StagedFile stageFileOrThrow(MultipartFile multipartFile, String extension) {
+        try {
+            Path stagedFile = Files.createTempFile("product-photo-", ".upload");
+            MessageDigest messageDigest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+
+            try (InputStream inputStream = new DigestInputStream(multipartFile.getInputStream(), messageDigest)) {
+                Files.copy(inputStream, stagedFile, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException exception) {
+                deleteStagedFile(stagedFile);
+                throw exception;
+            }
+
+            return StagedFile.builder()
+                    .path(stagedFile)
+                    .fileName(HexFormat.of().formatHex(messageDigest.digest()) + extension)
+                    .contentType(multipartFile.getContentType())
+                    .build();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
 
+    private UploadedFile uploadPhotoWithVariantsOrThrow(StagedFile stagedFile) {
         try {
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(multipartFile.getInputStream(), multipartFile.getSize()));
-            log.info("[S3_PRODUCT_PHOTO_SERVICE]: Photo successfully uploaded");
+            String key = buildProductPhotoPath(stagedFile.getFileName());
+            boolean deduplicated = objectStorage.exists(key);
+
+            URL url = deduplicated ? objectStorage.getUrl(key) : storeOrThrow(stagedFile, key);
+            Map<PhotoVariant, URL> variantUrls = deduplicated && objectStorage.exists(buildVariantPath(stagedFile.getFileName(), PhotoVariant.FULL))
+                    ? buildVariantUrls(stagedFile.getFileName())
+                    : storeVariants(stagedFile);
+
+            if (deduplicated) {
+                log.info("[S3_PRODUCT_PHOTO_SERVICE]: Photo {} already stored, upload skipped", stagedFile.getFileName());
+            }
+
+            return UploadedFile.builder()
+                    .url(url)
+                    .variantUrls(variantUrls)
+                    .deduplicated(deduplicated)
+                    .build();
+        } finally {
+            discardStagedFile(stagedFile);
+        }
+    }
 
-            return buildProductPhotoUrl(fileName, extension);
-        } catch (IOException e) {
-            throw new AwsPhotoUploadException("Photo upload failed");
+    private URL storeIfAbsent(StagedFile stagedFile, String key) {
+        return objectStorage.exists(key) ? objectStorage.getUrl(key) : storeOrThrow(stagedFile, key);
+    }
+
+    private URL storeOrThrow(StagedFile stagedFile, String key) {
+        objectStorage.store(key, stagedFile.getPath(), stagedFile.getContentType());
+        log.info("[S3_PRODUCT_PHOTO_SERVICE]: Photo {} successfully uploaded", key);
+
+        return objectStorage.getUrl(key);
+    }
+
+    private Map<PhotoVariant, URL> storeVariants(StagedFile stagedFile) {
+        Map<PhotoVariant, URL> variantUrls = new EnumMap<>(PhotoVariant.class);
+        imageVariantService.createVariants(stagedFile.getPath()).forEach((photoVariant, content) -> {
+            String key = buildVariantPath(stagedFile.getFileName(), photoVariant);
+            objectStorage.store(key, content, VARIANT_CONTENT_TYPE);
+            variantUrls.put(photoVariant, objectStorage.getUrl(key));
+        });
+
+        return variantUrls;
+    }
+
+    private Map<PhotoVariant, URL> buildVariantUrls(String fileName) {
+        Map<PhotoVariant, URL> variantUrls = new EnumMap<>(PhotoVariant.class);
+        for (PhotoVariant photoVariant : PhotoVariant.values()) {
+            variantUrls.put(photoVariant, objectStorage.getUrl(buildVariantPath(fileName, photoVariant)));
+        }
+
+        return variantUrls;
+    }
+
+    private void deleteStagedFile(Path stagedFile) {
+        try {
+            Files.deleteIfExists(stagedFile);
+        } catch (IOException exception) {
+            log.warn("[S3_PRODUCT_PHOTO_SERVICE]: Staged file {} deletion failed {}", stagedFile, exception.getMessage());
         }
     }
 
-    private URL buildProductPhotoUrl(String fileName, String extension) throws MalformedURLException {
-        return new URL(AWS_S3_BUCKET_BASE_URL + "/" + buildProductPhotoPath(fileName, extension));
+    private Stream<String> buildVariantPaths(String fileName) {
+        return Arrays.stream(PhotoVariant.values())
+                .map(photoVariant -> buildVariantPath(fileName, photoVariant));
     }
 
-    private String buildProductPhotoPath(String fileName, String extension) {
-        return buildProductPhotoPath(fileName) + extension;
+    /**
+     * Variants are named after the full file name, extension included, so they share the reference count of their original.
+     */
+    private String buildVariantPath(String fileName, PhotoVariant photoVariant) {
+        return buildProductPhotoPath(fileName.replace('.', '-') + '-' + photoVariant.getKey() + VARIANT_EXTENSION);
     }
 
     private String buildProductPhotoPath(String fileName) {
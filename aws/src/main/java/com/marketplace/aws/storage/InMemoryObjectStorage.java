@@ -0,0 +1,68 @@
+package com.marketplace.aws.storage;
+
+import com.marketplace.aws.exception.AwsPhotoUploadException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "aws.storage.type", havingValue = "memory")
+public class InMemoryObjectStorage implements ObjectStorage {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Value("${aws.storage.memory.base-url:http://localhost/storage}")
+    private String baseUrl;
+
+    @Override
+    public boolean exists(String key) {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public void store(String key, Path file, String contentType) {
+        try {
+            objects.put(key, Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
+
+    @Override
+    public void store(String key, byte[] content, String contentType) {
+        objects.put(key, content.clone());
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        keys.forEach(objects::remove);
+    }
+
+    @Override
+    public URL getUrl(String key) {
+        try {
+            return URI.create(baseUrl + "/" + key).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
+
+    public Optional<byte[]> getContent(String key) {
+        return Optional.ofNullable(objects.get(key)).map(byte[]::clone);
+    }
+
+    public void clear() {
+        objects.clear();
+    }
+}
@@ -0,0 +1,113 @@
+package com.marketplace.aws.storage;
+
+import com.marketplace.aws.exception.AwsPhotoUploadException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aws.storage.type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    private final Path rootDirectory;
+
+    private final String baseUrl;
+
+    public LocalObjectStorage(
+            @Value("${aws.storage.local.directory:${java.io.tmpdir}/marketplace-storage}") Path rootDirectory,
+            @Value("${aws.storage.local.base-url:http://localhost:8080/storage}") String baseUrl
+    ) {
+        this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolvePath(key));
+    }
+
+    @Override
+    public void store(String key, Path file, String contentType) {
+        Path target = resolvePath(key);
+
+        try {
+            Path temporaryTarget = createTemporaryTarget(target);
+            try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel destination = FileChannel.open(temporaryTarget, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long size = source.size();
+                long position = 0;
+                while (position < size) {
+                    position += destination.transferFrom(source, position, size - position);
+                }
+            }
+
+            Files.move(temporaryTarget, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
+
+    @Override
+    public void store(String key, byte[] content, String contentType) {
+        Path target = resolvePath(key);
+
+        try {
+            Path temporaryTarget = createTemporaryTarget(target);
+            Files.write(temporaryTarget, content);
+            Files.move(temporaryTarget, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolvePath(key));
+            } catch (IOException exception) {
+                log.error("[LOCAL_OBJECT_STORAGE]: File {} deletion failed {}", key, exception.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public URL getUrl(String key) {
+        try {
+            return URI.create(baseUrl + "/" + key).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
+
+    public Path getRootDirectory() {
+        return rootDirectory;
+    }
+
+    private Path createTemporaryTarget(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+    }
+
+    private Path resolvePath(String key) {
+        Path path = rootDirectory.resolve(key).normalize();
+        if (!path.startsWith(rootDirectory)) {
+            throw new AwsPhotoUploadException("Invalid storage key");
+        }
+
+        return path;
+    }
+}
@@ -0,0 +1,19 @@
+package com.marketplace.aws.storage;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Collection;
+
+public interface ObjectStorage {
+
+    boolean exists(String key);
+
+    void store(String key, Path file, String contentType);
+
+    void store(String key, byte[] content, String contentType);
+
+    void deleteAll(Collection<String> keys);
+
+    URL getUrl(String key);
+
+}
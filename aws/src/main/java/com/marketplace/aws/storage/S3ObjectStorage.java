@@ -0,0 +1,222 @@
+package com.marketplace.aws.storage;
+
+import com.marketplace.aws.exception.AwsPhotoUploadException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "aws.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3ObjectStorage implements ObjectStorage {
+
+    private static final int DELETE_OBJECTS_BATCH_SIZE = 1000;
+
+    private static final DataSize MIN_PART_SIZE = DataSize.ofMegabytes(5);
+
+    private static final String PART_CONTENT_TYPE = "application/octet-stream";
+
+    private final S3Client s3Client;
+
+    @Value("${aws.s3.bucket-name}")
+    private String AWS_S3_BUCKET_NAME;
+
+    @Value("${aws.s3.bucket-base-url}")
+    public String AWS_S3_BUCKET_BASE_URL;
+
+    @Value("${aws.s3.upload.multipart-threshold:8MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${aws.s3.upload.part-size:8MB}")
+    private DataSize partSize;
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(AWS_S3_BUCKET_NAME)
+                    .key(key)
+                    .build());
+            return true;
+        } catch (NoSuchKeyException exception) {
+            return false;
+        } catch (S3Exception exception) {
+            if (exception.statusCode() == 404) {
+                return false;
+            }
+
+            throw exception;
+        }
+    }
+
+    @Override
+    public void store(String key, Path file, String contentType) {
+        try {
+            long size = Files.size(file);
+            if (size > multipartThreshold.toBytes()) {
+                uploadMultipartOrThrow(file, key, size, contentType);
+                return;
+            }
+
+            s3Client.putObject(PutObjectRequest.builder()
+                    .bucket(AWS_S3_BUCKET_NAME)
+                    .key(key)
+                    .contentType(contentType)
+                    .build(), RequestBody.fromFile(file));
+        } catch (IOException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
+
+    @Override
+    public void store(String key, byte[] content, String contentType) {
+        s3Client.putObject(PutObjectRequest.builder()
+                .bucket(AWS_S3_BUCKET_NAME)
+                .key(key)
+                .contentType(contentType)
+                .build(), RequestBody.fromBytes(content));
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        List<ObjectIdentifier> objectIdentifiers = keys.stream()
+                .map(key -> ObjectIdentifier.builder()
+                        .key(key)
+                        .build())
+                .toList();
+
+        for (int fromIndex = 0; fromIndex < objectIdentifiers.size(); fromIndex += DELETE_OBJECTS_BATCH_SIZE) {
+            List<ObjectIdentifier> batch = objectIdentifiers.subList(fromIndex, Math.min(fromIndex + DELETE_OBJECTS_BATCH_SIZE, objectIdentifiers.size()));
+            deleteObjectsBatch(batch);
+        }
+    }
+
+    @Override
+    public URL getUrl(String key) {
+        try {
+            return URI.create(AWS_S3_BUCKET_BASE_URL + "/" + key).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new AwsPhotoUploadException("Photo upload failed");
+        }
+    }
+
+    private void deleteObjectsBatch(List<ObjectIdentifier> objectIdentifiers) {
+        DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+                .bucket(AWS_S3_BUCKET_NAME)
+                .delete(Delete.builder()
+                        .objects(objectIdentifiers)
+                        .quiet(true)
+                        .build())
+                .build();
+
+        try {
+            DeleteObjectsResponse deleteObjectsResponse = s3Client.deleteObjects(deleteObjectsRequest);
+            deleteObjectsResponse.errors().forEach(error ->
+                    log.error("[S3_OBJECT_STORAGE]: File {} deletion failed {}", error.key(), error.message()));
+
+            log.info("[S3_OBJECT_STORAGE]: {} files successfully deleted", objectIdentifiers.size() - deleteObjectsResponse.errors().size());
+        } catch (RuntimeException exception) {
+            log.error("[S3_OBJECT_STORAGE]: Files deletion failed {}", exception.getMessage());
+        }
+    }
+
+    private void uploadMultipartOrThrow(Path file, String key, long size, String contentType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(AWS_S3_BUCKET_NAME)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            List<CompletedPart> completedParts = uploadPartsOrThrow(inputStream, key, uploadId, size);
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(AWS_S3_BUCKET_NAME)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder()
+                            .parts(completedParts)
+                            .build())
+                    .build());
+        } catch (IOException | RuntimeException exception) {
+            abortMultipartUpload(key, uploadId);
+            throw exception;
+        }
+    }
+
+    private List<CompletedPart> uploadPartsOrThrow(InputStream inputStream, String key, String uploadId, long size) throws IOException {
+        byte[] partBuffer = new byte[(int) Math.min(resolvePartSize(), size)];
+        List<CompletedPart> completedParts = new ArrayList<>();
+
+        int partLength;
+        while ((partLength = inputStream.readNBytes(partBuffer, 0, partBuffer.length)) > 0) {
+            int partNumber = completedParts.size() + 1;
+            int length = partLength;
+
+            UploadPartResponse uploadPartResponse = s3Client.uploadPart(UploadPartRequest.builder()
+                    .bucket(AWS_S3_BUCKET_NAME)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) length)
+                    .build(), RequestBody.fromContentProvider(() -> new ByteArrayInputStream(partBuffer, 0, length), length, PART_CONTENT_TYPE));
+
+            completedParts.add(CompletedPart.builder()
+                    .partNumber(partNumber)
+                    .eTag(uploadPartResponse.eTag())
+                    .build());
+        }
+
+        return completedParts;
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(AWS_S3_BUCKET_NAME)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.warn("[S3_OBJECT_STORAGE]: Multipart upload {} aborted", uploadId);
+        } catch (RuntimeException exception) {
+            log.error("[S3_OBJECT_STORAGE]: Multipart upload {} abort failed {}", uploadId, exception.getMessage());
+        }
+    }
+
+    private int resolvePartSize() {
+        return (int) Math.max(partSize.toBytes(), MIN_PART_SIZE.toBytes());
+    }
+}
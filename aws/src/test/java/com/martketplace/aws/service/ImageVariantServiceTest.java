@@ -0,0 +1,73 @@
+package com.martketplace.aws.service;
+
+import com.marketplace.aws.config.AwsApplicationConfig;
+import com.marketplace.aws.model.PhotoVariant;
+import com.marketplace.aws.service.ImageVariantService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(classes = AwsApplicationConfig.class)
+public class ImageVariantServiceTest {
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void createVariants_ShouldCreateScaledJpegVariants() throws IOException {
+        Path imageFile = tempDir.resolve("photo.png");
+        ImageIO.write(new BufferedImage(3000, 1500, BufferedImage.TYPE_INT_ARGB), "png", imageFile.toFile());
+
+        Map<PhotoVariant, byte[]> variants = imageVariantService.createVariants(imageFile);
+
+        assertThat(variants.size()).isEqualTo(PhotoVariant.values().length);
+        for (PhotoVariant photoVariant : PhotoVariant.values()) {
+            BufferedImage variant = ImageIO.read(new ByteArrayInputStream(variants.get(photoVariant)));
+
+            assertThat(variant.getWidth()).isEqualTo(photoVariant.getMaxDimension());
+            assertThat(variant.getHeight()).isEqualTo(photoVariant.getMaxDimension() / 2);
+        }
+    }
+
+    @Test
+    public void createVariants_ShouldNotUpscaleSmallPhoto() throws IOException {
+        Path imageFile = tempDir.resolve("photo.png");
+        ImageIO.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB), "png", imageFile.toFile());
+
+        Map<PhotoVariant, byte[]> variants = imageVariantService.createVariants(imageFile);
+
+        BufferedImage fullVariant = ImageIO.read(new ByteArrayInputStream(variants.get(PhotoVariant.FULL)));
+        assertThat(fullVariant.getWidth()).isEqualTo(100);
+        assertThat(fullVariant.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    public void createVariants_ShouldReturnEmptyVariants_WhenPhotoCannotBeDecoded() throws IOException {
+        Path imageFile = tempDir.resolve("photo.png");
+        Files.write(imageFile, "photo".getBytes());
+
+        Map<PhotoVariant, byte[]> variants = imageVariantService.createVariants(imageFile);
+
+        assertThat(variants.isEmpty()).isTrue();
+    }
+
+}
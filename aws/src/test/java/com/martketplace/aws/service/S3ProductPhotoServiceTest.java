@@ -2,7 +2,12 @@ package com.martketplace.aws.service;
 
 import com.marketplace.aws.config.AwsApplicationConfig;
 import com.marketplace.aws.exception.AwsPhotoUploadException;
+import com.marketplace.aws.model.PhotoVariant;
+import com.marketplace.aws.model.StagedFile;
+import com.marketplace.aws.model.UploadedFile;
 import com.marketplace.aws.service.S3ProductPhotoService;
+import com.marketplace.aws.storage.S3ObjectStorage;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,15 +15,42 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.web.multipart.MultipartFile;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
-import java.net.MalformedURLException;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = AwsApplicationConfig.class)
 public class S3ProductPhotoServiceTest {
@@ -29,37 +61,42 @@ public class S3ProductPhotoServiceTest {
     @Autowired
     private S3ProductPhotoService s3ProductPhotoService;
 
+    @Autowired
+    private S3ObjectStorage s3ObjectStorage;
+
+    @BeforeEach
+    public void mockMissingObjects() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+    }
+
     @Test
     public void uploadFile_ShouldSuccessfullyUploadPhoto() {
-        String fileName = "fileName";
         MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
 
-        URL url = s3ProductPhotoService.uploadFile(mockMultipartFile, fileName);
+        URL url = s3ProductPhotoService.uploadFile(mockMultipartFile);
 
         assertThat(url).isNotNull();
-        assertThat(url.getPath()).contains(fileName);
+        assertThat(url.getPath()).endsWith(sha256Hex("photo".getBytes()) + ".png");
         assertThat(url.getPath()).contains(s3ProductPhotoService.AWS_S3_PRODUCTS_PHOTO_LOCATION);
-        assertThat(url.getAuthority()).isEqualTo(extractAuthority(s3ProductPhotoService.AWS_S3_BUCKET_BASE_URL));
+        assertThat(url.getAuthority()).isEqualTo(extractAuthority(s3ObjectStorage.AWS_S3_BUCKET_BASE_URL));
     }
 
     @Test
     public void uploadFile_ShouldThrowException_WhenUnsupportedExtensionFormat() {
-        String fileName = "fileName";
         MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.svg", "image/svg", "photo".getBytes());
 
-        assertThatThrownBy(() -> s3ProductPhotoService.uploadFile(mockMultipartFile, fileName))
+        assertThatThrownBy(() -> s3ProductPhotoService.uploadFile(mockMultipartFile))
                 .isInstanceOf(AwsPhotoUploadException.class)
                 .hasMessage("Unsupported photo extension: .svg");
     }
 
     @Test
     public void uploadFile_ShouldThrowException_WhenMultipartIsEmpty() {
-        String fileName = "fileName";
         MultipartFile mockedMultipartFile = mock(MultipartFile.class);
 
         when(mockedMultipartFile.isEmpty()).thenReturn(true);
 
-        assertThatThrownBy(() -> s3ProductPhotoService.uploadFile(mockedMultipartFile, fileName))
+        assertThatThrownBy(() -> s3ProductPhotoService.uploadFile(mockedMultipartFile))
                 .isInstanceOf(AwsPhotoUploadException.class)
                 .hasMessage("Cannot upload not multipart photo");
 
@@ -67,21 +104,161 @@ public class S3ProductPhotoServiceTest {
 
     @Test
     public void uploadFile_ShouldThrowException_WhenNotInstanceFromMultipart() {
-        String fileName = "fileName";
         ByteArrayResource mockedByteArrayResource = mock(ByteArrayResource.class);
 
-        assertThatThrownBy(() -> s3ProductPhotoService.uploadFile(mockedByteArrayResource, fileName))
+        assertThatThrownBy(() -> s3ProductPhotoService.uploadFile(mockedByteArrayResource))
                 .isInstanceOf(AwsPhotoUploadException.class)
                 .hasMessage("Cannot upload not multipart photo");
 
     }
 
-    private String extractAuthority(String url) {
+    @Test
+    public void uploadStagedFileAsync_ShouldUploadStagedPhotoInBackground() {
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
+
+        UploadedFile uploadedFile = s3ProductPhotoService.uploadStagedFileAsync(s3ProductPhotoService.stageFile(mockMultipartFile)).join();
+
+        assertThat(uploadedFile.getUrl().getPath()).endsWith(sha256Hex("photo".getBytes()) + ".png");
+        assertThat(uploadedFile.getVariantUrls().isEmpty()).isTrue();
+        assertThat(uploadedFile.isDeduplicated()).isFalse();
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    public void uploadStagedFileAsync_ShouldSkipUpload_WhenIdenticalPhotoAlreadyStored() {
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
+
+        doReturn(HeadObjectResponse.builder().build()).when(s3Client).headObject(any(HeadObjectRequest.class));
+
+        UploadedFile uploadedFile = s3ProductPhotoService.uploadStagedFileAsync(s3ProductPhotoService.stageFile(mockMultipartFile)).join();
+
+        assertThat(uploadedFile.isDeduplicated()).isTrue();
+        assertThat(uploadedFile.getUrl().getPath()).endsWith(sha256Hex("photo".getBytes()) + ".png");
+        assertThat(uploadedFile.getVariantUrls().get(PhotoVariant.CARD).getPath()).endsWith(sha256Hex("photo".getBytes()) + "-png-card.jpg");
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    public void uploadStagedFileAsync_ShouldUploadVariants_WhenPhotoCanBeDecoded() throws Exception {
+        byte[] photo = buildPngPhoto(2000, 1000);
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", photo);
+
+        UploadedFile uploadedFile = s3ProductPhotoService.uploadStagedFileAsync(s3ProductPhotoService.stageFile(mockMultipartFile)).join();
+
+        assertThat(uploadedFile.getVariantUrls().size()).isEqualTo(PhotoVariant.values().length);
+        assertThat(uploadedFile.getVariantUrls().get(PhotoVariant.THUMBNAIL).getPath()).endsWith(sha256Hex(photo) + "-png-thumbnail.jpg");
+
+        ArgumentCaptor<PutObjectRequest> putObjectRequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, times(PhotoVariant.values().length + 1)).putObject(putObjectRequestCaptor.capture(), any(RequestBody.class));
+        assertThat(putObjectRequestCaptor.getAllValues().get(1).contentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    public void stageFile_ShouldThrowException_WhenUnsupportedExtensionFormat() {
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.svg", "image/svg", "photo".getBytes());
+
+        assertThatThrownBy(() -> s3ProductPhotoService.stageFile(mockMultipartFile))
+                .isInstanceOf(AwsPhotoUploadException.class)
+                .hasMessage("Unsupported photo extension: .svg");
+
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    public void uploadStagedFileAsync_ShouldKeepStoredObjects_WhenVariantUploadFails() throws Exception {
+        byte[] photo = buildPngPhoto(2000, 1000);
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", photo);
+
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build())
+                .thenReturn(PutObjectResponse.builder().build())
+                .thenThrow(S3Exception.builder().message("Variant upload failed").build());
+
+        StagedFile stagedFile = s3ProductPhotoService.stageFile(mockMultipartFile);
+
+        assertThatThrownBy(() -> s3ProductPhotoService.uploadStagedFileAsync(stagedFile).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(S3Exception.class);
+
+        assertThat(Files.exists(stagedFile.getPath())).isFalse();
+        verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+    }
+
+    @Test
+    public void uploadFile_ShouldUploadInParts_WhenPhotoExceedsMultipartThreshold() {
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", new byte[12 * 1024 * 1024]);
+
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(CreateMultipartUploadResponse.builder().uploadId("uploadId").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenReturn(UploadPartResponse.builder().eTag("eTag").build());
+
+        URL url = s3ProductPhotoService.uploadFile(mockMultipartFile);
+
+        assertThat(url.getPath()).endsWith(sha256Hex(new byte[12 * 1024 * 1024]) + ".png");
+
+        ArgumentCaptor<UploadPartRequest> uploadPartRequestCaptor = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(2)).uploadPart(uploadPartRequestCaptor.capture(), any(RequestBody.class));
+        assertThat(uploadPartRequestCaptor.getAllValues().get(0).contentLength()).isEqualTo(8L * 1024 * 1024);
+        assertThat(uploadPartRequestCaptor.getAllValues().get(1).contentLength()).isEqualTo(4L * 1024 * 1024);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeRequestCaptor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(completeRequestCaptor.capture());
+        assertThat(completeRequestCaptor.getValue().multipartUpload().parts().size()).isEqualTo(2);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    public void uploadFile_ShouldAbortMultipartUpload_WhenPartUploadFails() {
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", new byte[12 * 1024 * 1024]);
+
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(CreateMultipartUploadResponse.builder().uploadId("uploadId").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenThrow(S3Exception.builder().message("Part upload failed").build());
+
+        assertThatThrownBy(() -> s3ProductPhotoService.uploadFile(mockMultipartFile))
+                .isInstanceOf(S3Exception.class);
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abortRequestCaptor = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3Client).abortMultipartUpload(abortRequestCaptor.capture());
+        assertThat(abortRequestCaptor.getValue().uploadId()).isEqualTo("uploadId");
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    public void deleteFiles_ShouldDeletePhotosWithVariantsInBatchesOfThousand() {
+        List<String> fileNames = IntStream.range(0, 300)
+                .mapToObj(index -> "fileName" + index + ".png")
+                .toList();
+
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder().build());
+
+        s3ProductPhotoService.deleteFiles(fileNames);
+
+        ArgumentCaptor<DeleteObjectsRequest> deleteObjectsRequestCaptor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(2)).deleteObjects(deleteObjectsRequestCaptor.capture());
+
+        List<DeleteObjectsRequest> deleteObjectsRequests = deleteObjectsRequestCaptor.getAllValues();
+        assertThat(deleteObjectsRequests.get(0).delete().objects().size()).isEqualTo(1000);
+        assertThat(deleteObjectsRequests.get(1).delete().objects().size()).isEqualTo(200);
+        assertThat(deleteObjectsRequests.get(0).delete().objects().get(0).key()).endsWith(fileNames.get(0));
+        assertThat(deleteObjectsRequests.get(0).delete().objects().get(1).key()).endsWith("fileName0-png-full.jpg");
+    }
+
+    private byte[] buildPngPhoto(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", outputStream);
+
+        return outputStream.toByteArray();
+    }
+
+    private String sha256Hex(byte[] content) {
         try {
-            return new URL(url).getAuthority();
-        } catch (MalformedURLException e) {
-            throw new IllegalArgumentException("Invalid URL: " + url, e);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
+    private String extractAuthority(String url) {
+        return URI.create(url).getAuthority();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.martketplace.aws.storage;
+
+import com.marketplace.aws.config.AwsApplicationConfig;
+import com.marketplace.aws.model.UploadedFile;
+import com.marketplace.aws.service.S3ProductPhotoService;
+import com.marketplace.aws.storage.InMemoryObjectStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(classes = AwsApplicationConfig.class, properties = "aws.storage.type=memory")
+public class InMemoryObjectStorageTest {
+
+    @Autowired
+    private InMemoryObjectStorage inMemoryObjectStorage;
+
+    @Autowired
+    private S3ProductPhotoService s3ProductPhotoService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @AfterEach
+    public void clearStorage() {
+        inMemoryObjectStorage.clear();
+    }
+
+    @Test
+    public void uploadStagedFileAsync_ShouldStorePhotoWithoutS3Client() {
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
+
+        UploadedFile uploadedFile = s3ProductPhotoService.uploadStagedFileAsync(s3ProductPhotoService.stageFile(mockMultipartFile)).join();
+        String key = uploadedFile.getUrl().getPath().substring("/storage/".length());
+
+        assertThat(applicationContext.getBeanNamesForType(S3Client.class).length).isEqualTo(0);
+        assertThat(inMemoryObjectStorage.getContent(key).orElseThrow()).isEqualTo("photo".getBytes());
+    }
+
+    @Test
+    public void deleteFile_ShouldRemoveStoredPhoto() {
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
+
+        UploadedFile uploadedFile = s3ProductPhotoService.uploadStagedFileAsync(s3ProductPhotoService.stageFile(mockMultipartFile)).join();
+        String key = uploadedFile.getUrl().getPath().substring("/storage/".length());
+        String fileName = key.substring(key.lastIndexOf('/') + 1);
+
+        s3ProductPhotoService.deleteFile(fileName);
+
+        assertThat(inMemoryObjectStorage.exists(key)).isFalse();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.martketplace.aws.storage;
+
+import com.marketplace.aws.config.AwsApplicationConfig;
+import com.marketplace.aws.exception.AwsPhotoUploadException;
+import com.marketplace.aws.storage.LocalObjectStorage;
+import com.marketplace.aws.storage.ObjectStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest(classes = AwsApplicationConfig.class, properties = {
+        "aws.storage.type=local",
+        "aws.storage.local.directory=${java.io.tmpdir}/marketplace-storage-test",
+        "aws.storage.local.base-url=http://localhost:8080/storage"
+})
+public class LocalObjectStorageTest {
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void store_ShouldCopyFileIntoStorageDirectory() throws IOException {
+        Path file = tempDir.resolve("photo.png");
+        Files.write(file, "photo".getBytes());
+
+        objectStorage.store("products/photo.png", file, "image/png");
+
+        assertThat(objectStorage).isInstanceOf(LocalObjectStorage.class);
+        assertThat(objectStorage.exists("products/photo.png")).isTrue();
+        assertThat(Files.readAllBytes(((LocalObjectStorage) objectStorage).getRootDirectory().resolve("products/photo.png"))).isEqualTo("photo".getBytes());
+    }
+
+    @Test
+    public void deleteAll_ShouldRemoveStoredFiles() {
+        objectStorage.store("products/photo-card.jpg", "photo".getBytes(), "image/jpeg");
+
+        objectStorage.deleteAll(List.of("products/photo-card.jpg", "products/missing.jpg"));
+
+        assertThat(objectStorage.exists("products/photo-card.jpg")).isFalse();
+    }
+
+    @Test
+    public void getUrl_ShouldResolveAgainstBaseUrl() {
+        URL url = objectStorage.getUrl("products/photo.png");
+
+        assertThat(url.toString()).isEqualTo("http://localhost:8080/storage/products/photo.png");
+    }
+
+    @Test
+    public void store_ShouldThrowException_WhenKeyEscapesStorageDirectory() {
+        assertThatThrownBy(() -> objectStorage.store("../photo.png", "photo".getBytes(), "image/png"))
+                .isInstanceOf(AwsPhotoUploadException.class)
+                .hasMessage("Invalid storage key");
+    }
+
+}
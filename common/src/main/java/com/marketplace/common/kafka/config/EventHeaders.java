@@ -0,0 +1,5 @@
+package com.marketplace.common.kafka.config;
+
+public interface EventHeaders {
+    String EVENT_ID = "eventId";
+}
@@ -2,11 +2,13 @@ package com.marketplace.common.kafka.config;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.HashMap;
 
@@ -15,6 +17,15 @@ public class KafkaProducerConfigurer {
 
     private static final String KAFKA_BOOTSTRAP_SERVERS = "localhost:9092";
 
+    @Value("${kafka.publish.pool-size:2}")
+    private int publishPoolSize;
+
+    @Value("${kafka.publish.queue-capacity:1000}")
+    private int publishQueueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         HashMap<String, Object> configProps = new HashMap<>();
@@ -22,7 +33,10 @@ public class KafkaProducerConfigurer {
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA_BOOTSTRAP_SERVERS);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "1");
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -32,4 +46,19 @@ public class KafkaProducerConfigurer {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * Runs best-effort sends, so a request thread never blocks on broker metadata.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor kafkaPublishTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(publishPoolSize);
+        executor.setMaxPoolSize(publishPoolSize);
+        executor.setQueueCapacity(publishQueueCapacity);
+        executor.setThreadNamePrefix("kafka-publish-");
+        executor.setVirtualThreads(virtualThreadsEnabled);
+
+        return executor;
+    }
+
 }
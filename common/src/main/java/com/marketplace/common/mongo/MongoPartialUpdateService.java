@@ -0,0 +1,106 @@
+package com.marketplace.common.mongo;
+
+import com.marketplace.common.exception.EntityNotFoundException;
+import com.mongodb.MongoClientSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class MongoPartialUpdateService {
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String UPDATED_AT_FIELD = "updatedAt";
+
+    private static final Codec<Document> DOCUMENT_CODEC = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MongoConverter mongoConverter;
+
+    private final UpdateMapper updateMapper;
+
+    private final AtomicLong updates = new AtomicLong();
+
+    private final AtomicLong writtenBytes = new AtomicLong();
+
+    private final AtomicLong fullSaveBytes = new AtomicLong();
+
+    public MongoPartialUpdateService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoConverter = mongoTemplate.getConverter();
+        this.updateMapper = new UpdateMapper(mongoConverter);
+    }
+
+    public <T> T updateOrThrow(String id, Long expectedVersion, PartialUpdate partialUpdate, Class<T> entityType) {
+        MongoPersistentEntity<?> persistentEntity = mongoConverter.getMappingContext().getRequiredPersistentEntity(entityType);
+        String versionField = persistentEntity.getRequiredVersionProperty().getFieldName();
+
+        Query query = Query.query(Criteria.where(ID_FIELD).is(id).and(versionField).is(expectedVersion));
+        Update update = partialUpdate.toUpdate()
+                .set(UPDATED_AT_FIELD, LocalDateTime.now())
+                .inc(versionField, 1);
+
+        T updatedEntity = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), entityType);
+
+        if (updatedEntity == null) {
+            throw resolveUpdateFailure(id, entityType);
+        }
+
+        recordWrite(id, update, updatedEntity, persistentEntity);
+        return updatedEntity;
+    }
+
+    public PartialUpdateStats getStats() {
+        return PartialUpdateStats.builder()
+                .updates(updates.get())
+                .writtenBytes(writtenBytes.get())
+                .fullSaveBytes(fullSaveBytes.get())
+                .build();
+    }
+
+    private RuntimeException resolveUpdateFailure(String id, Class<?> entityType) {
+        if (!mongoTemplate.exists(Query.query(Criteria.where(ID_FIELD).is(id)), entityType)) {
+            return new EntityNotFoundException(entityType.getSimpleName() + " not found!");
+        }
+
+        log.warn("[MONGO_PARTIAL_UPDATE_SERVICE]: {} {} was modified concurrently", entityType.getSimpleName(), id);
+        return new OptimisticLockingFailureException(entityType.getSimpleName() + " was modified by another request, please try again");
+    }
+
+    private void recordWrite(String id, Update update, Object updatedEntity, MongoPersistentEntity<?> persistentEntity) {
+        Document fullDocument = new Document();
+        mongoConverter.write(updatedEntity, fullDocument);
+
+        long updateSize = sizeOf(updateMapper.getMappedObject(update.getUpdateObject(), persistentEntity));
+        long fullDocumentSize = sizeOf(fullDocument);
+
+        updates.incrementAndGet();
+        writtenBytes.addAndGet(updateSize);
+        fullSaveBytes.addAndGet(fullDocumentSize);
+
+        log.debug("[MONGO_PARTIAL_UPDATE_SERVICE]: Updated {} {} writing {} bytes instead of {} bytes for a full save",
+                persistentEntity.getType().getSimpleName(), id, updateSize, fullDocumentSize);
+    }
+
+    private long sizeOf(Document document) {
+        return new RawBsonDocument(document, DOCUMENT_CODEC).getByteBuffer().remaining();
+    }
+
+}
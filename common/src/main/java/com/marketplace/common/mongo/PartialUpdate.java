@@ -0,0 +1,35 @@
+package com.marketplace.common.mongo;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class PartialUpdate {
+
+    private final Update update = new Update();
+
+    public static PartialUpdate create() {
+        return new PartialUpdate();
+    }
+
+    public PartialUpdate setIfPresent(String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return update.getUpdateObject().isEmpty();
+    }
+
+    public Object getValue(String field) {
+        Document setDocument = update.getUpdateObject().get("$set", Document.class);
+        return setDocument == null ? null : setDocument.get(field);
+    }
+
+    Update toUpdate() {
+        return update;
+    }
+
+}
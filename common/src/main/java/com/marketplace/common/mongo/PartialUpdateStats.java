@@ -0,0 +1,16 @@
+package com.marketplace.common.mongo;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PartialUpdateStats {
+
+    private long updates;
+
+    private long writtenBytes;
+
+    private long fullSaveBytes;
+
+}
@@ -0,0 +1,53 @@
+package com.marketplace.common.mongo;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mongo.migration.version-fields-enabled", havingValue = "true")
+public class VersionFieldMigration implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Runs before the web server starts: a document without a version would be inserted instead of updated by save().
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        initializeMissingVersionFields();
+    }
+
+    public void initializeMissingVersionFields() {
+        mongoTemplate.getConverter().getMappingContext().getPersistentEntities().stream()
+                .filter(MongoPersistentEntity::hasVersionProperty)
+                .forEach(this::initializeMissingVersionField);
+    }
+
+    private void initializeMissingVersionField(MongoPersistentEntity<?> persistentEntity) {
+        String versionField = persistentEntity.getRequiredVersionProperty().getFieldName();
+
+        try {
+            UpdateResult updateResult = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where(versionField).exists(false)),
+                    new Update().set(versionField, 0L),
+                    persistentEntity.getCollection());
+
+            log.info("[VERSION_FIELD_MIGRATION]: Initialized {} field for {} documents in {}", versionField, updateResult.getModifiedCount(), persistentEntity.getCollection());
+        } catch (DataAccessException exception) {
+            log.error("[VERSION_FIELD_MIGRATION]: Failed to initialize {} field in {}: {}", versionField, persistentEntity.getCollection(), exception.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+import http from 'k6/http';
+import { check, group } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = Number(__ENV.USERS || 2000);
+
+export const options = {
+    scenarios: {
+        browse: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '1m', target: USERS },
+                { duration: '3m', target: USERS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<1000'],
+    },
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/sign-in`, {
+        email: __ENV.USER_EMAIL || 'user@gmail.com',
+        password: __ENV.USER_PASSWORD || 'userPassword1',
+    }, { redirects: 0 });
+
+    return { cookies: response.cookies };
+}
+
+export default function (data) {
+    const jar = http.cookieJar();
+
+    group('anonymous listing', () => {
+        jar.clear(BASE_URL);
+        check(http.get(`${BASE_URL}/products/all`), { 'listing is 200': (r) => r.status === 200 });
+    });
+
+    group('authenticated listing and cart', () => {
+        Object.entries(data.cookies).forEach(([name, values]) => jar.set(BASE_URL, name, values[0].value));
+        check(http.get(`${BASE_URL}/products/all?sort=PRICE_ASC`), { 'listing is 200': (r) => r.status === 200 });
+        check(http.get(`${BASE_URL}/orders/user-order`), { 'cart is 200': (r) => r.status === 200 });
+    });
+}
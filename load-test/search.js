@@ -0,0 +1,32 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = Number(__ENV.RATE || 100);
+
+const QUERIES = ['wireless headphones', 'leather backpack', 'wooden chair', 'smart watch', 'portable speaker', 'vintage camera'];
+
+export const options = {
+    scenarios: {
+        search: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 50,
+            maxVUs: 500,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(99)<50'],
+    },
+};
+
+export default function () {
+    const query = QUERIES[Math.floor(Math.random() * QUERIES.length)];
+    const minPrice = Math.floor(Math.random() * 500);
+    const url = `${BASE_URL}/products/search?q=${encodeURIComponent(query)}&minPrice=${minPrice}&maxPrice=${minPrice + 200}&active=true`;
+
+    check(http.get(url), { 'search is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,47 @@
+// Seeds the products collection for the search benchmark:
+//   mongosh "$MONGO_DB_URI" load-test/seed-products.js
+// PRODUCTS (default 1000000) and BATCH_SIZE (default 10000) can be overridden through the environment.
+
+const PRODUCTS = Number(process.env.PRODUCTS || 1000000);
+const BATCH_SIZE = Number(process.env.BATCH_SIZE || 10000);
+const OWNER_ID = process.env.OWNER_ID || 'seed-owner';
+
+const ADJECTIVES = ['wireless', 'leather', 'wooden', 'compact', 'vintage', 'smart', 'organic', 'portable', 'waterproof', 'handmade'];
+const NOUNS = ['headphones', 'backpack', 'chair', 'lamp', 'watch', 'keyboard', 'jacket', 'bottle', 'speaker', 'camera'];
+const MATERIALS = ['steel', 'cotton', 'oak', 'aluminium', 'glass', 'wool', 'bamboo', 'ceramic'];
+
+function pick(words, index) {
+    return words[index % words.length];
+}
+
+const products = db.getCollection('products');
+const startedAt = Date.now();
+
+for (let offset = 0; offset < PRODUCTS; offset += BATCH_SIZE) {
+    const now = new Date();
+    const batch = [];
+
+    for (let index = offset; index < Math.min(offset + BATCH_SIZE, PRODUCTS); index++) {
+        const adjective = pick(ADJECTIVES, index);
+        const noun = pick(NOUNS, Math.floor(index / ADJECTIVES.length));
+        const material = pick(MATERIALS, Math.floor(index / 7));
+
+        batch.push({
+            name: `${adjective} ${noun} ${index}`,
+            ownerId: OWNER_ID,
+            description: `A ${adjective} ${noun} made of ${material}, seeded for the search benchmark`,
+            price: NumberDecimal((1 + (index * 7919) % 100000 / 100).toFixed(2)),
+            amount: index % 50,
+            active: index % 10 !== 0,
+            version: NumberLong(0),
+            createdAt: now,
+            updatedAt: now,
+            _class: 'com.marketplace.product.web.model.Product',
+        });
+    }
+
+    products.insertMany(batch, { ordered: false });
+    print(`Inserted ${Math.min(offset + BATCH_SIZE, PRODUCTS)} of ${PRODUCTS} products`);
+}
+
+print(`Seeded ${PRODUCTS} products in ${(Date.now() - startedAt) / 1000}s`);
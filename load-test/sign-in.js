@@ -0,0 +1,51 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = Number(__ENV.RATE || 200);
+const CPU_CORES = Number(__ENV.CPU_CORES || 1);
+
+const logins = new Counter('logins');
+
+export const options = {
+    scenarios: {
+        sign_in: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 50,
+            maxVUs: 500,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const response = http.post(`${BASE_URL}/sign-in`, {
+        email: __ENV.USER_EMAIL || 'user@gmail.com',
+        password: __ENV.USER_PASSWORD || 'userPassword1',
+    }, { redirects: 0 });
+
+    if (check(response, { 'signed in': (r) => r.status === 302 })) {
+        logins.add(1);
+    }
+}
+
+export function handleSummary(data) {
+    const loginsPerSecond = data.metrics.logins ? data.metrics.logins.values.rate : 0;
+    const rejected = data.metrics.http_reqs.values.count - (data.metrics.logins ? data.metrics.logins.values.count : 0);
+
+    return {
+        stdout: [
+            `logins/sec:          ${loginsPerSecond.toFixed(1)}`,
+            `logins/sec per core: ${(loginsPerSecond / CPU_CORES).toFixed(1)} (${CPU_CORES} cores)`,
+            `p95 latency:         ${data.metrics.http_req_duration.values['p(95)'].toFixed(1)} ms`,
+            `not signed in:       ${rejected}`,
+            '',
+        ].join('\n'),
+    };
+}
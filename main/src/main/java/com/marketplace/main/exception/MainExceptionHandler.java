@@ -10,6 +10,7 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -70,6 +71,20 @@ public class MainExceptionHandler {
                 .build());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ModelAndView handleOptimisticLockingFailureException(OptimisticLockingFailureException exception, HttpServletRequest request, HttpServletResponse response) {
+        log.warn("[MAIN_EXCEPTION_HANDLER]: {}", exception.getMessage());
+
+        response.setStatus(409);
+        return exceptionService.buildErrorResponseModelAndView(ExceptionService.ErrorModelPayload.builder()
+                .modelView("error")
+                .status(409)
+                .message(exception.getMessage())
+                .exceptionType(ExceptionType.WEB)
+                .path(request.getRequestURI())
+                .build());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     protected ModelAndView handleMethodArgumentNotValidException(MethodArgumentNotValidException exception, HttpServletResponse response, HttpServletRequest request) {
 
@@ -1,5 +1,7 @@
 package com.marketplace.main.web.controller;
 
+import com.marketplace.auth.security.JwtAuthenticationFilter;
+import com.marketplace.auth.security.cookie.CookieService;
 import com.marketplace.usercore.model.User;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -8,21 +10,47 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.thymeleaf.context.LazyContextVariable;
 
 @ControllerAdvice
 @RequiredArgsConstructor
 public class MainModelAttributes {
 
+    private final CookieService cookieService;
+
     @ModelAttribute
     public void addRequestToModel(Model model, HttpServletRequest request) {
         model.addAttribute("request", request.getRequestURI());
     }
 
+    /**
+     * On public routes the token is only verified if the view actually reads {@code authUser},
+     * and requests without token cookies get no {@code authUser} at all.
+     */
     @ModelAttribute
-    public void addUserToModel(Model model) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+    public void addUserToModel(Model model, HttpServletRequest request) {
+        if (request.getAttribute(JwtAuthenticationFilter.DEFERRED_AUTHENTICATION_ATTRIBUTE) != null) {
+            if (!cookieService.hasTokenCookie(request)) {
+                return;
+            }
+
+            model.addAttribute("authUser", new LazyContextVariable<User>() {
+                @Override
+                protected User loadValue() {
+                    return findAuthenticatedUser();
+                }
+            });
+            return;
+        }
+
+        User user = findAuthenticatedUser();
+        if (user != null) {
             model.addAttribute("authUser", user);
         }
     }
+
+    private User findAuthenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user : null;
+    }
 }
@@ -0,0 +1,135 @@
+package com.marketplace.main.auth.security;
+
+import com.marketplace.auth.exception.TokenNotValidException;
+import com.marketplace.auth.security.token.JwtService;
+import com.marketplace.auth.security.token.RefreshToken;
+import com.marketplace.auth.security.token.RefreshTokenStore;
+import com.marketplace.auth.security.token.RevokedTokenFamily;
+import com.marketplace.main.util.builder.UserDataBuilder;
+import com.marketplace.usercore.model.User;
+import io.jsonwebtoken.Claims;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+class RefreshTokenStoreIntegrationTest {
+
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate.remove(new Query(), RefreshToken.class);
+        mongoTemplate.remove(new Query(), RevokedTokenFamily.class);
+    }
+
+    @Test
+    public void rotateOrThrow_ShouldConsumeTokenAndKeepFamily() {
+        String familyId = String.valueOf(UUID.randomUUID());
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        Claims claims = jwtService.parseClaims(refreshTokenStore.issue(user, familyId));
+
+        Claims successorClaims = jwtService.parseClaims(refreshTokenStore.rotateOrThrow(claims, user));
+
+        assertThat(jwtService.getFamilyId(successorClaims)).isEqualTo(familyId);
+        assertThat(mongoTemplate.findById(successorClaims.getId(), RefreshToken.class)).isNotNull();
+        assertThat(mongoTemplate.findById(claims.getId(), RefreshToken.class).getRotatedAt()).isNotNull();
+        assertThat(refreshTokenStore.isFamilyRevoked(familyId)).isFalse();
+    }
+
+    @Test
+    public void rotateOrThrow_ShouldRevokeFamily_WhenTokenReusedAfterGracePeriod() {
+        String familyId = String.valueOf(UUID.randomUUID());
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        Claims claims = jwtService.parseClaims(refreshTokenStore.issue(user, familyId));
+        Claims siblingClaims = jwtService.parseClaims(refreshTokenStore.issue(user, familyId));
+        refreshTokenStore.rotateOrThrow(claims, user);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(claims.getId())),
+                new Update().set("rotatedAt", Instant.now().minusSeconds(60)), RefreshToken.class);
+
+        assertThatThrownBy(() -> refreshTokenStore.rotateOrThrow(claims, user))
+                .isInstanceOf(TokenNotValidException.class);
+
+        assertThat(refreshTokenStore.isFamilyRevoked(familyId)).isTrue();
+        assertThat(mongoTemplate.findById(familyId, RevokedTokenFamily.class)).isNotNull();
+        assertThatThrownBy(() -> refreshTokenStore.rotateOrThrow(siblingClaims, user))
+                .isInstanceOf(TokenNotValidException.class);
+    }
+
+    @Test
+    public void rotateOrThrow_ShouldReturnSameSuccessor_WhenReusedWithinGracePeriod() {
+        String familyId = String.valueOf(UUID.randomUUID());
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        Claims claims = jwtService.parseClaims(refreshTokenStore.issue(user, familyId));
+        Claims successorClaims = jwtService.parseClaims(refreshTokenStore.rotateOrThrow(claims, user));
+
+        Claims reusedSuccessorClaims = jwtService.parseClaims(refreshTokenStore.rotateOrThrow(claims, user));
+        assertThat(reusedSuccessorClaims.getId()).isEqualTo(successorClaims.getId());
+        assertThat(jwtService.getFamilyId(reusedSuccessorClaims)).isEqualTo(familyId);
+        assertThat(mongoTemplate.findById(claims.getId(), RefreshToken.class).getSuccessorId()).isEqualTo(successorClaims.getId());
+        assertThat(refreshTokenStore.isFamilyRevoked(familyId)).isFalse();
+        assertThat(mongoTemplate.count(Query.query(Criteria.where("familyId").is(familyId)), RefreshToken.class)).isEqualTo(2L);
+    }
+
+    @Test
+    public void afterSingletonsInstantiated_ShouldClearStoredSuccessorTokens() {
+        String familyId = String.valueOf(UUID.randomUUID());
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        Claims claims = jwtService.parseClaims(refreshTokenStore.issue(user, familyId));
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(claims.getId())),
+                new Update().set("successorToken", "signedSuccessorToken"), RefreshToken.class);
+
+        refreshTokenStore.afterSingletonsInstantiated();
+
+        Document storedToken = mongoTemplate.findById(claims.getId(), Document.class, mongoTemplate.getCollectionName(RefreshToken.class));
+        assertThat(storedToken.containsKey("successorToken")).isFalse();
+    }
+
+    @Test
+    public void rotateOrThrow_ShouldThrowException_WhenTokenHasNoId() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        Claims claims = jwtService.parseClaims(jwtService.generateRefreshToken(user));
+
+        assertThatThrownBy(() -> refreshTokenStore.rotateOrThrow(claims, user))
+                .isInstanceOf(TokenNotValidException.class)
+                .hasMessage("Token not valid!");
+    }
+
+    @Test
+    public void syncRevokedFamilies_ShouldLoadFamiliesRevokedElsewhere() {
+        String familyId = String.valueOf(UUID.randomUUID());
+        mongoTemplate.save(RevokedTokenFamily.builder()
+                .id(familyId)
+                .revokedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build());
+
+        refreshTokenStore.syncRevokedFamilies();
+
+        assertThat(refreshTokenStore.isFamilyRevoked(familyId)).isTrue();
+    }
+}
@@ -0,0 +1,105 @@
+package com.marketplace.main.common;
+
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
+import com.marketplace.common.mongo.PartialUpdateStats;
+import com.marketplace.common.mongo.VersionFieldMigration;
+import com.marketplace.main.util.builder.ProductDataBuilder;
+import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.web.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest
+class MongoPartialUpdateServiceIntegrationTest {
+
+    @Autowired
+    private MongoPartialUpdateService mongoPartialUpdateService;
+
+    @Autowired
+    private VersionFieldMigration versionFieldMigration;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    public void setUp() {
+        applicationContext.getBeansOfType(MongoRepository.class)
+                .values()
+                .forEach(MongoRepository::deleteAll);
+    }
+
+    @Test
+    public void updateOrThrow_ShouldSetOnlyPresentFieldsAndIncreaseVersion() {
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields().build());
+        PartialUpdateStats statsBefore = mongoPartialUpdateService.getStats();
+
+        Product updatedProduct = mongoPartialUpdateService.updateOrThrow(product.getId(), product.getVersion(), PartialUpdate.create()
+                .setIfPresent("name", "Updated name")
+                .setIfPresent("description", null), Product.class);
+
+        assertThat(updatedProduct.getName()).isEqualTo("Updated name");
+        assertThat(updatedProduct.getDescription()).isEqualTo(product.getDescription());
+        assertThat(updatedProduct.getPrice().compareTo(product.getPrice())).isEqualTo(0);
+        assertThat(updatedProduct.getVersion()).isEqualTo(product.getVersion() + 1);
+
+        PartialUpdateStats statsAfter = mongoPartialUpdateService.getStats();
+        long writtenBytes = statsAfter.getWrittenBytes() - statsBefore.getWrittenBytes();
+        long fullSaveBytes = statsAfter.getFullSaveBytes() - statsBefore.getFullSaveBytes();
+        assertThat(statsAfter.getUpdates()).isEqualTo(statsBefore.getUpdates() + 1);
+        assertThat(writtenBytes).isPositive();
+        assertThat(writtenBytes).isLessThan(fullSaveBytes);
+    }
+
+    @Test
+    public void updateOrThrow_ShouldThrowException_WhenVersionIsStale() {
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields().build());
+
+        mongoPartialUpdateService.updateOrThrow(product.getId(), product.getVersion(), PartialUpdate.create()
+                .setIfPresent("price", BigDecimal.TEN), Product.class);
+
+        assertThatThrownBy(() -> mongoPartialUpdateService.updateOrThrow(product.getId(), product.getVersion(), PartialUpdate.create()
+                .setIfPresent("price", BigDecimal.ONE), Product.class))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getPrice().compareTo(BigDecimal.TEN)).isEqualTo(0);
+    }
+
+    @Test
+    public void initializeMissingVersionFields_ShouldLetSaveUpdateLegacyDocuments() {
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields().build());
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(product.getId())), new Update().unset("version"), Product.class);
+
+        versionFieldMigration.initializeMissingVersionFields();
+
+        Product legacyProduct = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(legacyProduct.getVersion()).isEqualTo(0L);
+
+        legacyProduct.setPrice(BigDecimal.TEN);
+        Product savedProduct = productRepository.save(legacyProduct);
+
+        assertThat(savedProduct.getVersion()).isEqualTo(1L);
+        assertThat(productRepository.count()).isEqualTo(1L);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.marketplace.main.order;
+
+import com.marketplace.main.util.builder.OrderDataBuilder;
+import com.marketplace.order.repository.OrderRepository;
+import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class OrderCartRepositoryIntegrationTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    public void setUp() {
+        applicationContext.getBeansOfType(MongoRepository.class)
+                .values()
+                .forEach(MongoRepository::deleteAll);
+    }
+
+    @Test
+    public void deleteCartIfEmpty_ShouldDeleteCart_WhenCartHasNoLines() {
+        Order order = orderRepository.save(OrderDataBuilder.buildOrderWithAllFields()
+                .status(OrderStatus.IN_PROGRESS)
+                .lines(new ArrayList<>())
+                .build());
+
+        boolean deleted = orderRepository.deleteCartIfEmpty(order.getId());
+
+        assertThat(deleted).isTrue();
+        assertThat(orderRepository.existsById(order.getId())).isFalse();
+    }
+
+    @Test
+    public void deleteCartIfEmpty_ShouldKeepCart_WhenLineWasPushedAfterLastPull() {
+        Order order = orderRepository.save(OrderDataBuilder.buildOrderWithAllFields()
+                .status(OrderStatus.IN_PROGRESS)
+                .build());
+
+        boolean deleted = orderRepository.deleteCartIfEmpty(order.getId());
+
+        assertThat(deleted).isFalse();
+        assertThat(orderRepository.existsById(order.getId())).isTrue();
+    }
+
+    @Test
+    public void deleteCartIfEmpty_ShouldKeepOrder_WhenOrderIsNotInProgress() {
+        Order order = orderRepository.save(OrderDataBuilder.buildOrderWithAllFields()
+                .status(OrderStatus.COMPLETED)
+                .lines(new ArrayList<>())
+                .build());
+
+        boolean deleted = orderRepository.deleteCartIfEmpty(order.getId());
+
+        assertThat(deleted).isFalse();
+        assertThat(orderRepository.existsById(order.getId())).isTrue();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.marketplace.main.order;
+
+import com.marketplace.order.config.OrderLineMigration;
+import com.marketplace.order.repository.OrderRepository;
+import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderLine;
+import com.marketplace.order.web.model.OrderStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class OrderLineMigrationIntegrationTest {
+
+    @Autowired
+    private OrderLineMigration orderLineMigration;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    public void setUp() {
+        applicationContext.getBeansOfType(MongoRepository.class)
+                .values()
+                .forEach(MongoRepository::deleteAll);
+    }
+
+    @Test
+    public void migrateEmbeddedProductsToOrderLines_ShouldConvertLegacyOrders() {
+        String orderId = String.valueOf(UUID.randomUUID());
+        String productId1 = String.valueOf(UUID.randomUUID());
+        String productId2 = String.valueOf(UUID.randomUUID());
+
+        mongoTemplate.insert(new Document("_id", orderId)
+                .append("ownerId", String.valueOf(UUID.randomUUID()))
+                .append("status", OrderStatus.IN_PROGRESS.name())
+                .append("products", List.of(
+                        new Document("_id", productId1).append("name", "Product 1").append("price", "10.50"),
+                        new Document("_id", productId2).append("name", "Product 2").append("price", "4"))),
+                mongoTemplate.getCollectionName(Order.class));
+
+        orderLineMigration.migrateEmbeddedProductsToOrderLines();
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getLines().size()).isEqualTo(2);
+        assertThat(order.containsProduct(productId1)).isTrue();
+        assertThat(order.containsProduct(productId2)).isTrue();
+        assertThat(order.getLines().stream().allMatch(line -> line.getQuantity() == 1)).isTrue();
+        assertThat(order.getLines().stream().map(OrderLine::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo(BigDecimal.valueOf(14.50));
+
+        Document storedOrder = mongoTemplate.findById(orderId, Document.class, mongoTemplate.getCollectionName(Order.class));
+        assertThat(storedOrder.containsKey("products")).isFalse();
+    }
+
+    @Test
+    public void migrateEmbeddedProductsToOrderLines_ShouldKeepExistingLines() {
+        String orderId = String.valueOf(UUID.randomUUID());
+        String legacyProductId = String.valueOf(UUID.randomUUID());
+        String productId = String.valueOf(UUID.randomUUID());
+
+        mongoTemplate.insert(new Document("_id", orderId)
+                        .append("ownerId", String.valueOf(UUID.randomUUID()))
+                        .append("status", OrderStatus.IN_PROGRESS.name())
+                        .append("products", List.of(new Document("_id", legacyProductId).append("price", "10.50")))
+                        .append("lines", List.of(new Document("productId", productId).append("quantity", 2).append("price", "4"))),
+                mongoTemplate.getCollectionName(Order.class));
+
+        orderLineMigration.migrateEmbeddedProductsToOrderLines();
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getLines().size()).isEqualTo(1);
+        assertThat(order.containsProduct(productId)).isTrue();
+        assertThat(order.containsProduct(legacyProductId)).isFalse();
+    }
+}
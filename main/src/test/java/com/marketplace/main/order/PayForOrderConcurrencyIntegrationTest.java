@@ -0,0 +1,177 @@
+package com.marketplace.main.order;
+
+import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.main.util.builder.OrderDataBuilder;
+import com.marketplace.main.util.builder.OrderLineDataBuilder;
+import com.marketplace.main.util.builder.ProductDataBuilder;
+import com.marketplace.main.util.builder.UserDataBuilder;
+import com.marketplace.order.exception.OrderUpdateException;
+import com.marketplace.order.repository.OrderRepository;
+import com.marketplace.order.service.OrderManagerService;
+import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderStatus;
+import com.marketplace.product.exception.ProductNotAvailableException;
+import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.web.model.Product;
+import com.marketplace.usercore.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class PayForOrderConcurrencyIntegrationTest {
+
+    private static final int PRODUCT_AMOUNT = 50;
+
+    private static final int BUYERS = 300;
+
+    private static final int SAME_ORDER_PAYMENTS = 16;
+
+    @Autowired
+    private OrderManagerService orderManagerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    public void setUp() {
+        applicationContext.getBeansOfType(MongoRepository.class)
+                .values()
+                .forEach(MongoRepository::deleteAll);
+    }
+
+    @Test
+    public void payForOrder_ShouldNotOversell_WhenOrdersPaidConcurrently() throws Exception {
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields()
+                .amount(PRODUCT_AMOUNT)
+                .build());
+
+        List<User> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            User buyer = UserDataBuilder.buildUserWithAllFields()
+                    .id(String.valueOf(UUID.randomUUID()))
+                    .build();
+            orderRepository.save(OrderDataBuilder.buildOrderWithAllFields()
+                    .ownerId(buyer.getId())
+                    .status(OrderStatus.IN_PROGRESS)
+                    .lines(OrderLineDataBuilder.buildOrderLines(product))
+                    .build());
+            buyers.add(buyer);
+        }
+
+        AtomicInteger paidOrders = new AtomicInteger();
+        AtomicInteger rejectedOrders = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+
+        List<Future<?>> futures = buyers.stream()
+                .<Future<?>>map(buyer -> executorService.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(buyer, null, buyer.getAuthorities()));
+                    try {
+                        startLatch.await();
+                        orderManagerService.payForOrder();
+                        paidOrders.incrementAndGet();
+                    } catch (ProductNotAvailableException exception) {
+                        rejectedOrders.incrementAndGet();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }))
+                .toList();
+
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        Product storedProduct = productRepository.findById(product.getId()).orElseThrow();
+        long completedOrders = orderRepository.findAll().stream()
+                .map(Order::getStatus)
+                .filter(OrderStatus.COMPLETED::equals)
+                .count();
+
+        assertThat(paidOrders.get()).isEqualTo(PRODUCT_AMOUNT);
+        assertThat(rejectedOrders.get()).isEqualTo(BUYERS - PRODUCT_AMOUNT);
+        assertThat(completedOrders).isEqualTo((long) PRODUCT_AMOUNT);
+        assertThat(storedProduct.getAmount()).isEqualTo(0);
+        assertThat(storedProduct.getActive()).isFalse();
+    }
+
+    @Test
+    public void payForOrder_ShouldReserveStockOnce_WhenSameOrderPaidConcurrently() throws Exception {
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields()
+                .amount(PRODUCT_AMOUNT)
+                .build());
+        User buyer = UserDataBuilder.buildUserWithAllFields()
+                .id(String.valueOf(UUID.randomUUID()))
+                .build();
+        orderRepository.save(OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(buyer.getId())
+                .status(OrderStatus.IN_PROGRESS)
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build());
+
+        AtomicInteger paidOrders = new AtomicInteger();
+        AtomicInteger rejectedPayments = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(SAME_ORDER_PAYMENTS);
+
+        List<Future<?>> futures = IntStream.range(0, SAME_ORDER_PAYMENTS)
+                .<Future<?>>mapToObj(i -> executorService.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(buyer, null, buyer.getAuthorities()));
+                    try {
+                        startLatch.await();
+                        orderManagerService.payForOrder();
+                        paidOrders.incrementAndGet();
+                    } catch (OrderUpdateException | EntityNotFoundException exception) {
+                        rejectedPayments.incrementAndGet();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }))
+                .toList();
+
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        Product storedProduct = productRepository.findById(product.getId()).orElseThrow();
+        List<Order> orders = orderRepository.findAll();
+
+        assertThat(paidOrders.get()).isEqualTo(1);
+        assertThat(rejectedPayments.get()).isEqualTo(SAME_ORDER_PAYMENTS - 1);
+        assertThat(orders.size()).isEqualTo(1);
+        assertThat(orders.get(0).getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(storedProduct.getAmount()).isEqualTo(PRODUCT_AMOUNT - 1);
+    }
+}
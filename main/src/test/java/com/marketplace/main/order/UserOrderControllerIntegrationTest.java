@@ -2,6 +2,7 @@ package com.marketplace.main.order;
 
 import com.marketplace.main.util.AuthHelper;
 import com.marketplace.main.util.builder.OrderDataBuilder;
+import com.marketplace.main.util.builder.OrderLineDataBuilder;
 import com.marketplace.main.util.builder.ProductDataBuilder;
 import com.marketplace.main.util.builder.UserDataBuilder;
 import com.marketplace.order.repository.OrderRepository;
@@ -120,7 +121,7 @@ class UserOrderControllerIntegrationTest {
 
         productRepository.save(product);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
@@ -140,7 +141,7 @@ class UserOrderControllerIntegrationTest {
         assertThat(orderResponse).isNotNull();
         assertThat(orderResponse.getId()).isEqualTo(order.getId());
 
-        Set<ProductResponse> productResponses = (Set<ProductResponse>) model.get("products");
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("products");
         assertThat(productResponses).isNotNull();
         assertThat(productResponses.size()).isEqualTo(1);
         assertThat(productResponses.stream().anyMatch(productResponse -> productResponse.getId().equals(product.getId()))).isTrue();
@@ -153,7 +154,7 @@ class UserOrderControllerIntegrationTest {
 
         productRepository.save(product);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
@@ -174,7 +175,7 @@ class UserOrderControllerIntegrationTest {
 
         productRepository.save(product);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         orderRepository.save(order);
@@ -197,7 +198,7 @@ class UserOrderControllerIntegrationTest {
 
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(authUser.getId())
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .status(OrderStatus.IN_PROGRESS)
                 .build();
 
@@ -217,7 +218,7 @@ class UserOrderControllerIntegrationTest {
         assertThat(orderResponse).isNotNull();
         assertThat(orderResponse.getId()).isEqualTo(order.getId());
 
-        Set<ProductResponse> productResponses = (Set<ProductResponse>) model.get("orderProducts");
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("orderProducts");
         assertThat(productResponses).isNotNull();
         assertThat(productResponses.size()).isEqualTo(1);
         assertThat(productResponses.stream().anyMatch(productResponse -> productResponse.getId().equals(product.getId()))).isTrue();
@@ -248,7 +249,7 @@ class UserOrderControllerIntegrationTest {
         OrderResponse orderResponse = (OrderResponse) model.get("currentOrder");
         assertThat(orderResponse).isNull();
 
-        Set<ProductResponse> productResponses = (Set<ProductResponse>) model.get("orderProducts");
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("orderProducts");
         assertThat(productResponses).isNull();
 
         BigDecimal totalSum = (BigDecimal) model.get("totalSum");
@@ -267,7 +268,7 @@ class UserOrderControllerIntegrationTest {
 
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(authUser.getId())
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .status(OrderStatus.COMPLETED)
                 .build();
 
@@ -286,7 +287,7 @@ class UserOrderControllerIntegrationTest {
         OrderResponse orderResponse = (OrderResponse) model.get("currentOrder");
         assertThat(orderResponse).isNull();
 
-        Set<ProductResponse> productResponses = (Set<ProductResponse>) model.get("orderProducts");
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("orderProducts");
         assertThat(productResponses).isNull();
 
         BigDecimal totalSum = (BigDecimal) model.get("totalSum");
@@ -308,7 +309,7 @@ class UserOrderControllerIntegrationTest {
 
         productRepository.save(product);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
@@ -337,7 +338,7 @@ class UserOrderControllerIntegrationTest {
 
         productRepository.save(product);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
@@ -361,7 +362,7 @@ class UserOrderControllerIntegrationTest {
 
         productRepository.save(product);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
@@ -389,7 +390,7 @@ class UserOrderControllerIntegrationTest {
 
         productRepository.save(product);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
@@ -429,9 +430,9 @@ class UserOrderControllerIntegrationTest {
         Optional<Order> orderOptional = orderRepository.findOrderByOwnerId(authUser.getId());
         assertThat(orderOptional).isPresent();
         assertThat(orderOptional.get().getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
-        assertThat(orderOptional.get().getProducts()).isNotNull();
-        assertThat(orderOptional.get().getProducts().size()).isEqualTo(1);
-        assertThat(orderOptional.get().getProducts().stream().anyMatch(productOrder -> productOrder.getId().equals(product.getId()))).isTrue();
+        assertThat(orderOptional.get().getLines()).isNotNull();
+        assertThat(orderOptional.get().getLines().size()).isEqualTo(1);
+        assertThat(orderOptional.get().containsProduct(product.getId())).isTrue();
     }
 
     @Test
@@ -445,7 +446,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(authUser.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(Set.of(product1))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1))
                 .build();
         orderRepository.save(order);
 
@@ -459,9 +460,61 @@ class UserOrderControllerIntegrationTest {
 
         Optional<Order> orderOptional = orderRepository.findById(order.getId());
         assertThat(orderOptional).isPresent();
-        assertThat(orderOptional.get().getProducts()).isNotNull();
-        assertThat(orderOptional.get().getProducts().size()).isEqualTo(2);
-        assertThat(orderOptional.get().getProducts().stream().anyMatch(productOrder -> productOrder.getId().equals(product2.getId()))).isTrue();
+        assertThat(orderOptional.get().getLines()).isNotNull();
+        assertThat(orderOptional.get().getLines().size()).isEqualTo(2);
+        assertThat(orderOptional.get().containsProduct(product2.getId())).isTrue();
+    }
+
+    @Test
+    public void addProductToOrder_ShouldIncreaseQuantity_WhenRoleUserAndProductAlreadyInOrder() throws Exception {
+        User authUser = UserDataBuilder.buildUserWithAllFields().build();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
+        productRepository.save(product);
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(authUser.getId())
+                .status(OrderStatus.IN_PROGRESS)
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build();
+        orderRepository.save(order);
+
+        mockMvc.perform(put("/orders/add-product/{id}", product.getId())
+                        .cookie(jwtCookiePayload.getAccessCookie()))
+                .andExpect(status().is3xxRedirection());
+
+        Optional<Order> orderOptional = orderRepository.findById(order.getId());
+        assertThat(orderOptional).isPresent();
+        assertThat(orderOptional.get().getLines().size()).isEqualTo(1);
+        assertThat(orderOptional.get().getLines().get(0).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateProductQuantity_ShouldSetLineQuantity_WhenRoleUserAndOrderExists() throws Exception {
+        User authUser = UserDataBuilder.buildUserWithAllFields().build();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        AuthHelper.JwtCookiePayload jwtCookiePayload = authHelper.signIn(authUser, mockMvc);
+        productRepository.save(product);
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(authUser.getId())
+                .status(OrderStatus.IN_PROGRESS)
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build();
+        Order savedOrder = orderRepository.save(order);
+
+        String redirectedUrl = mockMvc.perform(put("/orders/update-product/{id}", product.getId())
+                        .param("quantity", "4")
+                        .cookie(jwtCookiePayload.getAccessCookie()))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse().getRedirectedUrl();
+
+        assertThat(redirectedUrl).isEqualTo("/orders/user-order");
+
+        Optional<Order> orderOptional = orderRepository.findById(order.getId());
+        assertThat(orderOptional).isPresent();
+        assertThat(orderOptional.get().getLines().get(0).getQuantity()).isEqualTo(4);
+        assertThat(orderOptional.get().getVersion()).isEqualTo(savedOrder.getVersion() + 1);
     }
 
     @Test
@@ -475,7 +528,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(authUser.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
         orderRepository.save(order);
 
@@ -605,7 +658,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.IN_PROGRESS)
                 .ownerId(authUser.getId())
-                .products(Set.of(product1, product2))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1, product2))
                 .build();
         orderRepository.save(order);
 
@@ -619,9 +672,9 @@ class UserOrderControllerIntegrationTest {
         Optional<Order> orderOptional = orderRepository.findById(order.getId());
         assertThat(orderOptional).isPresent();
         assertThat(orderOptional.get().getId()).isEqualTo(order.getId());
-        assertThat(orderOptional.get().getProducts()).isNotNull();
-        assertThat(orderOptional.get().getProducts().size()).isEqualTo(1);
-        assertThat(orderOptional.get().getProducts().stream().anyMatch(productOrder -> productOrder.getId().equals(product2.getId()))).isTrue();
+        assertThat(orderOptional.get().getLines()).isNotNull();
+        assertThat(orderOptional.get().getLines().size()).isEqualTo(1);
+        assertThat(orderOptional.get().containsProduct(product2.getId())).isTrue();
     }
 
     @Test
@@ -635,7 +688,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.IN_PROGRESS)
                 .ownerId(authUser.getId())
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
         orderRepository.save(order);
 
@@ -683,7 +736,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.COMPLETED)
                 .ownerId(authUser.getId())
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
         orderRepository.save(order);
 
@@ -712,7 +765,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.IN_PROGRESS)
                 .ownerId(authUser.getId())
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
         orderRepository.save(order);
 
@@ -740,7 +793,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.COMPLETED)
                 .ownerId(authUser.getId())
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
         orderRepository.save(order);
 
@@ -793,7 +846,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.IN_PROGRESS)
                 .ownerId(authUser.getId())
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
         orderRepository.save(order);
 
@@ -825,7 +878,7 @@ class UserOrderControllerIntegrationTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.IN_PROGRESS)
                 .ownerId(authUser.getId())
-                .products(Set.of(product1, product2))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1, product2))
                 .build();
         orderRepository.save(order);
 
@@ -852,8 +905,8 @@ class UserOrderControllerIntegrationTest {
         Optional<Order> orderOptional = orderRepository.findById(order.getId());
         assertThat(orderOptional).isPresent();
         assertThat(orderOptional.get().getId()).isEqualTo(order.getId());
-        assertThat(orderOptional.get().getProducts()).isNotNull();
-        assertThat(orderOptional.get().getProducts().size()).isEqualTo(1);
-        assertThat(orderOptional.get().getProducts().stream().anyMatch(productOrder -> productOrder.getId().equals(product2.getId()))).isTrue();
+        assertThat(orderOptional.get().getLines()).isNotNull();
+        assertThat(orderOptional.get().getLines().size()).isEqualTo(1);
+        assertThat(orderOptional.get().containsProduct(product2.getId())).isTrue();
     }
 }
@@ -2,9 +2,11 @@ package com.marketplace.main.order.kafka.consumer;
 
 import com.marketplace.main.util.TestListener;
 import com.marketplace.main.util.builder.OrderDataBuilder;
+import com.marketplace.main.util.builder.OrderLineDataBuilder;
 import com.marketplace.main.util.builder.ProductDataBuilder;
 import com.marketplace.main.util.TestSender;
 import com.marketplace.order.repository.OrderRepository;
+import com.marketplace.order.repository.ProcessedEventRepository;
 import com.marketplace.order.web.model.Order;
 import com.marketplace.order.web.model.OrderStatus;
 import com.marketplace.product.repository.ProductRepository;
@@ -19,6 +21,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -36,6 +39,9 @@ class ProductEventConsumerIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
     @Autowired
     private TestSender testSender;
 
@@ -54,10 +60,10 @@ class ProductEventConsumerIntegrationTest {
         Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
         Product product2 = ProductDataBuilder.buildProductWithAllFields().build();
         Order order1 = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product1, product2))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1, product2))
                 .build();
         Order order2 = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product2))
+                .lines(OrderLineDataBuilder.buildOrderLines(product2))
                 .build();
 
         productRepository.save(product1);
@@ -71,22 +77,22 @@ class ProductEventConsumerIntegrationTest {
 
         Optional<Order> byId1 = orderRepository.findById(order1.getId());
         assertThat(byId1).isPresent();
-        assertThat(byId1.get().getProducts()).isNotNull();
-        assertThat(byId1.get().getProducts().size()).isEqualTo(1);
-        assertThat(byId1.get().getProducts().contains(product2)).isTrue();
+        assertThat(byId1.get().getLines()).isNotNull();
+        assertThat(byId1.get().getLines().size()).isEqualTo(1);
+        assertThat(byId1.get().containsProduct(product2.getId())).isTrue();
 
         Optional<Order> byId2 = orderRepository.findById(order2.getId());
         assertThat(byId2).isPresent();
-        assertThat(byId2.get().getProducts()).isNotNull();
-        assertThat(byId2.get().getProducts().size()).isEqualTo(1);
-        assertThat(byId2.get().getProducts().contains(product2)).isTrue();
+        assertThat(byId2.get().getLines()).isNotNull();
+        assertThat(byId2.get().getLines().size()).isEqualTo(1);
+        assertThat(byId2.get().containsProduct(product2.getId())).isTrue();
     }
 
     @Test
     public void sendDeleteProductInstancesEvent_ShouldDeleteProductAndOrder_WhenOrderHasNoProducts() {
         Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product1))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1))
                 .build();
 
         productRepository.save(product1);
@@ -106,7 +112,7 @@ class ProductEventConsumerIntegrationTest {
     public void sendDeleteProductInstancesEvent_ShouldDoNothing_WhenProductNotExists() {
         Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
         Order order1 = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of(product1))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1))
                 .build();
 
         orderRepository.saveAll(List.of(order1));
@@ -124,11 +130,11 @@ class ProductEventConsumerIntegrationTest {
         Product product2 = ProductDataBuilder.buildProductWithAllFields().build();
         Order order1 = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.COMPLETED)
-                .products(Set.of(product1, product2))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1, product2))
                 .build();
         Order order2 = OrderDataBuilder.buildOrderWithAllFields()
                 .status(OrderStatus.CANCELLED)
-                .products(Set.of(product1, product2))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1, product2))
                 .build();
 
         productRepository.save(product1);
@@ -140,14 +146,37 @@ class ProductEventConsumerIntegrationTest {
 
         Optional<Order> byId1 = orderRepository.findById(order1.getId());
         assertThat(byId1).isPresent();
-        assertThat(byId1.get().getProducts()).isNotNull();
-        assertThat(byId1.get().getProducts().size()).isEqualTo(2);
-        assertThat(byId1.get().getProducts().contains(product2)).isTrue();
+        assertThat(byId1.get().getLines()).isNotNull();
+        assertThat(byId1.get().getLines().size()).isEqualTo(2);
+        assertThat(byId1.get().containsProduct(product2.getId())).isTrue();
 
         Optional<Order> byId2 = orderRepository.findById(order2.getId());
         assertThat(byId2).isPresent();
-        assertThat(byId2.get().getProducts()).isNotNull();
-        assertThat(byId2.get().getProducts().size()).isEqualTo(2);
-        assertThat(byId2.get().getProducts().contains(product2)).isTrue();
+        assertThat(byId2.get().getLines()).isNotNull();
+        assertThat(byId2.get().getLines().size()).isEqualTo(2);
+        assertThat(byId2.get().containsProduct(product2.getId())).isTrue();
+    }
+
+    @Test
+    public void sendDeleteProductInstancesEvent_ShouldRecordEventId_AndSkipRedelivery() {
+        String eventId = String.valueOf(UUID.randomUUID());
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .lines(OrderLineDataBuilder.buildOrderLines(product1))
+                .build();
+
+        productRepository.save(product1);
+
+        testSender.sendDeleteProductFromOrdersEvent(product1.getId(), eventId);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(processedEventRepository.existsById(eventId)).isTrue());
+        assertThat(productRepository.findById(product1.getId())).isNotPresent();
+
+        orderRepository.save(order);
+        testSender.sendDeleteProductFromOrdersEvent(product1.getId(), eventId);
+        await().during(2, TimeUnit.SECONDS).atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            Optional<Order> byId = orderRepository.findById(order.getId());
+            assertThat(byId).isPresent();
+            assertThat(byId.get().containsProduct(product1.getId())).isTrue();
+        });
     }
-}
\ No newline at end of file
+}
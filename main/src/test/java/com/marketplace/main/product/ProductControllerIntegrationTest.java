@@ -5,12 +5,14 @@ import com.marketplace.main.util.builder.ProductDataBuilder;
 import com.marketplace.main.util.builder.ProductRequestDataBuilder;
 import com.marketplace.main.util.builder.UserDataBuilder;
 import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.service.ProductListingCacheService;
 
 import com.marketplace.product.web.dto.ProductRequest;
 import com.marketplace.product.web.dto.ProductResponse;
 import com.marketplace.product.web.model.Product;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserRole;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -25,9 +28,12 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.net.URI;
 import java.net.URL;
+import java.time.LocalDateTime;
 import java.util.*;
 
+import static com.marketplace.auth.security.cookie.CookieService.COOKIE_ACCESS_TOKEN;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -48,11 +54,15 @@ class ProductControllerIntegrationTest {
     @Autowired
     private AuthHelper authHelper;
 
+    @Autowired
+    private ProductListingCacheService productListingCacheService;
+
     @BeforeEach
     public void setUp() {
         applicationContext.getBeansOfType(MongoRepository.class)
                 .values()
                 .forEach(MongoRepository::deleteAll);
+        productListingCacheService.evictAll();
     }
 
     @Test
@@ -71,7 +81,7 @@ class ProductControllerIntegrationTest {
 
         Map<String, Object> model = authHelper.requireModel(mvcResult);
 
-        Set<ProductResponse> productResponses = (Set<ProductResponse>) model.get("products");
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("products");
         assertThat(productResponses).isNotNull();
         assertThat(productResponses.size()).isEqualTo(2);
     }
@@ -89,11 +99,110 @@ class ProductControllerIntegrationTest {
 
         Map<String, Object> model = authHelper.requireModel(mvcResult);
 
-        Set<ProductResponse> productResponses = (Set<ProductResponse>) model.get("products");
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("products");
         assertThat(productResponses).isNotNull();
         assertThat(productResponses.size()).isEqualTo(2);
     }
 
+    @Test
+    public void getAllProducts_WhenAccessTokenInvalid_ShouldReturnProductsAnonymously() throws Exception {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        productRepository.save(product);
+
+        MvcResult mvcResult = mockMvc.perform(get("/products/all")
+                        .cookie(new Cookie(COOKIE_ACCESS_TOKEN, "invalid-token")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Map<String, Object> model = authHelper.requireModel(mvcResult);
+
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("products");
+        assertThat(productResponses).isNotNull();
+        assertThat(productResponses.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void getAllProducts_WhenNoAuthAndEntityTagMatches_ShouldReturnNotModified() throws Exception {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        productRepository.save(product);
+
+        MvcResult mvcResult = mockMvc.perform(get("/products/all"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String entityTag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(entityTag).isNotNull();
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+        mockMvc.perform(get("/products/all")
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(status().isNotModified());
+
+        MvcResult cachedMvcResult = mockMvc.perform(get("/products/all"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(cachedMvcResult.getResponse().getContentAsString()).isEqualTo(mvcResult.getResponse().getContentAsString());
+        assertThat(cachedMvcResult.getModelAndView()).isNull();
+    }
+
+    @Test
+    public void getAllProducts_WhenTokenCookiePresent_ShouldBypassListingCache() throws Exception {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        productRepository.save(product);
+
+        mockMvc.perform(get("/products/all"))
+                .andExpect(status().isOk());
+
+        MvcResult mvcResult = mockMvc.perform(get("/products/all")
+                        .cookie(new Cookie(COOKIE_ACCESS_TOKEN, "invalid-token")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(mvcResult.getModelAndView()).isNotNull();
+    }
+
+    @Test
+    public void getAllProducts_ShouldReturnNewestProductsPageByPage() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        product.setCreatedAt(createdAt);
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        product1.setCreatedAt(createdAt.plusMinutes(1));
+        Product product2 = ProductDataBuilder.buildProductWithAllFields().build();
+        product2.setCreatedAt(createdAt.plusMinutes(2));
+
+        productRepository.saveAll(List.of(product, product1, product2));
+
+        MvcResult mvcResult = mockMvc.perform(get("/products/all")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Map<String, Object> model = authHelper.requireModel(mvcResult);
+
+        List<ProductResponse> productResponses = (List<ProductResponse>) model.get("products");
+        String nextCursor = (String) model.get("nextCursor");
+        assertThat(productResponses.stream().map(ProductResponse::getId).toList()).isEqualTo(List.of(product2.getId(), product1.getId()));
+        assertThat(nextCursor).isNotNull();
+
+        MvcResult nextMvcResult = mockMvc.perform(get("/products/all")
+                        .param("size", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Map<String, Object> nextModel = authHelper.requireModel(nextMvcResult);
+
+        List<ProductResponse> nextProductResponses = (List<ProductResponse>) nextModel.get("products");
+        assertThat(nextProductResponses.stream().map(ProductResponse::getId).toList()).isEqualTo(List.of(product.getId()));
+        assertThat(nextModel.get("nextCursor")).isNull();
+    }
+
     @Test
     public void getProductById_ShouldReturnProduct() throws Exception {
         User authUser = UserDataBuilder.buildUserWithAllFields().build();
@@ -183,7 +292,7 @@ class ProductControllerIntegrationTest {
         assertThat(productByOwnerId.get().getActive()).isNotNull();
         assertThat(productByOwnerId.get().getActive()).isTrue();
         assertThat(productByOwnerId.get().getPhotoUrl()).isNotNull();
-        assertThat(new URL(productByOwnerId.get().getPhotoUrl())).isNotNull();
+        assertThat(URI.create(productByOwnerId.get().getPhotoUrl()).toURL()).isNotNull();
     }
 
     @Test
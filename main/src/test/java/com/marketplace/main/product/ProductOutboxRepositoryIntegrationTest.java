@@ -0,0 +1,71 @@
+package com.marketplace.main.product;
+
+import com.marketplace.product.kafka.config.OutputTopics;
+import com.marketplace.product.repository.ProductOutboxRepository;
+import com.marketplace.product.web.model.ProductOutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(properties = "product.outbox.relay.enabled=false")
+class ProductOutboxRepositoryIntegrationTest {
+
+    @Autowired
+    private ProductOutboxRepository productOutboxRepository;
+
+    @BeforeEach
+    public void setUp() {
+        productOutboxRepository.deleteAll();
+    }
+
+    @Test
+    public void claimPendingEvents_ShouldNotClaimEventsClaimedByAnotherRelay() {
+        List<ProductOutboxEvent> outboxEvents = productOutboxRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(index -> buildOutboxEvent(LocalDateTime.now().minusMinutes(3 - index)))
+                .toList());
+
+        List<ProductOutboxEvent> firstClaim = productOutboxRepository.claimPendingEvents(2, Duration.ofMinutes(1));
+        List<ProductOutboxEvent> secondClaim = productOutboxRepository.claimPendingEvents(2, Duration.ofMinutes(1));
+
+        assertThat(firstClaim.stream().map(ProductOutboxEvent::getId).toList()).isEqualTo(List.of(outboxEvents.get(0).getId(), outboxEvents.get(1).getId()));
+        assertThat(secondClaim.stream().map(ProductOutboxEvent::getId).toList()).isEqualTo(List.of(outboxEvents.get(2).getId()));
+        assertThat(productOutboxRepository.claimPendingEvents(2, Duration.ofMinutes(1)).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void claimPendingEvents_ShouldClaimEvents_WhenClaimExpiredOrReleased() {
+        ProductOutboxEvent expiredEvent = buildOutboxEvent(LocalDateTime.now().minusMinutes(3));
+        expiredEvent.setClaimedUntil(LocalDateTime.now().minusMinutes(1));
+        ProductOutboxEvent releasedEvent = buildOutboxEvent(LocalDateTime.now().minusMinutes(2));
+        releasedEvent.setClaimedUntil(LocalDateTime.now().plusMinutes(1));
+        ProductOutboxEvent claimedEvent = buildOutboxEvent(LocalDateTime.now().minusMinutes(1));
+        claimedEvent.setClaimedUntil(LocalDateTime.now().plusMinutes(1));
+        productOutboxRepository.saveAll(List.of(expiredEvent, releasedEvent, claimedEvent));
+
+        productOutboxRepository.releaseClaims(List.of(releasedEvent.getId()));
+
+        List<ProductOutboxEvent> claimedEvents = productOutboxRepository.claimPendingEvents(3, Duration.ofMinutes(1));
+
+        assertThat(claimedEvents.stream().map(ProductOutboxEvent::getId).toList()).isEqualTo(List.of(expiredEvent.getId(), releasedEvent.getId()));
+    }
+
+    private ProductOutboxEvent buildOutboxEvent(LocalDateTime createdAt) {
+        String productId = String.valueOf(UUID.randomUUID());
+        return ProductOutboxEvent.builder()
+                .topic(OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC)
+                .key(productId)
+                .payload(productId)
+                .createdAt(createdAt)
+                .build();
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.marketplace.main.product;
+
+import com.marketplace.main.util.builder.ProductDataBuilder;
+import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.web.model.PhotoStatus;
+import com.marketplace.product.web.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class ProductPhotoRepositoryIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    public void setUp() {
+        applicationContext.getBeansOfType(MongoRepository.class)
+                .values()
+                .forEach(MongoRepository::deleteAll);
+    }
+
+    @Test
+    public void failStalePhotoUploads_ShouldFailOnlyUploadsPendingPastDeadline() {
+        Product staleProduct = productRepository.save(ProductDataBuilder.buildProductWithAllFields()
+                .photoStatus(PhotoStatus.PENDING)
+                .pendingPhotoName(String.valueOf(UUID.randomUUID()))
+                .pendingPhotoSince(LocalDateTime.now().minusHours(1))
+                .build());
+        Product recentProduct = productRepository.save(ProductDataBuilder.buildProductWithAllFields()
+                .photoStatus(PhotoStatus.PENDING)
+                .pendingPhotoName(String.valueOf(UUID.randomUUID()))
+                .pendingPhotoSince(LocalDateTime.now())
+                .build());
+
+        List<String> failedProductIds = productRepository.failStalePhotoUploads(LocalDateTime.now().minusMinutes(15), 100);
+
+        assertThat(failedProductIds).isEqualTo(List.of(staleProduct.getId()));
+
+        Product failedProduct = productRepository.findById(staleProduct.getId()).orElseThrow();
+        assertThat(failedProduct.getPhotoStatus()).isEqualTo(PhotoStatus.FAILED);
+        assertThat(failedProduct.getPendingPhotoName()).isNull();
+        assertThat(failedProduct.getPendingPhotoSince()).isNull();
+        assertThat(failedProduct.getVersion()).isEqualTo(staleProduct.getVersion() + 1);
+
+        Product pendingProduct = productRepository.findById(recentProduct.getId()).orElseThrow();
+        assertThat(pendingProduct.getPhotoStatus()).isEqualTo(PhotoStatus.PENDING);
+    }
+
+    @Test
+    public void claimReleasedPhotoReferences_ShouldClaimOnlyPhotosReleasedBeforeGracePeriod() {
+        String fileName = UUID.randomUUID() + ".png";
+
+        productRepository.acquirePhotoReference(fileName);
+        productRepository.acquirePhotoReference(fileName);
+        productRepository.releasePhotoReference(fileName);
+
+        assertThat(productRepository.claimReleasedPhotoReferences(LocalDateTime.now().plusMinutes(1), 10)).isEqualTo(List.of());
+
+        productRepository.releasePhotoReference(fileName);
+
+        assertThat(productRepository.claimReleasedPhotoReferences(LocalDateTime.now().minusMinutes(10), 10)).isEqualTo(List.of());
+        assertThat(productRepository.claimReleasedPhotoReferences(LocalDateTime.now().plusMinutes(1), 10)).isEqualTo(List.of(fileName));
+        assertThat(productRepository.acquirePhotoReference(fileName)).isFalse();
+
+        productRepository.removePhotoReferences(List.of(fileName));
+
+        assertThat(productRepository.acquirePhotoReference(fileName)).isTrue();
+    }
+
+    @Test
+    public void acquirePhotoReference_ShouldKeepReleasedPhoto_WhenAcquiredWithinGracePeriod() {
+        String fileName = UUID.randomUUID() + ".png";
+
+        productRepository.acquirePhotoReference(fileName);
+        productRepository.releasePhotoReference(fileName);
+        productRepository.acquirePhotoReference(fileName);
+
+        assertThat(productRepository.claimReleasedPhotoReferences(LocalDateTime.now().plusMinutes(1), 10)).isEqualTo(List.of());
+    }
+
+    @Test
+    public void detachPhoto_ShouldDetachPhotoOnlyOnce() {
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields().build());
+
+        assertThat(productRepository.detachPhoto(product.getId(), product.getPhotoUrl())).isTrue();
+        assertThat(productRepository.detachPhoto(product.getId(), product.getPhotoUrl())).isFalse();
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getPhotoUrl()).isNull();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.marketplace.main.product;
+
+import com.marketplace.main.util.builder.ProductDataBuilder;
+import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.web.dto.ProductListingQuery;
+import com.marketplace.product.web.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class ProductStockRepositoryIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    public void setUp() {
+        applicationContext.getBeansOfType(MongoRepository.class)
+                .values()
+                .forEach(MongoRepository::deleteAll);
+    }
+
+    @Test
+    public void decreaseAmountIfAvailable_ShouldBumpVersionAndUpdatedAt() {
+        LocalDateTime updatedAt = LocalDateTime.now().minusDays(1);
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields()
+                .amount(2)
+                .build());
+        setUpdatedAt(product.getId(), updatedAt);
+
+        Product decreasedProduct = productRepository.decreaseAmountIfAvailable(product.getId(), 1).orElseThrow();
+
+        assertThat(decreasedProduct.getVersion()).isGreaterThan(product.getVersion());
+        assertThat(decreasedProduct.getUpdatedAt()).isAfter(updatedAt);
+    }
+
+    @Test
+    public void increaseAmount_ShouldBumpVersionAndUpdatedAt() {
+        LocalDateTime updatedAt = LocalDateTime.now().minusDays(1);
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields().build());
+        setUpdatedAt(product.getId(), updatedAt);
+
+        productRepository.increaseAmount(product.getId(), 1);
+
+        Product increasedProduct = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(increasedProduct.getVersion()).isGreaterThan(product.getVersion());
+        assertThat(increasedProduct.getUpdatedAt()).isAfter(updatedAt);
+    }
+
+    @Test
+    public void findListing_ShouldIncludeVersion() {
+        Product product = productRepository.save(ProductDataBuilder.buildProductWithAllFields().build());
+
+        List<Product> products = productRepository.findListing(ProductListingQuery.builder().build(), null, 10);
+
+        assertThat(products.size()).isEqualTo(1);
+        assertThat(products.get(0).getVersion()).isEqualTo(product.getVersion());
+    }
+
+    private void setUpdatedAt(String productId, LocalDateTime updatedAt) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(productId)), new Update().set("updatedAt", updatedAt), Product.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.marketplace.main.user;
+
+import com.marketplace.main.util.builder.UserDataBuilder;
+import com.marketplace.usercore.model.User;
+import com.marketplace.usercore.model.UserStatusVersion;
+import com.marketplace.usercore.security.UserStatusVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest
+class UserStatusVersionServiceIntegrationTest {
+
+    @Autowired
+    private UserStatusVersionService userStatusVersionService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate.remove(new Query(), UserStatusVersion.class);
+    }
+
+    @Test
+    public void registerStatusVersion_ShouldPersistLatestVersion() {
+        User user = UserDataBuilder.buildUserWithAllFields()
+                .id(String.valueOf(UUID.randomUUID()))
+                .statusVersion(2L)
+                .build();
+
+        userStatusVersionService.registerStatusVersion(user);
+        userStatusVersionService.registerStatusVersion(user.toBuilder().statusVersion(1L).build());
+
+        assertThat(mongoTemplate.findById(user.getId(), UserStatusVersion.class).getStatusVersion()).isEqualTo(2L);
+        assertThat(userStatusVersionService.isStatusVersionOutdated(user.getId(), 1L)).isTrue();
+    }
+
+    @Test
+    public void syncStatusVersions_ShouldLoadVersionsChangedElsewhere() {
+        String userId = String.valueOf(UUID.randomUUID());
+        mongoTemplate.save(UserStatusVersion.builder()
+                .id(userId)
+                .statusVersion(3L)
+                .changedAt(Instant.now())
+                .build());
+
+        userStatusVersionService.syncStatusVersions();
+
+        assertThat(userStatusVersionService.isStatusVersionOutdated(userId, 2L)).isTrue();
+        assertThat(userStatusVersionService.isStatusVersionOutdated(userId, 3L)).isFalse();
+    }
+}
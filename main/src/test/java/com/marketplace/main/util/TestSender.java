@@ -1,10 +1,14 @@
 package com.marketplace.main.util;
 
+import com.marketplace.common.kafka.config.EventHeaders;
 import com.marketplace.product.kafka.config.OutputTopics;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 @Service
 @RequiredArgsConstructor
 public class TestSender {
@@ -15,6 +19,12 @@ public class TestSender {
         sendEvent(OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC, productId);
     }
 
+    public void sendDeleteProductFromOrdersEvent(String productId, String eventId) {
+        ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC, productId, productId);
+        producerRecord.headers().add(EventHeaders.EVENT_ID, eventId.getBytes(StandardCharsets.UTF_8));
+        kafkaTemplate.send(producerRecord);
+    }
+
     private void sendEvent(String topic, Object data) {
         kafkaTemplate.send(topic, data);
     }
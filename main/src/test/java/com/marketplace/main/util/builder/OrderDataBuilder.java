@@ -2,7 +2,6 @@ package com.marketplace.main.util.builder;
 
 import com.marketplace.order.web.model.Order;
 import com.marketplace.order.web.model.OrderStatus;
-import java.util.Set;
 import java.util.UUID;
 
 public class OrderDataBuilder {
@@ -11,7 +10,7 @@ public class OrderDataBuilder {
         return Order.builder()
                 .id(String.valueOf(UUID.randomUUID()))
                 .ownerId(String.valueOf(UUID.randomUUID()))
-                .products(Set.of(ProductDataBuilder.buildProductWithAllFields().build()))
+                .lines(OrderLineDataBuilder.buildOrderLines(ProductDataBuilder.buildProductWithAllFields().build()))
                 .address(String.valueOf(UUID.randomUUID()))
                 .status(OrderStatus.CREATED);
     }
@@ -0,0 +1,42 @@
+package com.marketplace.order.config;
+
+import com.marketplace.order.web.model.ProcessedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class OrderIndexConfigurer {
+
+    public static final String PROCESSED_EVENTS_TTL_INDEX = "processedAt_ttl";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${order.kafka.processed-events.retention:P7D}")
+    private Duration processedEventsRetention;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureOrderIndexes() {
+        try {
+            mongoTemplate.indexOps(ProcessedEvent.class).ensureIndex(new Index()
+                    .on("processedAt", Sort.Direction.ASC)
+                    .expire(processedEventsRetention)
+                    .named(PROCESSED_EVENTS_TTL_INDEX));
+            log.info("[ORDER_INDEX_CONFIGURER]: Index {} is ensured", PROCESSED_EVENTS_TTL_INDEX);
+        } catch (DataAccessException exception) {
+            log.error("[ORDER_INDEX_CONFIGURER]: Index creation failed {}", exception.getMessage());
+        }
+    }
+
+}
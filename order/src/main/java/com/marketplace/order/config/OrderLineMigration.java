@@ -0,0 +1,94 @@
+package com.marketplace.order.config;
+
+import com.marketplace.order.web.model.Order;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.migration.order-lines-enabled", havingValue = "true")
+public class OrderLineMigration implements SmartInitializingSingleton {
+
+    private static final String LEGACY_PRODUCTS_FIELD = "products";
+
+    private static final String LINES_FIELD = "lines";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Runs before the web server starts, so checkout never sees a legacy cart without lines.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrateEmbeddedProductsToOrderLines();
+    }
+
+    /**
+     * Orders that already have lines are left untouched, so lines written by another instance are never overwritten.
+     */
+    public void migrateEmbeddedProductsToOrderLines() {
+        String collectionName = mongoTemplate.getCollectionName(Order.class);
+        Query legacyOrdersQuery = Query.query(Criteria.where(LEGACY_PRODUCTS_FIELD).exists(true).and(LINES_FIELD).exists(false));
+        legacyOrdersQuery.fields().include(LEGACY_PRODUCTS_FIELD);
+
+        int migratedOrders = 0;
+        try (Stream<Document> legacyOrdersStream = mongoTemplate.stream(legacyOrdersQuery, Document.class, collectionName)) {
+            Iterator<Document> legacyOrders = legacyOrdersStream.iterator();
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+            int pendingUpdates = 0;
+
+            while (legacyOrders.hasNext()) {
+                Document legacyOrder = legacyOrders.next();
+                bulkOperations.updateOne(
+                        Query.query(Criteria.where("_id").is(legacyOrder.get("_id")).and(LINES_FIELD).exists(false)),
+                        new Update()
+                                .set(LINES_FIELD, mapProductsToLines(legacyOrder.getList(LEGACY_PRODUCTS_FIELD, Document.class)))
+                                .unset(LEGACY_PRODUCTS_FIELD));
+
+                if (++pendingUpdates == BATCH_SIZE) {
+                    migratedOrders += bulkOperations.execute().getModifiedCount();
+                    bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                    pendingUpdates = 0;
+                }
+            }
+
+            if (pendingUpdates > 0) {
+                migratedOrders += bulkOperations.execute().getModifiedCount();
+            }
+
+            log.info("[ORDER_LINE_MIGRATION]: {} orders migrated to order lines", migratedOrders);
+        } catch (DataAccessException exception) {
+            log.error("[ORDER_LINE_MIGRATION]: Migration failed after {} orders {}", migratedOrders, exception.getMessage());
+        }
+    }
+
+    private List<Document> mapProductsToLines(List<Document> products) {
+        if (products == null) {
+            return List.of();
+        }
+
+        return products.stream()
+                .map(product -> new Document("productId", String.valueOf(product.get("_id")))
+                        .append("quantity", 1)
+                        .append("price", product.get("price")))
+                .toList();
+    }
+
+}
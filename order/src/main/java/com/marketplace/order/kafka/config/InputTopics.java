@@ -4,4 +4,8 @@ public interface InputTopics {
 
     String DELETE_PRODUCT_INSTANCES_TOPIC = "DELETE_PRODUCT_INSTANCES_TOPIC";
 
+    String DEAD_LETTER_TOPIC_SUFFIX = "_DLT";
+
+    String DELETE_PRODUCT_INSTANCES_DLT_TOPIC = DELETE_PRODUCT_INSTANCES_TOPIC + DEAD_LETTER_TOPIC_SUFFIX;
+
 }
@@ -0,0 +1,55 @@
+package com.marketplace.order.kafka.config;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+@Configuration
+public class KafkaConsumerConfigurer {
+
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchKafkaListenerContainerFactory";
+
+    @Value("${order.kafka.batch.retry-interval-ms:1000}")
+    private long retryIntervalMs;
+
+    @Value("${order.kafka.batch.max-retries:3}")
+    private long maxRetries;
+
+    @Bean(BATCH_LISTENER_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaTemplate<String, Object> kafkaTemplate
+    ) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(createBatchErrorHandler(kafkaTemplate));
+
+        return factory;
+    }
+
+    /**
+     * Once retries run out the batch is published to the dead letter topic. If that publish fails too,
+     * the batch is sought back and redelivered, so its offsets are never committed without the events being kept somewhere.
+     */
+    DefaultErrorHandler createBatchErrorHandler(KafkaOperations<String, Object> kafkaOperations) {
+        DeadLetterPublishingRecoverer deadLetterPublishingRecoverer = new DeadLetterPublishingRecoverer(kafkaOperations,
+                (consumerRecord, exception) -> new TopicPartition(consumerRecord.topic() + InputTopics.DEAD_LETTER_TOPIC_SUFFIX, -1));
+
+        return new DefaultErrorHandler(deadLetterPublishingRecoverer, new FixedBackOff(retryIntervalMs, maxRetries));
+    }
+
+}
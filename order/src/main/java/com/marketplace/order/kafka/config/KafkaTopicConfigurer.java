@@ -12,4 +12,9 @@ public class KafkaTopicConfigurer {
         return new NewTopic(InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC, 3, (short) 2);
     }
 
+    @Bean
+    public NewTopic deadLetterTopic() {
+        return new NewTopic(InputTopics.DELETE_PRODUCT_INSTANCES_DLT_TOPIC, 3, (short) 2);
+    }
+
 }
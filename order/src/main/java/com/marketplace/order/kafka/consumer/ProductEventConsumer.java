@@ -1,12 +1,21 @@
 package com.marketplace.order.kafka.consumer;
 
+import com.marketplace.common.kafka.config.EventHeaders;
 import com.marketplace.order.kafka.config.InputTopics;
+import com.marketplace.order.kafka.config.KafkaConsumerConfigurer;
 import com.marketplace.order.service.ProductEventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.KafkaListener;
 
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
@@ -17,11 +26,29 @@ public class ProductEventConsumer {
     @KafkaListener(
             topics = InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC,
             groupId = "delete_product_instances_group",
-            properties = {"auto.offset.reset=latest"}
+            containerFactory = KafkaConsumerConfigurer.BATCH_LISTENER_CONTAINER_FACTORY,
+            properties = {
+                    "auto.offset.reset=latest",
+                    "max.poll.records=${order.kafka.delete-product-instances.batch-size:500}",
+                    "fetch.min.bytes=${order.kafka.delete-product-instances.fetch-min-bytes:16384}",
+                    "fetch.max.wait.ms=${order.kafka.delete-product-instances.max-wait-ms:500}"
+            }
     )
-    public void listenDeleteProductInstancesEvent(String productId) {
-        log.info("[PRODUCT_EVENT_CONSUMER]: Received event {} from {}", productId, InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC);
-        productEventService.deleteProductInstances(productId);
+    public void listenDeleteProductInstancesEvents(List<ConsumerRecord<String, String>> records) {
+        log.info("[PRODUCT_EVENT_CONSUMER]: Received {} events from {}", records.size(), InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC);
+
+        Map<String, String> productIdsByEventId = new LinkedHashMap<>();
+        records.forEach(consumerRecord -> productIdsByEventId.put(getEventId(consumerRecord), consumerRecord.value()));
+        productEventService.handleDeleteProductInstancesEvents(productIdsByEventId);
+    }
+
+    private String getEventId(ConsumerRecord<String, String> consumerRecord) {
+        Header eventIdHeader = consumerRecord.headers().lastHeader(EventHeaders.EVENT_ID);
+        if (eventIdHeader != null) {
+            return new String(eventIdHeader.value(), StandardCharsets.UTF_8);
+        }
+
+        return consumerRecord.topic() + "-" + consumerRecord.partition() + "@" + consumerRecord.offset();
     }
 
 }
@@ -2,6 +2,8 @@ package com.marketplace.order.mapper;
 
 import com.marketplace.order.web.model.Order;
 import com.marketplace.order.web.dto.OrderResponse;
+import com.marketplace.order.web.model.OrderLine;
+import com.marketplace.product.web.model.Product;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,7 +15,7 @@ public class OrderEntityMapper {
         return OrderResponse.builder()
                 .id(order.getId())
                 .ownerId(order.getOwnerId())
-                .products(order.getProducts())
+                .lines(order.getLines())
                 .address(order.getAddress())
                 .status(order.getStatus())
                 .total(order.getTotal())
@@ -22,6 +24,14 @@ public class OrderEntityMapper {
                 .build();
     }
 
+    public OrderLine mapProductToOrderLine(Product product) {
+        return OrderLine.builder()
+                .productId(product.getId())
+                .quantity(1)
+                .price(product.getPrice())
+                .build();
+    }
+
     public List<OrderResponse> mapOrdersToOrderResponseDtos(List<Order> orders) {
         return orders.stream()
                 .map(this::mapOrderToOrderResponseDto)
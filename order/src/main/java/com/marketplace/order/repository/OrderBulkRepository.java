@@ -0,0 +1,13 @@
+package com.marketplace.order.repository;
+
+import com.marketplace.order.web.model.OrderStatus;
+
+import java.util.Collection;
+
+public interface OrderBulkRepository {
+
+    long pullLinesFromOrders(Collection<String> productIds, Collection<OrderStatus> statuses);
+
+    long deleteEmptyOrders(Collection<OrderStatus> statuses);
+
+}
@@ -0,0 +1,44 @@
+package com.marketplace.order.repository;
+
+import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class OrderBulkRepositoryImpl implements OrderBulkRepository {
+
+    private static final String LINES_FIELD = "lines";
+
+    private static final String STATUS_FIELD = "status";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long pullLinesFromOrders(Collection<String> productIds, Collection<OrderStatus> statuses) {
+        Query query = Query.query(Criteria.where("lines.productId").in(productIds)
+                .and(STATUS_FIELD).in(statuses));
+
+        Update update = new Update()
+                .pull(LINES_FIELD, Query.query(Criteria.where("productId").in(productIds)))
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+
+        return mongoTemplate.updateMulti(query, update, Order.class).getModifiedCount();
+    }
+
+    @Override
+    public long deleteEmptyOrders(Collection<OrderStatus> statuses) {
+        Query query = Query.query(Criteria.where(LINES_FIELD).size(0)
+                .and(STATUS_FIELD).in(statuses));
+
+        return mongoTemplate.remove(query, Order.class).getDeletedCount();
+    }
+
+}
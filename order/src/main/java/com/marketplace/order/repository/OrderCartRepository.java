@@ -0,0 +1,25 @@
+package com.marketplace.order.repository;
+
+import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderLine;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface OrderCartRepository {
+
+    Optional<Order> increaseCartLineQuantity(String ownerId, String productId, int quantity);
+
+    Optional<Order> setCartLineQuantity(String ownerId, String productId, int quantity);
+
+    Optional<Order> pushCartLine(String ownerId, OrderLine line);
+
+    Optional<Order> pullCartLine(String ownerId, String productId);
+
+    Optional<Order> completeCart(String orderId, Long version, BigDecimal total);
+
+    Optional<Order> reopenCart(String orderId, Long version);
+
+    boolean deleteCartIfEmpty(String orderId);
+
+}
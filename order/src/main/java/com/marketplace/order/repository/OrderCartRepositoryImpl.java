@@ -0,0 +1,113 @@
+package com.marketplace.order.repository;
+
+import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderLine;
+import com.marketplace.order.web.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class OrderCartRepositoryImpl implements OrderCartRepository {
+
+    private static final String LINES_FIELD = "lines";
+
+    private static final String LINE_PRODUCT_ID_FIELD = "lines.productId";
+
+    private static final String MATCHED_LINE_QUANTITY_FIELD = "lines.$.quantity";
+
+    private static final String STATUS_FIELD = "status";
+
+    private static final String VERSION_FIELD = "version";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Order> increaseCartLineQuantity(String ownerId, String productId, int quantity) {
+        Query query = Query.query(cartCriteria(ownerId).and(LINE_PRODUCT_ID_FIELD).is(productId));
+
+        return modifyCart(query, touch(new Update().inc(MATCHED_LINE_QUANTITY_FIELD, quantity)));
+    }
+
+    @Override
+    public Optional<Order> setCartLineQuantity(String ownerId, String productId, int quantity) {
+        Query query = Query.query(cartCriteria(ownerId).and(LINE_PRODUCT_ID_FIELD).is(productId));
+
+        return modifyCart(query, touch(new Update().set(MATCHED_LINE_QUANTITY_FIELD, quantity)));
+    }
+
+    @Override
+    public Optional<Order> pushCartLine(String ownerId, OrderLine line) {
+        Query query = Query.query(cartCriteria(ownerId)
+                .and(LINE_PRODUCT_ID_FIELD).ne(line.getProductId())
+                .and(LINES_FIELD + "." + (Order.MAX_LINES - 1)).exists(false));
+
+        return modifyCart(query, touch(new Update().push(LINES_FIELD, line)));
+    }
+
+    @Override
+    public Optional<Order> pullCartLine(String ownerId, String productId) {
+        Query query = Query.query(cartCriteria(ownerId).and(LINE_PRODUCT_ID_FIELD).is(productId));
+
+        return modifyCart(query, touch(new Update().pull(LINES_FIELD, new Document("productId", productId))));
+    }
+
+    @Override
+    public Optional<Order> completeCart(String orderId, Long version, BigDecimal total) {
+        Query query = Query.query(Criteria.where("_id").is(orderId)
+                .and(STATUS_FIELD).is(OrderStatus.IN_PROGRESS)
+                .and(VERSION_FIELD).is(version));
+
+        return modifyCart(query, touch(new Update()
+                .set(STATUS_FIELD, OrderStatus.COMPLETED)
+                .set("total", total)));
+    }
+
+    @Override
+    public Optional<Order> reopenCart(String orderId, Long version) {
+        Query query = Query.query(Criteria.where("_id").is(orderId)
+                .and(STATUS_FIELD).is(OrderStatus.COMPLETED)
+                .and(VERSION_FIELD).is(version));
+
+        return modifyCart(query, touch(new Update()
+                .set(STATUS_FIELD, OrderStatus.IN_PROGRESS)
+                .unset("total")));
+    }
+
+    /**
+     * Only deletes the cart while it is still empty, so a line pushed after the last pull keeps the cart alive.
+     */
+    @Override
+    public boolean deleteCartIfEmpty(String orderId) {
+        Query query = Query.query(Criteria.where("_id").is(orderId)
+                .and(STATUS_FIELD).is(OrderStatus.IN_PROGRESS)
+                .and(LINES_FIELD).size(0));
+
+        return mongoTemplate.remove(query, Order.class).getDeletedCount() > 0;
+    }
+
+    private Criteria cartCriteria(String ownerId) {
+        return Criteria.where("ownerId").is(ownerId)
+                .and(STATUS_FIELD).is(OrderStatus.IN_PROGRESS);
+    }
+
+    /**
+     * Every cart write bumps the version, so a checkout that loaded the cart earlier notices the change.
+     */
+    private Update touch(Update update) {
+        return update.set("updatedAt", LocalDateTime.now())
+                .inc(VERSION_FIELD, 1);
+    }
+
+    private Optional<Order> modifyCart(Query query, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Order.class));
+    }
+}
@@ -0,0 +1,12 @@
+package com.marketplace.order.repository;
+
+import com.marketplace.order.web.model.ProcessedEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProcessedEventRepository extends MongoRepository<ProcessedEvent, String> {
+
+    List<ProcessedEvent> findAllByIdIn(Collection<String> eventIds);
+}
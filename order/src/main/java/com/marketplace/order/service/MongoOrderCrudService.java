@@ -1,20 +1,22 @@
 package com.marketplace.order.service;
 
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
+import com.marketplace.order.mapper.OrderEntityMapper;
 import com.marketplace.order.repository.OrderRepository;
 import com.marketplace.order.web.dto.OrderRequest;
 import com.marketplace.order.web.dto.OrderUpdateRequest;
 import com.marketplace.order.web.model.Order;
-import com.marketplace.product.service.ProductCrudService;
-import com.marketplace.product.web.model.Product;
+import com.marketplace.order.web.model.OrderLine;
+import com.marketplace.product.service.ProductManagerService;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.security.AuthenticationUserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 @Slf4j
 @Service
@@ -25,21 +27,27 @@ public class MongoOrderCrudService implements OrderCrudService {
 
     private final AuthenticationUserService authenticationUserService;
 
-    private final ProductCrudService productCrudService;
+    private final ProductManagerService productManagerService;
 
     private final OrderManagerService orderManagerService;
 
     private final OrderValidationService orderValidationService;
 
+    private final OrderEntityMapper orderEntityMapper;
+
+    private final MongoPartialUpdateService mongoPartialUpdateService;
+
     @Override
     public Order create(OrderRequest request) {
         User authenticatedUser = authenticationUserService.getAuthenticatedUser();
 
-        List<Product> products = request.getProductIds().stream().map(productCrudService::getById).toList();
+        List<OrderLine> lines = productManagerService.findAllByIdInOrThrow(request.getProductIds()).stream()
+                .map(orderEntityMapper::mapProductToOrderLine)
+                .toList();
 
         return orderRepository.save(Order.builder()
                 .ownerId(authenticatedUser.getId())
-                .products(new HashSet<>(products))
+                .lines(new ArrayList<>(lines))
                 .address(request.getAddress())
                 .status(request.getStatus())
                 .build());
@@ -63,10 +71,15 @@ public class MongoOrderCrudService implements OrderCrudService {
         Order order = orderManagerService.findOrderOrThrow(orderId);
         orderValidationService.validateOrderUpdateOrThrow(order);
 
-        Optional.ofNullable(request.getAddress()).ifPresent(order::setAddress);
-        Optional.ofNullable(request.getStatus()).ifPresent(order::setStatus);
+        PartialUpdate partialUpdate = PartialUpdate.create()
+                .setIfPresent("address", request.getAddress())
+                .setIfPresent("status", request.getStatus());
+
+        if (partialUpdate.isEmpty()) {
+            return order;
+        }
 
-        return orderRepository.save(order);
+        return mongoPartialUpdateService.updateOrThrow(orderId, order.getVersion(), partialUpdate, Order.class);
     }
 
     @Override
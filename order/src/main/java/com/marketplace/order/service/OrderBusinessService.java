@@ -1,9 +1,13 @@
 package com.marketplace.order.service;
 
 import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.order.exception.OrderUpdateException;
+import com.marketplace.order.mapper.OrderEntityMapper;
 import com.marketplace.order.repository.OrderRepository;
 import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderLine;
 import com.marketplace.order.web.model.OrderStatus;
+import com.marketplace.product.exception.ProductNotAvailableException;
 import com.marketplace.product.service.ProductBusinessService;
 import com.marketplace.product.service.ProductCrudService;
 import com.marketplace.product.service.ProductValidationService;
@@ -11,13 +15,16 @@ import com.marketplace.product.web.model.Product;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.security.AuthenticationUserService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderBusinessService implements OrderManagerService {
@@ -32,16 +39,32 @@ public class OrderBusinessService implements OrderManagerService {
 
     private final ProductValidationService productValidationService;
 
+    private final OrderEntityMapper orderEntityMapper;
+
     @Transactional
     @Override
     public Order addProductToOrder(String productId) {
         Product product = productCrudService.getById(productId);
         productValidationService.validateProductOrThrow(product);
 
-        Order order = findByOwnerIdOrCreate();
-        order.getProducts().add(product);
+        User authenticatedUser = authenticationUserService.getAuthenticatedUser();
+        OrderLine line = orderEntityMapper.mapProductToOrderLine(product);
 
-        return orderRepository.save(order);
+        return orderRepository.increaseCartLineQuantity(authenticatedUser.getId(), productId, 1)
+                .or(() -> orderRepository.pushCartLine(authenticatedUser.getId(), line))
+                .orElseGet(() -> createOrderWithLineOrThrow(authenticatedUser, line));
+    }
+
+    @Override
+    public Order updateProductQuantity(String productId, int quantity) {
+        if (quantity < 1) {
+            throw new OrderUpdateException("Quantity must be at least 1");
+        }
+
+        User authenticatedUser = authenticationUserService.getAuthenticatedUser();
+
+        return orderRepository.setCartLineQuantity(authenticatedUser.getId(), productId, quantity)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found in order!"));
     }
 
     @Override
@@ -58,51 +81,61 @@ public class OrderBusinessService implements OrderManagerService {
 
     @Override
     public void removeProductFromOrder(String productId) {
-        Order order = findOrderByOwnerIdAndStatusOrThrow(OrderStatus.IN_PROGRESS);
+        User authenticatedUser = authenticationUserService.getAuthenticatedUser();
 
-        boolean noneMatchProductById = order.getProducts().stream().noneMatch(product -> product.getId().equals(productId));
-        if (noneMatchProductById) {
+        Optional<Order> updatedOrder = orderRepository.pullCartLine(authenticatedUser.getId(), productId);
+        if (updatedOrder.isEmpty()) {
+            findOrderByOwnerIdAndStatusOrThrow(OrderStatus.IN_PROGRESS);
             return;
         }
 
-        order.setProducts(order.getProducts().stream()
-                .filter(product -> !product.getId().equals(productId))
-                .collect(Collectors.toSet()));
-
-        if (order.getProducts().isEmpty()) {
-            orderRepository.deleteById(order.getId());
-            return;
+        if (updatedOrder.get().getLines().isEmpty()) {
+            orderRepository.deleteCartIfEmpty(updatedOrder.get().getId());
         }
-
-        orderRepository.save(order);
     }
 
-    @Transactional
     @Override
-    public void removeProductFromAllOrders(Product product) {
-        List<Order> orders = orderRepository.findByProductsIdsAndStatuses(Set.of(product.getId()), List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS));
+    public void removeProductsFromAllOrders(Collection<String> productIds) {
+        List<OrderStatus> activeStatuses = List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS);
 
-        if (orders.isEmpty()) {
+        long updatedOrders = orderRepository.pullLinesFromOrders(productIds, activeStatuses);
+        if (updatedOrders == 0) {
             return;
         }
 
-        removeProductAndDeleteEmptyOrders(orders, product);
-        orderRepository.saveAll(orders);
+        long deletedOrders = orderRepository.deleteEmptyOrders(activeStatuses);
+        log.info("[ORDER_BUSINESS_SERVICE]: Removed {} products from {} orders, {} empty orders deleted", productIds.size(), updatedOrders, deletedOrders);
     }
 
     @Transactional
     @Override
     public void payForOrder() {
         Order order = findActiveOrderByOwnerIdOrThrow();
+        if (order.getLines() == null || order.getLines().isEmpty()) {
+            log.warn("[ORDER_BUSINESS_SERVICE]: Order {} has no lines to pay for", order.getId());
+            throw new OrderUpdateException("Order is empty");
+        }
 
-        Set<Product> products = order.getProducts();
+        List<Product> products = findOrderProducts(order);
+        if (products.size() != order.getLines().size()) {
+            log.warn("[ORDER_BUSINESS_SERVICE]: Order {} references products that no longer exist", order.getId());
+            throw new ProductNotAvailableException("This product is not available");
+        }
         products.forEach(productValidationService::validateProductOrThrow);
 
-        productBusinessService.decreaseProductsAmountAndSave(products);
+        Order completedOrder = orderRepository.completeCart(order.getId(), order.getVersion(), calculateTotalSum(order.getLines()))
+                .orElseThrow(() -> new OrderUpdateException("Order was changed during checkout, please try again"));
+
+        try {
+            productBusinessService.decreaseProductsAmountAndSave(products, order.collectProductQuantities());
+        } catch (RuntimeException exception) {
+            reopenOrder(completedOrder);
+            throw exception;
+        }
 
-        order.setTotal(calculateTotalSum(products));
-        order.setStatus(OrderStatus.COMPLETED);
-        orderRepository.save(order);
+        order.setTotal(completedOrder.getTotal());
+        order.setStatus(completedOrder.getStatus());
+        order.setVersion(completedOrder.getVersion());
     }
 
     @Override
@@ -112,35 +145,47 @@ public class OrderBusinessService implements OrderManagerService {
     }
 
     @Override
-    public BigDecimal calculateTotalSum(Set<Product> products) {
-        return products.stream()
-                .map(Product::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public List<Product> findOrderProducts(Order order) {
+        Map<String, Product> productsById = productBusinessService.findAllByIdIn(order.collectProductIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return order.getLines().stream()
+                .map(line -> productsById.get(line.getProductId()))
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    private void removeProductAndDeleteEmptyOrders(List<Order> orders, Product product) {
-        Iterator<Order> iterator = orders.iterator();
-        while (iterator.hasNext()) {
-            Order order = iterator.next();
-            boolean hasProductRemoved = order.getProducts().remove(product);
+    @Override
+    public BigDecimal calculateTotalSum(Collection<OrderLine> lines) {
+        return lines.stream()
+                .map(OrderLine::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
-            if (hasProductRemoved && order.getProducts().isEmpty()) {
-                orderRepository.delete(order);
-                iterator.remove();
-            }
+    private Order createOrderWithLineOrThrow(User authenticatedUser, OrderLine line) {
+        if (orderRepository.findOrderByOwnerIdAndStatus(authenticatedUser.getId(), OrderStatus.IN_PROGRESS).isPresent()) {
+            log.warn("[ORDER_BUSINESS_SERVICE]: Order of user {} already contains {} products", authenticatedUser.getId(), Order.MAX_LINES);
+            throw new OrderUpdateException("Order must contain at least 1 product and maximum " + Order.MAX_LINES);
         }
-    }
 
-    private Order findByOwnerIdOrCreate() {
-        User authenticatedUser = authenticationUserService.getAuthenticatedUser();
+        List<OrderLine> lines = new ArrayList<>();
+        lines.add(line);
 
-        return orderRepository.findOrderByOwnerIdAndStatus(authenticatedUser.getId(), OrderStatus.IN_PROGRESS)
-                .orElse(Order.builder()
-                        .ownerId(authenticatedUser.getId())
-                        .products(new HashSet<>())
-                        .status(OrderStatus.IN_PROGRESS)
-                        .build()
-                );
+        return orderRepository.save(Order.builder()
+                .ownerId(authenticatedUser.getId())
+                .lines(lines)
+                .status(OrderStatus.IN_PROGRESS)
+                .build());
+    }
+
+    private void reopenOrder(Order completedOrder) {
+        try {
+            if (orderRepository.reopenCart(completedOrder.getId(), completedOrder.getVersion()).isEmpty()) {
+                log.error("[ORDER_BUSINESS_SERVICE]: Order {} was changed before it could be reopened", completedOrder.getId());
+            }
+        } catch (RuntimeException exception) {
+            log.error("[ORDER_BUSINESS_SERVICE]: Order {} could not be reopened {}", completedOrder.getId(), exception.getMessage());
+        }
     }
 
     private Order findActiveOrderByOwnerIdOrThrow() {
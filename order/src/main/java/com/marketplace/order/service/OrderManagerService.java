@@ -1,18 +1,21 @@
 package com.marketplace.order.service;
 
 import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderLine;
 import com.marketplace.order.web.model.OrderStatus;
 import com.marketplace.product.web.model.Product;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 public interface OrderManagerService {
 
     Order addProductToOrder(String productId);
 
+    Order updateProductQuantity(String productId, int quantity);
+
     Order findOrderOrThrow(String orderId);
 
     Optional<Order> findOrderByOwnerIdAndStatus(OrderStatus orderStatus);
@@ -21,9 +24,11 @@ public interface OrderManagerService {
 
     void removeProductFromOrder(String productId);
 
-    void removeProductFromAllOrders(Product product);
+    void removeProductsFromAllOrders(Collection<String> productIds);
 
     void payForOrder();
 
-    BigDecimal calculateTotalSum(Set<Product> products);
+    List<Product> findOrderProducts(Order order);
+
+    BigDecimal calculateTotalSum(Collection<OrderLine> lines);
 }
@@ -0,0 +1,44 @@
+package com.marketplace.order.service;
+
+import com.marketplace.order.repository.ProcessedEventRepository;
+import com.marketplace.order.web.model.ProcessedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProcessedEventService {
+
+    private final ProcessedEventRepository processedEventRepository;
+
+    public Set<String> findProcessedEventIds(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return processedEventRepository.findAllByIdIn(eventIds).stream()
+                .map(ProcessedEvent::getId)
+                .collect(Collectors.toSet());
+    }
+
+    public void markProcessed(String topic, Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime processedAt = LocalDateTime.now();
+        processedEventRepository.saveAll(eventIds.stream()
+                .map(eventId -> ProcessedEvent.builder()
+                        .id(eventId)
+                        .topic(topic)
+                        .processedAt(processedAt)
+                        .build())
+                .toList());
+    }
+
+}
@@ -1,16 +1,22 @@
 package com.marketplace.order.service;
 
-import com.marketplace.aws.service.S3FileManagerService;
-import com.marketplace.aws.service.S3FileUploadService;
-import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.order.kafka.config.InputTopics;
 import com.marketplace.product.repository.ProductRepository;
-import com.marketplace.product.service.ProductCrudService;
+import com.marketplace.product.service.ProductCacheService;
+import com.marketplace.product.service.ProductPhotoUploadService;
 import com.marketplace.product.web.model.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -20,28 +26,52 @@ public class ProductEventService {
 
     private final ProductRepository productRepository;
 
-    private final ProductCrudService productCrudService;
+    private final ProductPhotoUploadService productPhotoUploadService;
 
-    private final S3FileManagerService s3FileManagerService;
+    private final ProductCacheService productCacheService;
 
-    private final S3FileUploadService s3FileUploadService;
+    private final ProcessedEventService processedEventService;
 
     @Transactional
-    public void deleteProductInstances(String productId) {
-        try {
-            Product product = productCrudService.getById(productId);
-            orderManagerService.removeProductFromAllOrders(product);
-
-            String filename = s3FileManagerService.getFilenameFromUrl(product.getPhotoUrl());
-            s3FileUploadService.deleteFile(filename);
-            deleteProductIfExists(productId);
-        } catch (EntityNotFoundException e) {
-            log.error("[PRODUCT_EVENT_SERVICE]: Product by id {} not found", productId);
+    public void handleDeleteProductInstancesEvents(Map<String, String> productIdsByEventId) {
+        Set<String> processedEventIds = processedEventService.findProcessedEventIds(productIdsByEventId.keySet());
+        if (!processedEventIds.isEmpty()) {
+            log.info("[PRODUCT_EVENT_SERVICE]: Skipping {} already processed events", processedEventIds.size());
+        }
+
+        List<String> newEventIds = productIdsByEventId.keySet().stream()
+                .filter(eventId -> !processedEventIds.contains(eventId))
+                .toList();
+        if (newEventIds.isEmpty()) {
+            return;
         }
+
+        deleteProductInstances(newEventIds.stream()
+                .map(productIdsByEventId::get)
+                .toList());
+        processedEventService.markProcessed(InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC, newEventIds);
     }
 
-    private void deleteProductIfExists(String productId) {
-        productRepository.findById(productId).ifPresent(productRepository::delete);
+    @Transactional
+    public void deleteProductInstances(Collection<String> productIds) {
+        Set<String> requestedIds = new LinkedHashSet<>(productIds);
+        List<Product> products = productRepository.findAllByIdIn(requestedIds);
+
+        Set<String> foundIds = products.stream()
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+        if (foundIds.size() < requestedIds.size()) {
+            log.error("[PRODUCT_EVENT_SERVICE]: Products by ids {} not found", requestedIds.stream().filter(productId -> !foundIds.contains(productId)).toList());
+        }
+
+        if (foundIds.isEmpty()) {
+            return;
+        }
+
+        orderManagerService.removeProductsFromAllOrders(foundIds);
+        productPhotoUploadService.releasePhotos(products);
+        productRepository.deleteAllById(foundIds);
+        productCacheService.invalidate(foundIds);
     }
 
 }
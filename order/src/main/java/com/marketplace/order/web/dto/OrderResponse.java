@@ -1,13 +1,13 @@
 package com.marketplace.order.web.dto;
 
 import com.marketplace.common.dto.BaseResponse;
+import com.marketplace.order.web.model.OrderLine;
 import com.marketplace.order.web.model.OrderStatus;
-import com.marketplace.product.web.model.Product;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 import java.math.BigDecimal;
-import java.util.Set;
+import java.util.List;
 
 @Data
 @SuperBuilder
@@ -16,7 +16,7 @@ public class OrderResponse extends BaseResponse {
 
     private String ownerId;
 
-    private Set<Product> products;
+    private List<OrderLine> lines;
 
     private String address;
 
@@ -1,16 +1,21 @@
 package com.marketplace.order.web.model;
 
 import com.marketplace.common.model.AuditableEntity;
-import com.marketplace.product.web.model.Product;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
@@ -20,14 +25,17 @@ import java.util.Set;
 @EqualsAndHashCode(callSuper = false)
 public class Order extends AuditableEntity {
 
+    public static final int MAX_LINES = 50;
+
     @Id
     private String id;
 
     @NotNull(message = "Owner Id is required")
     private String ownerId;
 
-    @Size(min = 1, max = 50, message = "Order must contain at least 1 product and maximum 50")
-    private Set<Product> products;
+    @Valid
+    @Size(min = 1, max = MAX_LINES, message = "Order must contain at least 1 product and maximum 50")
+    private List<OrderLine> lines;
 
     private String address;
 
@@ -36,4 +44,26 @@ public class Order extends AuditableEntity {
 
     private BigDecimal total;
 
+    @Version
+    private Long version;
+
+    public Set<String> collectProductIds() {
+        return lines.stream()
+                .map(OrderLine::getProductId)
+                .collect(Collectors.toSet());
+    }
+
+    public Map<String, Integer> collectProductQuantities() {
+        return lines.stream()
+                .collect(Collectors.toMap(OrderLine::getProductId, OrderLine::getQuantity, Integer::sum, LinkedHashMap::new));
+    }
+
+    public boolean containsProduct(String productId) {
+        return lines.stream().anyMatch(line -> line.getProductId().equals(productId));
+    }
+
+    public boolean removeLine(String productId) {
+        return lines.removeIf(line -> line.getProductId().equals(productId));
+    }
+
 }
@@ -15,7 +15,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Controller
 @RequiredArgsConstructor
@@ -39,9 +38,10 @@ public class UserOrderController {
     ) {
         Order order = orderCrudService.findById(orderId);
 
-        Set<Product> products = order.getProducts();
+        List<Product> products = orderManagerService.findOrderProducts(order);
         model.addAttribute("isPayable", !productValidationService.validateProducts(products));
         model.addAttribute("products", productEntityMapper.mapProductsToProductResponseDtos(products));
+        model.addAttribute("quantities", order.collectProductQuantities());
         model.addAttribute("order", orderEntityMapper.mapOrderToOrderResponseDto(order));
 
         return "order";
@@ -54,10 +54,11 @@ public class UserOrderController {
         Optional<Order> orderByOwnerIdAndStatus = orderManagerService.findOrderByOwnerIdAndStatus(OrderStatus.IN_PROGRESS);
 
         orderByOwnerIdAndStatus.ifPresent(order -> {
-            Set<Product> products = order.getProducts();
+            List<Product> products = orderManagerService.findOrderProducts(order);
             model.addAttribute("isPayable", !productValidationService.validateProducts(products));
             model.addAttribute("orderProducts", productEntityMapper.mapProductsToProductResponseDtos(products));
-            model.addAttribute("totalSum", orderManagerService.calculateTotalSum(products));
+            model.addAttribute("orderQuantities", order.collectProductQuantities());
+            model.addAttribute("totalSum", orderManagerService.calculateTotalSum(order.getLines()));
             model.addAttribute("currentOrder", orderEntityMapper.mapOrderToOrderResponseDto(order));
         });
 
@@ -75,6 +76,15 @@ public class UserOrderController {
         return "redirect:/orders/user-order";
     }
 
+    @PutMapping("/update-product/{productId}")
+    public String updateProductQuantity(
+            @PathVariable String productId,
+            @RequestParam int quantity
+    ) {
+        orderManagerService.updateProductQuantity(productId, quantity);
+        return "redirect:/orders/user-order";
+    }
+
     @DeleteMapping("/{orderId}/delete")
     public String deleteOrder(@PathVariable String orderId) {
         orderCrudService.delete(orderId);
@@ -0,0 +1,95 @@
+package com.marketplace.order.kafka.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+public class KafkaConsumerConfigurerTest {
+
+    private static final long FAILED_OFFSET = 42L;
+
+    private final TopicPartition partition = new TopicPartition(InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC, 0);
+
+    private final ConsumerRecords<?, ?> records = new ConsumerRecords<>(Map.of(partition, List.of(
+            new ConsumerRecord<>(InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC, 0, FAILED_OFFSET, "productId", "productId"))));
+
+    private KafkaOperations<String, Object> kafkaOperations;
+
+    private Consumer<?, ?> consumer;
+
+    private MessageListenerContainer container;
+
+    private DefaultErrorHandler errorHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        kafkaOperations = mock(KafkaOperations.class);
+        consumer = mock(Consumer.class);
+        container = mock(MessageListenerContainer.class);
+
+        when(consumer.assignment()).thenReturn(Set.of(partition));
+        when(consumer.poll(any())).thenReturn(ConsumerRecords.empty());
+        when(container.isRunning()).thenReturn(true);
+
+        KafkaConsumerConfigurer kafkaConsumerConfigurer = new KafkaConsumerConfigurer();
+        ReflectionTestUtils.setField(kafkaConsumerConfigurer, "retryIntervalMs", 1L);
+        ReflectionTestUtils.setField(kafkaConsumerConfigurer, "maxRetries", 2L);
+        errorHandler = kafkaConsumerConfigurer.createBatchErrorHandler(kafkaOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createBatchErrorHandler_ShouldPublishToDeadLetterTopic_WhenRetriesExhausted() {
+        when(kafkaOperations.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        errorHandler.handleBatch(new IllegalStateException("Batch failed"), records, consumer, container, () -> {
+            throw new IllegalStateException("Batch failed");
+        });
+
+        ArgumentCaptor<ProducerRecord<String, Object>> deadLetterCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaOperations).send(deadLetterCaptor.capture());
+        assertThat(deadLetterCaptor.getValue().topic()).isEqualTo(InputTopics.DELETE_PRODUCT_INSTANCES_DLT_TOPIC);
+        assertThat(deadLetterCaptor.getValue().value()).isEqualTo("productId");
+
+        verify(consumer, never()).seek(any(TopicPartition.class), anyLong());
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createBatchErrorHandler_ShouldNotCommitOffsets_WhenDeadLetterPublishFails() {
+        when(kafkaOperations.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.failedFuture(new KafkaException("Dead letter topic unavailable")));
+
+        assertThatThrownBy(() -> errorHandler.handleBatch(new IllegalStateException("Batch failed"), records, consumer, container, () -> {
+            throw new IllegalStateException("Batch failed");
+        })).isInstanceOf(org.springframework.kafka.KafkaException.class);
+
+        verify(kafkaOperations).send(any(ProducerRecord.class));
+        verify(consumer).seek(partition, FAILED_OFFSET);
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+}
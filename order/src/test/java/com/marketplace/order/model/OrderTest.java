@@ -2,6 +2,7 @@ package com.marketplace.order.model;
 
 
 import com.marketplace.order.util.builder.OrderDataBuilder;
+import com.marketplace.order.util.builder.OrderLineDataBuilder;
 import com.marketplace.order.web.model.Order;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
@@ -49,16 +50,16 @@ public class OrderTest {
     }
 
     @Test
-    public void testOrderWithEmptyProductIds() {
+    public void testOrderWithEmptyLines() {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(Set.of())
+                .lines(OrderLineDataBuilder.buildOrderLines())
                 .build();
 
         Set<ConstraintViolation<Order>> violations = validator.validate(order);
-        ConstraintViolation<Order> matchedViolation = getMatchedViolationByField(violations, "products");
+        ConstraintViolation<Order> matchedViolation = getMatchedViolationByField(violations, "lines");
 
         assertThat(matchedViolation).isNotNull();
-        assertThat(matchedViolation.getPropertyPath().toString()).isEqualTo("products");
+        assertThat(matchedViolation.getPropertyPath().toString()).isEqualTo("lines");
         assertThat(matchedViolation.getMessage()).isEqualTo("Order must contain at least 1 product and maximum 50");
     }
 
@@ -1,17 +1,21 @@
 package com.marketplace.order.service;
 
 import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
 import com.marketplace.order.config.OrderApplicationConfig;
 import com.marketplace.order.exception.OrderUpdateException;
 import com.marketplace.order.repository.OrderRepository;
 import com.marketplace.order.util.MockHelper;
 import com.marketplace.order.util.builder.OrderDataBuilder;
+import com.marketplace.order.util.builder.ProductDataBuilder;
 import com.marketplace.order.util.builder.UserDataBuilder;
 import com.marketplace.order.web.dto.OrderRequest;
 import com.marketplace.order.web.dto.OrderUpdateRequest;
 import com.marketplace.order.web.model.Order;
 import com.marketplace.order.web.model.OrderStatus;
 import com.marketplace.product.service.MongoProductCrudService;
+import com.marketplace.product.service.ProductBusinessService;
 import com.marketplace.product.web.model.Product;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserRole;
@@ -35,6 +39,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
@@ -48,6 +53,9 @@ public class MongoOrderCrudServiceTest {
     @MockitoBean
     private MongoProductCrudService mongoProductCrudService;
 
+    @MockitoBean
+    private ProductBusinessService productBusinessService;
+
     @MockitoBean
     private OrderBusinessService orderBusinessService;
 
@@ -57,6 +65,9 @@ public class MongoOrderCrudServiceTest {
     @MockitoBean
     private AuthenticationUserService authenticationUserService;
 
+    @MockitoBean
+    private MongoPartialUpdateService mongoPartialUpdateService;
+
     @Autowired
     private MongoOrderCrudService mongoOrderCrudService;
 
@@ -71,7 +82,9 @@ public class MongoOrderCrudServiceTest {
     @Test
     public void create_ShouldCreateOrder() {
         String mockProductId = "mockProductId";
-        Product mockedProduct = mock(Product.class);
+        Product mockedProduct = ProductDataBuilder.buildProductWithAllFields()
+                .id(mockProductId)
+                .build();
         OrderRequest orderRequest = OrderRequest.builder()
                 .productIds(Set.of(mockProductId))
                 .build();
@@ -79,18 +92,19 @@ public class MongoOrderCrudServiceTest {
         User user = mockHelper.mockAuthenticationAndSetContext();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
-        when(mongoProductCrudService.getById(mockProductId)).thenReturn(mockedProduct);
+        when(productBusinessService.findAllByIdInOrThrow(Set.of(mockProductId))).thenReturn(List.of(mockedProduct));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order responseOrder = mongoOrderCrudService.create(orderRequest);
 
         assertThat(responseOrder).isNotNull();
         assertThat(responseOrder.getOwnerId()).isEqualTo(user.getId());
-        System.out.println(responseOrder);
-        assertThat(responseOrder.getProducts().stream().anyMatch(product -> product.equals(mockedProduct))).isTrue();
+        assertThat(responseOrder.getLines().size()).isEqualTo(1);
+        assertThat(responseOrder.getLines().get(0).getProductId()).isEqualTo(mockProductId);
+        assertThat(responseOrder.getLines().get(0).getPrice()).isEqualTo(mockedProduct.getPrice());
 
         verify(authenticationUserService, times(1)).getAuthenticatedUser();
-        verify(mongoProductCrudService, times(1)).getById(mockProductId);
+        verify(productBusinessService, times(1)).findAllByIdInOrThrow(Set.of(mockProductId));
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
@@ -115,12 +129,13 @@ public class MongoOrderCrudServiceTest {
 
         mockHelper.mockAuthenticationAndSetContext();
 
-        when(mongoProductCrudService.getById(mockProductId)).thenThrow(new EntityNotFoundException("Product not found!"));
+        when(productBusinessService.findAllByIdInOrThrow(Set.of(mockProductId))).thenThrow(new EntityNotFoundException("Products not found: " + mockProductId));
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> mongoOrderCrudService.create(orderRequest));
-        assertThat(exception.getMessage()).isEqualTo("Product not found!");
+        assertThat(exception.getMessage()).isEqualTo("Products not found: " + mockProductId);
 
-        verify(mongoProductCrudService, times(1)).getById(mockProductId);
+        verify(productBusinessService, times(1)).findAllByIdInOrThrow(Set.of(mockProductId));
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -217,8 +232,12 @@ public class MongoOrderCrudServiceTest {
                 .status(OrderStatus.IN_PROGRESS)
                 .build();
 
+        Order updatedOrder = order.toBuilder()
+                .status(OrderStatus.IN_PROGRESS)
+                .build();
+
         when(orderBusinessService.findOrderOrThrow(order.getId())).thenReturn(order);
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mongoPartialUpdateService.updateOrThrow(eq(order.getId()), eq(order.getVersion()), any(PartialUpdate.class), eq(Order.class))).thenReturn(updatedOrder);
 
         Order responseOrder = mongoOrderCrudService.update(order.getId(), orderUpdateRequest);
 
@@ -227,7 +246,23 @@ public class MongoOrderCrudServiceTest {
         assertThat(responseOrder.getStatus()).isEqualTo(orderUpdateRequest.getStatus());
 
         verify(orderBusinessService, times(1)).findOrderOrThrow(order.getId());
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(mongoPartialUpdateService, times(1)).updateOrThrow(eq(order.getId()), eq(order.getVersion()), any(PartialUpdate.class), eq(Order.class));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    public void update_ShouldSkipWrite_WhenRequestHasNoChanges() {
+        Order order = OrderDataBuilder.buildOrderWithAllFields().build();
+        OrderUpdateRequest orderUpdateRequest = OrderUpdateRequest.builder().build();
+
+        when(orderBusinessService.findOrderOrThrow(order.getId())).thenReturn(order);
+
+        Order responseOrder = mongoOrderCrudService.update(order.getId(), orderUpdateRequest);
+
+        assertThat(responseOrder).isEqualTo(order);
+
+        verifyNoInteractions(mongoPartialUpdateService);
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -2,11 +2,14 @@ package com.marketplace.order.service;
 
 import com.marketplace.common.exception.EntityNotFoundException;
 import com.marketplace.order.config.OrderApplicationConfig;
+import com.marketplace.order.exception.OrderUpdateException;
 import com.marketplace.order.repository.OrderRepository;
 import com.marketplace.order.util.MockHelper;
 import com.marketplace.order.util.builder.OrderDataBuilder;
+import com.marketplace.order.util.builder.OrderLineDataBuilder;
 import com.marketplace.order.util.builder.ProductDataBuilder;
 import com.marketplace.order.web.model.Order;
+import com.marketplace.order.web.model.OrderLine;
 import com.marketplace.order.web.model.OrderStatus;
 import com.marketplace.product.exception.ProductNotAvailableException;
 import com.marketplace.product.service.DefaultProductValidationService;
@@ -23,11 +26,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
@@ -62,31 +68,52 @@ public class OrderBusinessServiceTest {
 
 
     @Test
-    public void addProductToOrder_ShouldAddProductToExistingOrder() {
+    public void addProductToOrder_ShouldIncreaseQuantity_WhenProductAlreadyInOrder() {
         User user = mockHelper.mockAuthenticationAndSetContext();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        List<OrderLine> lines = OrderLineDataBuilder.buildOrderLines(product);
+        lines.get(0).setQuantity(2);
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(user.getId())
+                .lines(lines)
                 .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(mongoProductCrudService.getById(product.getId())).thenReturn(product);
+        when(orderRepository.increaseCartLineQuantity(user.getId(), product.getId(), 1)).thenReturn(Optional.of(order));
+
+        Order responseOrder = orderBusinessService.addProductToOrder(product.getId());
+
+        assertThat(responseOrder.getLines().size()).isEqualTo(1);
+        assertThat(responseOrder.getLines().get(0).getQuantity()).isEqualTo(2);
+
+        verify(orderRepository, times(1)).increaseCartLineQuantity(user.getId(), product.getId(), 1);
+        verify(orderRepository, never()).pushCartLine(any(), any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    public void addProductToOrder_ShouldAddProductToExistingOrder() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
         Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(user.getId())
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(mongoProductCrudService.getById(product.getId())).thenReturn(product);
-        when(orderRepository.findOrderByOwnerId(order.getId())).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.increaseCartLineQuantity(user.getId(), product.getId(), 1)).thenReturn(Optional.empty());
+        when(orderRepository.pushCartLine(eq(user.getId()), any(OrderLine.class))).thenReturn(Optional.of(order));
 
         Order responseOrder = orderBusinessService.addProductToOrder(product.getId());
 
-        assertThat(responseOrder).isNotNull();
-        assertThat(responseOrder.getOwnerId()).isEqualTo(user.getId());
-        assertThat(responseOrder.getProducts()).isNotNull();
-        assertThat(responseOrder.getProducts().size()).isEqualTo(1);
-        assertThat(responseOrder.getProducts().stream().anyMatch(orderProduct -> orderProduct.getId().equals(product.getId()))).isTrue();
-        assertThat(responseOrder.getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
+        assertThat(responseOrder.containsProduct(product.getId())).isTrue();
 
-        verify(authenticationUserService).getAuthenticatedUser();
         verify(mongoProductCrudService, times(1)).getById(product.getId());
-        verify(orderRepository, times(1)).findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS);
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, times(1)).pushCartLine(eq(user.getId()), argThat(line ->
+                line.getProductId().equals(product.getId()) && line.getQuantity() == 1 && line.getPrice().equals(product.getPrice())));
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -96,16 +123,18 @@ public class OrderBusinessServiceTest {
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(mongoProductCrudService.getById(product.getId())).thenReturn(product);
-        when(orderRepository.findOrderByOwnerId(user.getId())).thenReturn(Optional.empty());
+        when(orderRepository.increaseCartLineQuantity(user.getId(), product.getId(), 1)).thenReturn(Optional.empty());
+        when(orderRepository.pushCartLine(eq(user.getId()), any(OrderLine.class))).thenReturn(Optional.empty());
+        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.empty());
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order responseOrder = orderBusinessService.addProductToOrder(product.getId());
 
         assertThat(responseOrder).isNotNull();
         assertThat(responseOrder.getOwnerId()).isEqualTo(user.getId());
-        assertThat(responseOrder.getProducts()).isNotNull();
-        assertThat(responseOrder.getProducts().size()).isEqualTo(1);
-        assertThat(responseOrder.getProducts().stream().anyMatch(orderProduct -> orderProduct.getId().equals(product.getId()))).isTrue();
+        assertThat(responseOrder.getLines()).isNotNull();
+        assertThat(responseOrder.getLines().size()).isEqualTo(1);
+        assertThat(responseOrder.containsProduct(product.getId())).isTrue();
         assertThat(responseOrder.getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
 
         verify(authenticationUserService).getAuthenticatedUser();
@@ -114,6 +143,27 @@ public class OrderBusinessServiceTest {
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
+    @Test
+    public void addProductToOrder_ShouldThrowException_WhenOrderIsFull() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(user.getId())
+                .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(mongoProductCrudService.getById(product.getId())).thenReturn(product);
+        when(orderRepository.increaseCartLineQuantity(user.getId(), product.getId(), 1)).thenReturn(Optional.empty());
+        when(orderRepository.pushCartLine(eq(user.getId()), any(OrderLine.class))).thenReturn(Optional.empty());
+        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderBusinessService.addProductToOrder(product.getId()))
+                .isInstanceOf(OrderUpdateException.class)
+                .hasMessage("Order must contain at least 1 product and maximum " + Order.MAX_LINES);
+
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     public void addProductToOrder_ShouldThrowException_WhenProductNotExists() {
         mockHelper.mockAuthenticationAndSetContext();
@@ -199,29 +249,69 @@ public class OrderBusinessServiceTest {
         verify(orderRepository, times(1)).findOrdersByOwnerIdAndStatusIn(user.getId(), List.of(OrderStatus.CANCELLED, OrderStatus.COMPLETED));
     }
 
+    @Test
+    public void updateProductQuantity_ShouldSetLineQuantity() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(user.getId())
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.setCartLineQuantity(user.getId(), product.getId(), 3)).thenReturn(Optional.of(order));
+
+        Order responseOrder = orderBusinessService.updateProductQuantity(product.getId(), 3);
+
+        assertThat(responseOrder).isEqualTo(order);
+
+        verify(orderRepository, times(1)).setCartLineQuantity(user.getId(), product.getId(), 3);
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    public void updateProductQuantity_ShouldThrowException_WhenProductNotInOrder() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        String productId = String.valueOf(UUID.randomUUID());
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.setCartLineQuantity(user.getId(), productId, 2)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderBusinessService.updateProductQuantity(productId, 2))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Product not found in order!");
+    }
+
+    @Test
+    public void updateProductQuantity_ShouldThrowException_WhenQuantityIsNotPositive() {
+        assertThatThrownBy(() -> orderBusinessService.updateProductQuantity(String.valueOf(UUID.randomUUID()), 0))
+                .isInstanceOf(OrderUpdateException.class)
+                .hasMessage("Quantity must be at least 1");
+
+        verifyNoInteractions(orderRepository);
+    }
+
     @Test
     public void removeProductFromOrder_ShouldRemoveProductFromOrder() {
         User user = mockHelper.mockAuthenticationAndSetContext();
         Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
-        Product product2 = ProductDataBuilder.buildProductWithAllFields().build();
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(user.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(new HashSet<>(Set.of(product1, product2)))
+                .lines(OrderLineDataBuilder.buildOrderLines(product1))
                 .build();
+        String product2Id = String.valueOf(UUID.randomUUID());
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
-        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
-
-        orderBusinessService.removeProductFromOrder(product2.getId());
+        when(orderRepository.pullCartLine(user.getId(), product2Id)).thenReturn(Optional.of(order));
 
-        assertThat(order.getProducts()).isNotNull();
-        assertThat(order.getProducts().size()).isEqualTo(1);
-        assertThat(order.getProducts().stream().anyMatch(product -> product.getId().equals(product1.getId()))).isTrue();
+        orderBusinessService.removeProductFromOrder(product2Id);
 
         verify(authenticationUserService).getAuthenticatedUser();
-        verify(orderRepository).findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS);
-        verify(orderRepository).save(order);
+        verify(orderRepository).pullCartLine(user.getId(), product2Id);
+        verify(orderRepository, never()).deleteById(any());
+        verify(orderRepository, never()).deleteCartIfEmpty(any());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -231,20 +321,21 @@ public class OrderBusinessServiceTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(user.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(new HashSet<>(Set.of(product)))
+                .lines(new ArrayList<>())
                 .build();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
-        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS))
-                .thenReturn(Optional.of(order));
+        when(orderRepository.pullCartLine(user.getId(), product.getId())).thenReturn(Optional.of(order));
 
         orderBusinessService.removeProductFromOrder(product.getId());
 
         verify(authenticationUserService).getAuthenticatedUser();
-        verify(orderRepository).findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS);
-        verify(orderRepository).deleteById(order.getId());
+        verify(orderRepository).pullCartLine(user.getId(), product.getId());
+        verify(orderRepository).deleteCartIfEmpty(order.getId());
+        verify(orderRepository, never()).deleteById(any());
         verify(orderRepository, never()).save(order);
     }
+
     @Test
     public void removeProductFromOrder_ShouldNotRemoveProductFromOrder_WhenProductNotFound() {
         User user = mockHelper.mockAuthenticationAndSetContext();
@@ -253,21 +344,19 @@ public class OrderBusinessServiceTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(user.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(new HashSet<>(Set.of(product)))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.pullCartLine(user.getId(), product1)).thenReturn(Optional.empty());
         when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
 
         orderBusinessService.removeProductFromOrder(product1);
 
-        assertThat(order.getProducts()).isNotNull();
-        assertThat(order.getProducts().size()).isEqualTo(1);
-        assertThat(order.getProducts().contains(product)).isTrue();
-
-        verify(authenticationUserService).getAuthenticatedUser();
+        verify(orderRepository).pullCartLine(user.getId(), product1);
         verify(orderRepository).findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS);
         verify(orderRepository, never()).deleteById(order.getId());
+        verify(orderRepository, never()).deleteCartIfEmpty(any());
         verify(orderRepository, never()).save(order);
     }
 
@@ -277,13 +366,13 @@ public class OrderBusinessServiceTest {
         Product product = ProductDataBuilder.buildProductWithAllFields().build();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.pullCartLine(user.getId(), product.getId())).thenReturn(Optional.empty());
         when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderBusinessService.removeProductFromOrder(product.getId()))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Order not found!");
 
-        verify(authenticationUserService).getAuthenticatedUser();
         verify(orderRepository, times(1)).findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS);
     }
 
@@ -294,12 +383,15 @@ public class OrderBusinessServiceTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(user.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+        when(productBusinessService.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of(product));
         when(defaultProductValidationService.isNotValidProduct(product)).thenReturn(false);
+        when(orderRepository.completeCart(order.getId(), order.getVersion(), product.getPrice()))
+                .thenReturn(Optional.of(order.toBuilder().status(OrderStatus.COMPLETED).total(product.getPrice()).build()));
 
         orderBusinessService.payForOrder();
 
@@ -308,8 +400,85 @@ public class OrderBusinessServiceTest {
 
         verify(authenticationUserService).getAuthenticatedUser();
         verify(orderRepository, times(1)).findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS);
-        verify(productBusinessService, times(1)).decreaseProductsAmountAndSave(Set.of(product));
-        verify(orderRepository, times(1)).save(order);
+        assertThat(order.getTotal()).isEqualTo(product.getPrice());
+
+        verify(productBusinessService, times(1)).decreaseProductsAmountAndSave(List.of(product), Map.of(product.getId(), 1));
+        verify(orderRepository, times(1)).completeCart(order.getId(), order.getVersion(), product.getPrice());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    public void payForOrder_ShouldNotReserveStock_WhenOrderChangedDuringCheckout() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(user.getId())
+                .status(OrderStatus.IN_PROGRESS)
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+        when(productBusinessService.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of(product));
+        when(orderRepository.completeCart(order.getId(), order.getVersion(), product.getPrice())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderBusinessService.payForOrder())
+                .isInstanceOf(OrderUpdateException.class)
+                .hasMessage("Order was changed during checkout, please try again");
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
+        verify(productBusinessService, never()).decreaseProductsAmountAndSave(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    public void payForOrder_ShouldThrowException_WhenOrderHasNoLines() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(user.getId())
+                .status(OrderStatus.IN_PROGRESS)
+                .lines(new ArrayList<>())
+                .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderBusinessService.payForOrder())
+                .isInstanceOf(OrderUpdateException.class)
+                .hasMessage("Order is empty");
+
+        verify(orderRepository, never()).completeCart(any(), any(), any());
+        verify(productBusinessService, never()).decreaseProductsAmountAndSave(any(), any());
+    }
+
+    @Test
+    public void payForOrder_ShouldReopenOrder_WhenStockReservationFails() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(user.getId())
+                .status(OrderStatus.IN_PROGRESS)
+                .version(3L)
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build();
+        Order completedOrder = order.toBuilder()
+                .status(OrderStatus.COMPLETED)
+                .total(product.getPrice())
+                .version(4L)
+                .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+        when(productBusinessService.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of(product));
+        when(orderRepository.completeCart(order.getId(), 3L, product.getPrice())).thenReturn(Optional.of(completedOrder));
+        doThrow(new ProductNotAvailableException("Product " + product.getName() + " is out of stock"))
+                .when(productBusinessService).decreaseProductsAmountAndSave(List.of(product), Map.of(product.getId(), 1));
+
+        assertThatThrownBy(() -> orderBusinessService.payForOrder())
+                .isInstanceOf(ProductNotAvailableException.class);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.IN_PROGRESS);
+        verify(orderRepository).reopenCart(order.getId(), 4L);
     }
 
     @Test
@@ -337,11 +506,12 @@ public class OrderBusinessServiceTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(user.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+        when(productBusinessService.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of(product));
         doThrow(ProductNotAvailableException.class).when(defaultProductValidationService).validateProductOrThrow(product);
 
         assertThatThrownBy(() -> orderBusinessService.payForOrder())
@@ -361,11 +531,12 @@ public class OrderBusinessServiceTest {
         Order order = OrderDataBuilder.buildOrderWithAllFields()
                 .ownerId(user.getId())
                 .status(OrderStatus.IN_PROGRESS)
-                .products(Set.of(product))
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
                 .build();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+        when(productBusinessService.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of(product));
         doThrow(ProductNotAvailableException.class).when(defaultProductValidationService).validateProductOrThrow(product);
 
         assertThatThrownBy(() -> orderBusinessService.payForOrder())
@@ -375,4 +546,63 @@ public class OrderBusinessServiceTest {
         verify(orderRepository).findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS);
         verify(orderRepository, never()).save(any());
     }
+
+    @Test
+    public void payForOrder_ShouldThrowException_WhenProductNoLongerExists() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .ownerId(user.getId())
+                .status(OrderStatus.IN_PROGRESS)
+                .lines(OrderLineDataBuilder.buildOrderLines(product))
+                .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(orderRepository.findOrderByOwnerIdAndStatus(user.getId(), OrderStatus.IN_PROGRESS)).thenReturn(Optional.of(order));
+        when(productBusinessService.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> orderBusinessService.payForOrder())
+                .isInstanceOf(ProductNotAvailableException.class)
+                .hasMessage("This product is not available");
+
+        verify(productBusinessService, never()).decreaseProductsAmountAndSave(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    public void findOrderProducts_ShouldReturnProductsInLineOrder() {
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        Product product2 = ProductDataBuilder.buildProductWithAllFields().build();
+        Order order = OrderDataBuilder.buildOrderWithAllFields()
+                .lines(OrderLineDataBuilder.buildOrderLines(product1, product2))
+                .build();
+
+        when(productBusinessService.findAllByIdIn(Set.of(product1.getId(), product2.getId()))).thenReturn(List.of(product2, product1));
+
+        List<Product> products = orderBusinessService.findOrderProducts(order);
+
+        assertThat(products.size()).isEqualTo(2);
+        assertThat(products.get(0).getId()).isEqualTo(product1.getId());
+        assertThat(products.get(1).getId()).isEqualTo(product2.getId());
+
+        verify(productBusinessService, times(1)).findAllByIdIn(Set.of(product1.getId(), product2.getId()));
+    }
+
+    @Test
+    public void calculateTotalSum_ShouldSumLinePriceSnapshotsTimesQuantity() {
+        OrderLine orderLine1 = OrderLine.builder()
+                .productId(String.valueOf(UUID.randomUUID()))
+                .quantity(2)
+                .price(BigDecimal.valueOf(10.50))
+                .build();
+        OrderLine orderLine2 = OrderLine.builder()
+                .productId(String.valueOf(UUID.randomUUID()))
+                .quantity(1)
+                .price(BigDecimal.valueOf(4))
+                .build();
+
+        BigDecimal totalSum = orderBusinessService.calculateTotalSum(List.of(orderLine1, orderLine2));
+
+        assertThat(totalSum).isEqualByComparingTo(BigDecimal.valueOf(25));
+    }
 }
@@ -2,15 +2,16 @@ package com.marketplace.order.service;
 
 import com.marketplace.aws.service.S3FileBusinessService;
 import com.marketplace.aws.service.S3ProductPhotoService;
-import com.marketplace.common.exception.EntityNotFoundException;
 import com.marketplace.order.config.OrderApplicationConfig;
+import com.marketplace.order.kafka.config.InputTopics;
 import com.marketplace.order.repository.OrderRepository;
-import com.marketplace.order.util.builder.OrderDataBuilder;
+import com.marketplace.order.repository.ProcessedEventRepository;
 import com.marketplace.order.util.builder.ProductDataBuilder;
-import com.marketplace.order.web.model.Order;
 import com.marketplace.order.web.model.OrderStatus;
+import com.marketplace.order.web.model.ProcessedEvent;
 import com.marketplace.product.repository.ProductRepository;
 import com.marketplace.product.service.MongoProductCrudService;
+import com.marketplace.product.service.ProductCacheService;
 import com.marketplace.product.web.model.Product;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,7 +22,6 @@ import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
 import java.util.*;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
@@ -46,6 +46,12 @@ public class ProductEventServiceTest {
     @MockitoBean
     private OrderRepository orderRepository;
 
+    @MockitoBean
+    private ProductCacheService productCacheService;
+
+    @MockitoBean
+    private ProcessedEventRepository processedEventRepository;
+
     @Autowired
     private ProductEventService productEventService;
 
@@ -53,38 +59,93 @@ public class ProductEventServiceTest {
     public void deleteProductInstances_ShouldDeleteAllInstances() {
         String fileName = "fileName.png";
         Product product = ProductDataBuilder.buildProductWithAllFields().build();
-        Order order = OrderDataBuilder.buildOrderWithAllFields()
-                .products(new HashSet<>(Set.of(product)))
-                .build();
+        Set<String> productIds = Set.of(product.getId());
 
-        when(mongoProductCrudService.getById(product.getId())).thenReturn(product);
-        when(orderRepository.findByProductsIdsAndStatuses(Set.of(product.getId()), List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS))).thenReturn(new ArrayList<>(List.of(order)));
+        when(productRepository.findAllByIdIn(productIds)).thenReturn(List.of(product));
+        when(orderRepository.pullLinesFromOrders(productIds, List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS))).thenReturn(1L);
         when(s3FileBusinessService.getFilenameFromUrl(product.getPhotoUrl())).thenReturn(fileName);
-        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.detachPhoto(product.getId(), product.getPhotoUrl())).thenReturn(true);
 
-        productEventService.deleteProductInstances(product.getId());
+        productEventService.deleteProductInstances(List.of(product.getId(), product.getId()));
 
-        verify(mongoProductCrudService).getById(product.getId());
-        verify(orderRepository).findByProductsIdsAndStatuses(Set.of(product.getId()), List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS));
-        verify(orderRepository).delete(order);
-        verify(s3FileBusinessService).getFilenameFromUrl(product.getPhotoUrl());
-        verify(productRepository).findById(product.getId());
-        verify(productRepository).delete(product);
+        verify(productRepository).findAllByIdIn(productIds);
+        verify(orderRepository).pullLinesFromOrders(productIds, List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS));
+        verify(orderRepository).deleteEmptyOrders(List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS));
+        verify(productRepository).releasePhotoReference(fileName);
+        verify(productRepository).deleteAllById(productIds);
+        verify(productCacheService).invalidate(productIds);
+    }
+
+    @Test
+    public void deleteProductInstances_ShouldSkipMissingProducts() {
+        String fileName = "fileName.png";
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        String missingProductId = UUID.randomUUID().toString();
+        Set<String> requestedIds = new LinkedHashSet<>(List.of(product.getId(), missingProductId));
+
+        when(productRepository.findAllByIdIn(requestedIds)).thenReturn(List.of(product));
+        when(s3FileBusinessService.getFilenameFromUrl(product.getPhotoUrl())).thenReturn(fileName);
+        when(productRepository.detachPhoto(product.getId(), product.getPhotoUrl())).thenReturn(true);
+
+        productEventService.deleteProductInstances(List.of(product.getId(), missingProductId));
+
+        verify(orderRepository).pullLinesFromOrders(Set.of(product.getId()), List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS));
+        verify(orderRepository, never()).deleteEmptyOrders(any());
+        verify(productRepository).releasePhotoReference(fileName);
+        verify(productRepository).deleteAllById(Set.of(product.getId()));
     }
 
     @Test
     public void deleteProductInstances_ShouldDoNothing_WhenProductNotFound() {
         Product product = ProductDataBuilder.buildProductWithAllFields().build();
 
-        when(mongoProductCrudService.getById(product.getId())).thenThrow(EntityNotFoundException.class);
+        when(productRepository.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of());
+
+        productEventService.deleteProductInstances(List.of(product.getId()));
+
+        verify(productRepository).findAllByIdIn(Set.of(product.getId()));
+        verify(orderRepository, never()).pullLinesFromOrders(any(), any());
+        verify(productRepository, never()).releasePhotoReference(any());
+        verify(productRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    public void handleDeleteProductInstancesEvents_ShouldSkipProcessedEvents() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        String processedProductId = UUID.randomUUID().toString();
+        String eventId = UUID.randomUUID().toString();
+        String processedEventId = UUID.randomUUID().toString();
+        Map<String, String> productIdsByEventId = new LinkedHashMap<>();
+        productIdsByEventId.put(processedEventId, processedProductId);
+        productIdsByEventId.put(eventId, product.getId());
+
+        when(processedEventRepository.findAllByIdIn(productIdsByEventId.keySet())).thenReturn(List.of(ProcessedEvent.builder()
+                .id(processedEventId)
+                .topic(InputTopics.DELETE_PRODUCT_INSTANCES_TOPIC)
+                .build()));
+        when(productRepository.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of(product));
+
+        productEventService.handleDeleteProductInstancesEvents(productIdsByEventId);
+
+        verify(productRepository).findAllByIdIn(Set.of(product.getId()));
+        verify(productRepository).deleteAllById(Set.of(product.getId()));
+        verify(processedEventRepository).saveAll(argThat((List<ProcessedEvent> processedEvents) -> processedEvents.size() == 1
+                && processedEvents.get(0).getId().equals(eventId)));
+    }
+
+    @Test
+    public void handleDeleteProductInstancesEvents_ShouldDoNothing_WhenAllEventsProcessed() {
+        String eventId = UUID.randomUUID().toString();
+        Map<String, String> productIdsByEventId = Map.of(eventId, UUID.randomUUID().toString());
+
+        when(processedEventRepository.findAllByIdIn(productIdsByEventId.keySet())).thenReturn(List.of(ProcessedEvent.builder()
+                .id(eventId)
+                .build()));
 
-        productEventService.deleteProductInstances(product.getId());
+        productEventService.handleDeleteProductInstancesEvents(productIdsByEventId);
 
-        verify(mongoProductCrudService).getById(product.getId());
-        verify(orderRepository, never()).findByProductsIdsAndStatuses(Set.of(product.getId()), List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS));
-        verify(orderRepository, never()).delete(any());
-        verify(s3FileBusinessService, never()).getFilenameFromUrl(product.getPhotoUrl());
-        verify(productRepository, never()).findById(product.getId());
-        verify(productRepository, never()).delete(product);
+        verify(productRepository, never()).findAllByIdIn(any());
+        verify(productRepository, never()).deleteAllById(any());
+        verify(processedEventRepository, never()).saveAll(any());
     }
 }
@@ -3,7 +3,6 @@ package com.marketplace.order.util.builder;
 import com.marketplace.order.web.model.Order;
 import com.marketplace.order.web.model.OrderStatus;
 
-import java.util.Set;
 import java.util.UUID;
 
 public class OrderDataBuilder {
@@ -12,7 +11,7 @@ public class OrderDataBuilder {
         return Order.builder()
                 .id(String.valueOf(UUID.randomUUID()))
                 .ownerId(String.valueOf(UUID.randomUUID()))
-                .products(Set.of(ProductDataBuilder.buildProductWithAllFields().build()))
+                .lines(OrderLineDataBuilder.buildOrderLines(ProductDataBuilder.buildProductWithAllFields().build()))
                 .address(String.valueOf(UUID.randomUUID()))
                 .status(OrderStatus.CREATED);
     }
@@ -0,0 +1,22 @@
+package com.marketplace.order.util.builder;
+
+import com.marketplace.order.web.model.OrderLine;
+import com.marketplace.product.web.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class OrderLineDataBuilder {
+
+    public static List<OrderLine> buildOrderLines(Product... products) {
+        return new ArrayList<>(Arrays.stream(products)
+                .map(product -> OrderLine.builder()
+                        .productId(product.getId())
+                        .quantity(1)
+                        .price(product.getPrice())
+                        .build())
+                .toList());
+    }
+
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableAutoConfiguration
@@ -13,5 +14,6 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
         "com.marketplace.aws"
 })
 @EnableMongoRepositories(basePackages = {"com.marketplace.product.repository"})
+@EnableScheduling
 public class ProductApplicationConfig {
 }
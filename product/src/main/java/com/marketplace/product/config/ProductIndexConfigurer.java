@@ -0,0 +1,83 @@
+package com.marketplace.product.config;
+
+import com.marketplace.product.web.model.Product;
+import com.marketplace.product.web.model.ProductOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+
+import java.util.List;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ProductIndexConfigurer {
+
+    public static final String NEWEST_INDEX = "createdAt_id";
+
+    public static final String PRICE_INDEX = "price_id";
+
+    public static final String OWNER_NEWEST_INDEX = "ownerId_createdAt_id";
+
+    public static final String OWNER_PRICE_INDEX = "ownerId_price_id";
+
+    public static final String SEARCH_INDEX = "name_description_text";
+
+    public static final String OUTBOX_CREATED_AT_INDEX = "createdAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureProductIndexes() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(Product.class);
+
+        List<IndexDefinition> indexDefinitions = List.of(
+                new Index()
+                        .on("createdAt", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC)
+                        .named(NEWEST_INDEX),
+                new Index()
+                        .on("price", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC)
+                        .named(PRICE_INDEX),
+                new Index()
+                        .on("ownerId", Sort.Direction.ASC)
+                        .on("createdAt", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC)
+                        .named(OWNER_NEWEST_INDEX),
+                new Index()
+                        .on("ownerId", Sort.Direction.ASC)
+                        .on("price", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC)
+                        .named(OWNER_PRICE_INDEX),
+                new TextIndexDefinition.TextIndexDefinitionBuilder()
+                        .onField("name", 3F)
+                        .onField("description")
+                        .named(SEARCH_INDEX)
+                        .build());
+
+        try {
+            for (IndexDefinition indexDefinition : indexDefinitions) {
+                indexOperations.ensureIndex(indexDefinition);
+                log.info("[PRODUCT_INDEX_CONFIGURER]: Index {} is ensured", indexDefinition.getIndexOptions().get("name"));
+            }
+
+            mongoTemplate.indexOps(ProductOutboxEvent.class).ensureIndex(new Index()
+                    .on("createdAt", Sort.Direction.ASC)
+                    .named(OUTBOX_CREATED_AT_INDEX));
+            log.info("[PRODUCT_INDEX_CONFIGURER]: Index {} is ensured", OUTBOX_CREATED_AT_INDEX);
+        } catch (DataAccessException exception) {
+            log.error("[PRODUCT_INDEX_CONFIGURER]: Index creation failed {}", exception.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.marketplace.product.config;
+
+import com.marketplace.product.web.model.Product;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "product.migration.price-decimal-enabled", havingValue = "true")
+public class ProductPriceMigration implements SmartInitializingSingleton {
+
+    private static final String PRICE_FIELD = "price";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Runs before the web server starts, so price range searches never compare string prices.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        convertStringPricesToDecimal();
+    }
+
+    public void convertStringPricesToDecimal() {
+        try {
+            UpdateResult updateResult = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where(PRICE_FIELD).type(JsonSchemaObject.Type.STRING)),
+                    AggregationUpdate.update().set(PRICE_FIELD).toValue(ConvertOperators.valueOf(PRICE_FIELD).convertToDecimal()),
+                    Product.class);
+
+            log.info("[PRODUCT_PRICE_MIGRATION]: {} product prices converted to decimal", updateResult.getModifiedCount());
+        } catch (DataAccessException exception) {
+            log.error("[PRODUCT_PRICE_MIGRATION]: Price conversion failed {}", exception.getMessage());
+        }
+    }
+
+}
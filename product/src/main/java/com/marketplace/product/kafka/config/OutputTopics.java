@@ -2,4 +2,5 @@ package com.marketplace.product.kafka.config;
 
 public interface OutputTopics {
     String DELETE_PRODUCT_INSTANCES_TOPIC = "DELETE_PRODUCT_INSTANCES_TOPIC";
+    String PRODUCT_CACHE_INVALIDATION_TOPIC = "PRODUCT_CACHE_INVALIDATION_TOPIC";
 }
@@ -0,0 +1,15 @@
+package com.marketplace.product.kafka.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ProductKafkaTopicConfigurer {
+
+    @Bean
+    public NewTopic productCacheInvalidationTopic() {
+        return new NewTopic(OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, 3, (short) 2);
+    }
+
+}
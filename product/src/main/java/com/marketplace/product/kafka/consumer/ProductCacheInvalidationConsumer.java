@@ -0,0 +1,29 @@
+package com.marketplace.product.kafka.consumer;
+
+import com.marketplace.product.kafka.config.OutputTopics;
+import com.marketplace.product.service.ProductCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.KafkaListener;
+
+import java.util.List;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ProductCacheInvalidationConsumer {
+
+    private final ProductCacheService productCacheService;
+
+    @KafkaListener(
+            topics = OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC,
+            groupId = "#{'product_cache_invalidation_' + T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest"}
+    )
+    public void listenProductCacheInvalidationEvents(String productId) {
+        log.debug("[PRODUCT_CACHE_INVALIDATION_CONSUMER]: Received {} for product {}", OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId);
+        productCacheService.evict(List.of(productId));
+    }
+
+}
@@ -1,11 +1,21 @@
 package com.marketplace.product.kafka.producer;
 
+import com.marketplace.common.kafka.config.EventHeaders;
 import com.marketplace.product.kafka.config.OutputTopics;
+import com.marketplace.product.web.model.ProductOutboxEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -13,9 +23,33 @@ public class ProductEventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
-    public void sendDeleteProductInstancesEvent(String productId) {
-        log.info("[PRODUCT_EVENT_PRODUCER: Sent {} for product deletion", OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC);
-        kafkaTemplate.send(OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC, productId);
+    private final ThreadPoolTaskExecutor kafkaPublishTaskExecutor;
+
+    public CompletableFuture<SendResult<String, Object>> sendOutboxEvent(ProductOutboxEvent outboxEvent) {
+        ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(outboxEvent.getTopic(), outboxEvent.getKey(), outboxEvent.getPayload());
+        producerRecord.headers().add(EventHeaders.EVENT_ID, outboxEvent.getId().getBytes(StandardCharsets.UTF_8));
+
+        log.debug("[PRODUCT_EVENT_PRODUCER]: Sent {} for event {}", outboxEvent.getTopic(), outboxEvent.getId());
+        return kafkaTemplate.send(producerRecord);
+    }
+
+    /**
+     * Best effort: sent off the caller's thread, failures are only logged since the local cache is already evicted.
+     */
+    public void sendProductCacheInvalidationEvent(String productId) {
+        try {
+            CompletableFuture.supplyAsync(() -> kafkaTemplate.send(OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId, productId), kafkaPublishTaskExecutor)
+                    .thenCompose(Function.identity())
+                    .whenComplete((result, exception) -> {
+                        if (exception != null) {
+                            log.error("[PRODUCT_EVENT_PRODUCER]: Failed to send {} for product {}: {}", OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId, exception.getMessage());
+                        } else {
+                            log.debug("[PRODUCT_EVENT_PRODUCER]: Sent {} for product {}", OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId);
+                        }
+                    });
+        } catch (RejectedExecutionException exception) {
+            log.error("[PRODUCT_EVENT_PRODUCER]: Skipped {} for product {}: {}", OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId, exception.getMessage());
+        }
     }
 
 }
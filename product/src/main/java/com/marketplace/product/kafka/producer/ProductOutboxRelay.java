@@ -0,0 +1,97 @@
+package com.marketplace.product.kafka.producer;
+
+import com.marketplace.product.repository.ProductOutboxRepository;
+import com.marketplace.product.web.model.ProductOutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductOutboxRelay {
+
+    private final ProductOutboxRepository productOutboxRepository;
+
+    private final ProductEventProducer productEventProducer;
+
+    private final int batchSize;
+
+    private final Duration sendTimeout;
+
+    private final Duration claimTimeout;
+
+    public ProductOutboxRelay(
+            ProductOutboxRepository productOutboxRepository,
+            ProductEventProducer productEventProducer,
+            @Value("${product.outbox.relay.batch-size:100}") int batchSize,
+            @Value("${product.outbox.relay.send-timeout:PT10S}") Duration sendTimeout,
+            @Value("${product.outbox.relay.claim-timeout:PT1M}") Duration claimTimeout
+    ) {
+        this.productOutboxRepository = productOutboxRepository;
+        this.productEventProducer = productEventProducer;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Scheduled(
+            initialDelayString = "${product.outbox.relay.interval-ms:1000}",
+            fixedDelayString = "${product.outbox.relay.interval-ms:1000}"
+    )
+    public void relayPendingEvents() {
+        List<ProductOutboxEvent> outboxEvents;
+        try {
+            outboxEvents = productOutboxRepository.claimPendingEvents(batchSize, claimTimeout);
+        } catch (DataAccessException exception) {
+            log.error("[PRODUCT_OUTBOX_RELAY]: Pending events lookup failed {}", exception.getMessage());
+            return;
+        }
+
+        if (outboxEvents.isEmpty()) {
+            return;
+        }
+
+        Map<String, CompletableFuture<?>> sendsByEventId = new LinkedHashMap<>();
+        outboxEvents.forEach(outboxEvent -> sendsByEventId.put(outboxEvent.getId(), productEventProducer.sendOutboxEvent(outboxEvent)));
+
+        List<String> relayedEventIds = new ArrayList<>();
+        List<String> failedEventIds = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<?>> send : sendsByEventId.entrySet()) {
+            try {
+                send.getValue().get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                relayedEventIds.add(send.getKey());
+            } catch (ExecutionException | TimeoutException exception) {
+                log.warn("[PRODUCT_OUTBOX_RELAY]: Event {} is not relayed, retrying on next run: {}", send.getKey(), exception.getMessage());
+                failedEventIds.add(send.getKey());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!relayedEventIds.isEmpty()) {
+            productOutboxRepository.deleteAllById(relayedEventIds);
+        }
+
+        if (!failedEventIds.isEmpty()) {
+            productOutboxRepository.releaseClaims(failedEventIds);
+        }
+
+        log.info("[PRODUCT_OUTBOX_RELAY]: Relayed {} of {} pending events", relayedEventIds.size(), outboxEvents.size());
+    }
+
+}
@@ -5,6 +5,7 @@ import com.marketplace.product.web.dto.ProductResponse;
 import com.marketplace.product.web.model.Product;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -20,6 +21,8 @@ public class ProductEntityMapper {
                 .price(product.getPrice())
                 .amount(product.getAmount())
                 .photoUrl(product.getPhotoUrl())
+                .photoVariantUrls(product.getPhotoVariantUrls())
+                .photoStatus(product.getPhotoStatus())
                 .active(product.getActive())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
@@ -52,4 +55,10 @@ public class ProductEntityMapper {
                 .collect(Collectors.toSet());
     }
 
+    public List<ProductResponse> mapProductsToProductResponseDtos(List<Product> products) {
+        return products.stream()
+                .map(this::mapProductToProductResponseDto)
+                .toList();
+    }
+
 }
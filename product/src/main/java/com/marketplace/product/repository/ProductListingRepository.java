@@ -0,0 +1,12 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.dto.ProductListingQuery;
+import com.marketplace.product.web.model.Product;
+
+import java.util.List;
+
+public interface ProductListingRepository {
+
+    List<Product> findListing(ProductListingQuery listingQuery, Product position, int limit);
+
+}
@@ -0,0 +1,67 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.dto.ProductListingQuery;
+import com.marketplace.product.web.dto.ProductSortOrder;
+import com.marketplace.product.web.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductListingRepositoryImpl implements ProductListingRepository {
+
+    private static final String[] LISTING_FIELDS = {
+            "name", "ownerId", "description", "price", "amount", "photoUrl", "photoVariantUrls", "photoStatus", "active", "createdAt", "updatedAt", "version"
+    };
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Product> findListing(ProductListingQuery listingQuery, Product position, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+
+        if (listingQuery.getOwnerId() != null && !listingQuery.getOwnerId().isBlank()) {
+            criteria.add(Criteria.where("ownerId").is(listingQuery.getOwnerId()));
+        }
+
+        if (listingQuery.getMinPrice() != null) {
+            criteria.add(Criteria.where("price").gte(listingQuery.getMinPrice()));
+        }
+
+        if (listingQuery.getMaxPrice() != null) {
+            criteria.add(Criteria.where("price").lte(listingQuery.getMaxPrice()));
+        }
+
+        if (Boolean.TRUE.equals(listingQuery.getInStock())) {
+            criteria.add(Criteria.where("amount").gt(0));
+        }
+
+        if (position != null) {
+            criteria.add(buildPositionCriteria(listingQuery.getSortOrder(), position));
+        }
+
+        Query query = criteria.isEmpty() ? new Query() : Query.query(new Criteria().andOperator(criteria));
+        query.fields().include(LISTING_FIELDS);
+
+        return mongoTemplate.find(query.with(listingQuery.getSortOrder().toSort()).limit(limit), Product.class);
+    }
+
+    private Criteria buildPositionCriteria(ProductSortOrder sortOrder, Product position) {
+        Object positionValue = sortOrder == ProductSortOrder.NEWEST ? position.getCreatedAt() : position.getPrice();
+
+        if (sortOrder.getDirection() == Sort.Direction.ASC) {
+            return new Criteria().orOperator(
+                    Criteria.where(sortOrder.getField()).gt(positionValue),
+                    Criteria.where(sortOrder.getField()).is(positionValue).and("_id").gt(position.getId()));
+        }
+
+        return new Criteria().orOperator(
+                Criteria.where(sortOrder.getField()).lt(positionValue),
+                Criteria.where(sortOrder.getField()).is(positionValue).and("_id").lt(position.getId()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.model.ProductOutboxEvent;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductOutboxClaimRepository {
+
+    List<ProductOutboxEvent> claimPendingEvents(int limit, Duration claimTimeout);
+
+    void releaseClaims(Collection<String> eventIds);
+
+}
@@ -0,0 +1,54 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.model.ProductOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductOutboxClaimRepositoryImpl implements ProductOutboxClaimRepository {
+
+    private static final String CLAIMED_UNTIL_FIELD = "claimedUntil";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Events are claimed one by one, so each relay node sends a disjoint set; a claim of a dead node expires after the timeout.
+     */
+    @Override
+    public List<ProductOutboxEvent> claimPendingEvents(int limit, Duration claimTimeout) {
+        List<ProductOutboxEvent> outboxEvents = new ArrayList<>();
+        while (outboxEvents.size() < limit) {
+            LocalDateTime now = LocalDateTime.now();
+            Query pendingQuery = Query.query(new Criteria().orOperator(
+                            Criteria.where(CLAIMED_UNTIL_FIELD).exists(false),
+                            Criteria.where(CLAIMED_UNTIL_FIELD).lt(now)))
+                    .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+
+            ProductOutboxEvent outboxEvent = mongoTemplate.findAndModify(pendingQuery, new Update().set(CLAIMED_UNTIL_FIELD, now.plus(claimTimeout)), FindAndModifyOptions.options().returnNew(true), ProductOutboxEvent.class);
+            if (outboxEvent == null) {
+                break;
+            }
+
+            outboxEvents.add(outboxEvent);
+        }
+
+        return outboxEvents;
+    }
+
+    @Override
+    public void releaseClaims(Collection<String> eventIds) {
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(eventIds)), new Update().unset(CLAIMED_UNTIL_FIELD), ProductOutboxEvent.class);
+    }
+
+}
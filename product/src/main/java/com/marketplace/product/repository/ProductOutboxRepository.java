@@ -0,0 +1,7 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.model.ProductOutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ProductOutboxRepository extends MongoRepository<ProductOutboxEvent, String>, ProductOutboxClaimRepository {
+}
@@ -0,0 +1,29 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.model.Product;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ProductPhotoRepository {
+
+    Optional<Product> completePhotoUpload(String productId, String photoName, String photoUrl, Map<String, String> photoVariantUrls);
+
+    boolean failPhotoUpload(String productId, String photoName);
+
+    List<String> failStalePhotoUploads(LocalDateTime deadline, int limit);
+
+    boolean detachPhoto(String productId, String photoUrl);
+
+    boolean acquirePhotoReference(String fileName);
+
+    void releasePhotoReference(String fileName);
+
+    List<String> claimReleasedPhotoReferences(LocalDateTime releasedBefore, int limit);
+
+    void removePhotoReferences(Collection<String> fileNames);
+
+}
@@ -0,0 +1,187 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.model.PhotoReference;
+import com.marketplace.product.web.model.PhotoStatus;
+import com.marketplace.product.web.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ProductPhotoRepositoryImpl implements ProductPhotoRepository {
+
+    private static final String PHOTO_STATUS_FIELD = "photoStatus";
+
+    private static final String PENDING_PHOTO_NAME_FIELD = "pendingPhotoName";
+
+    private static final String PENDING_PHOTO_SINCE_FIELD = "pendingPhotoSince";
+
+    private static final String PHOTO_VARIANT_URLS_FIELD = "photoVariantUrls";
+
+    private static final String PHOTO_URL_FIELD = "photoUrl";
+
+    private static final String REFERENCES_FIELD = "references";
+
+    private static final String RELEASED_AT_FIELD = "releasedAt";
+
+    private static final String DELETING_AT_FIELD = "deletingAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Product> completePhotoUpload(String productId, String photoName, String photoUrl, Map<String, String> photoVariantUrls) {
+        Update update = resolvePendingPhoto(PhotoStatus.UPLOADED)
+                .set(PHOTO_URL_FIELD, photoUrl);
+
+        if (photoVariantUrls.isEmpty()) {
+            update.unset(PHOTO_VARIANT_URLS_FIELD);
+        } else {
+            update.set(PHOTO_VARIANT_URLS_FIELD, photoVariantUrls);
+        }
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(pendingPhotoQuery(productId, photoName), update, FindAndModifyOptions.options().returnNew(false), Product.class));
+    }
+
+    @Override
+    public boolean failPhotoUpload(String productId, String photoName) {
+        return mongoTemplate.updateFirst(pendingPhotoQuery(productId, photoName), resolvePendingPhoto(PhotoStatus.FAILED), Product.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public List<String> failStalePhotoUploads(LocalDateTime deadline, int limit) {
+        Query staleQuery = Query.query(Criteria.where(PHOTO_STATUS_FIELD).is(PhotoStatus.PENDING)
+                .and(PENDING_PHOTO_NAME_FIELD).exists(true)
+                .orOperator(
+                        Criteria.where(PENDING_PHOTO_SINCE_FIELD).lt(deadline),
+                        Criteria.where(PENDING_PHOTO_SINCE_FIELD).exists(false).and("updatedAt").lt(deadline)));
+
+        Query idsQuery = Query.of(staleQuery).limit(limit);
+        idsQuery.fields().include("_id");
+        List<String> productIds = mongoTemplate.find(idsQuery, Product.class).stream()
+                .map(Product::getId)
+                .toList();
+
+        if (!productIds.isEmpty()) {
+            mongoTemplate.updateMulti(Query.of(staleQuery).addCriteria(Criteria.where("_id").in(productIds)), resolvePendingPhoto(PhotoStatus.FAILED), Product.class);
+        }
+
+        return productIds;
+    }
+
+    @Override
+    public boolean detachPhoto(String productId, String photoUrl) {
+        Query photoQuery = Query.query(Criteria.where("_id").is(productId)
+                .and(PHOTO_URL_FIELD).is(photoUrl));
+        Update update = new Update()
+                .unset(PHOTO_URL_FIELD)
+                .unset(PHOTO_VARIANT_URLS_FIELD)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+
+        return mongoTemplate.updateFirst(photoQuery, update, Product.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * A reference claimed for deletion cannot be acquired again: the upsert misses it and collides on the id.
+     * The first collision is retried because two uploads of a new photo may race to insert the same reference.
+     */
+    @Override
+    public boolean acquirePhotoReference(String fileName) {
+        Query acquirableQuery = Query.query(Criteria.where("_id").is(fileName)
+                .and(DELETING_AT_FIELD).exists(false));
+        Update update = new Update()
+                .inc(REFERENCES_FIELD, 1)
+                .unset(RELEASED_AT_FIELD);
+
+        try {
+            mongoTemplate.upsert(acquirableQuery, update, PhotoReference.class);
+        } catch (DuplicateKeyException exception) {
+            try {
+                mongoTemplate.upsert(acquirableQuery, update, PhotoReference.class);
+            } catch (DuplicateKeyException retryException) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Releasing the last reference only marks the photo; the sweeper deletes it once the grace period has passed.
+     * A photo stored before reference counting has no reference, so it is marked as released right away.
+     */
+    @Override
+    public void releasePhotoReference(String fileName) {
+        Query referenceQuery = Query.query(Criteria.where("_id").is(fileName));
+        PhotoReference photoReference = mongoTemplate.findAndModify(referenceQuery, new Update().inc(REFERENCES_FIELD, -1), FindAndModifyOptions.options().returnNew(true), PhotoReference.class);
+        if (photoReference == null) {
+            mongoTemplate.upsert(referenceQuery, new Update().setOnInsert(REFERENCES_FIELD, 0).setOnInsert(RELEASED_AT_FIELD, LocalDateTime.now()), PhotoReference.class);
+            return;
+        }
+
+        if (photoReference.getReferences() > 0) {
+            return;
+        }
+
+        Query unreferencedQuery = Query.query(Criteria.where("_id").is(fileName)
+                .and(REFERENCES_FIELD).lte(0));
+        mongoTemplate.updateFirst(unreferencedQuery, new Update().set(RELEASED_AT_FIELD, LocalDateTime.now()), PhotoReference.class);
+    }
+
+    /**
+     * Claims are taken one by one so concurrent sweepers never delete the same photo; a claim older than the deadline is taken over.
+     */
+    @Override
+    public List<String> claimReleasedPhotoReferences(LocalDateTime releasedBefore, int limit) {
+        Query releasedQuery = Query.query(Criteria.where(REFERENCES_FIELD).lte(0)
+                .and(RELEASED_AT_FIELD).lt(releasedBefore)
+                .orOperator(
+                        Criteria.where(DELETING_AT_FIELD).exists(false),
+                        Criteria.where(DELETING_AT_FIELD).lt(releasedBefore)));
+
+        List<String> fileNames = new ArrayList<>();
+        while (fileNames.size() < limit) {
+            PhotoReference photoReference = mongoTemplate.findAndModify(releasedQuery, new Update().set(DELETING_AT_FIELD, LocalDateTime.now()), PhotoReference.class);
+            if (photoReference == null) {
+                break;
+            }
+
+            fileNames.add(photoReference.getId());
+        }
+
+        return fileNames;
+    }
+
+    @Override
+    public void removePhotoReferences(Collection<String> fileNames) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(fileNames)
+                .and(REFERENCES_FIELD).lte(0)
+                .and(DELETING_AT_FIELD).exists(true)), PhotoReference.class);
+    }
+
+    private Query pendingPhotoQuery(String productId, String photoName) {
+        return Query.query(Criteria.where("_id").is(productId)
+                .and(PENDING_PHOTO_NAME_FIELD).is(photoName));
+    }
+
+    private Update resolvePendingPhoto(PhotoStatus photoStatus) {
+        return new Update()
+                .set(PHOTO_STATUS_FIELD, photoStatus)
+                .unset(PENDING_PHOTO_NAME_FIELD)
+                .unset(PENDING_PHOTO_SINCE_FIELD)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+    }
+}
@@ -7,7 +7,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface ProductRepository extends MongoRepository<Product,String> {
+public interface ProductRepository extends MongoRepository<Product,String>, ProductStockRepository, ProductPhotoRepository, ProductSearchRepository, ProductListingRepository {
 
     Optional<Product> findProductByOwnerId(String ownerId);
 
@@ -0,0 +1,12 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.dto.ProductSearchQuery;
+import com.marketplace.product.web.model.Product;
+
+import java.util.List;
+
+public interface ProductSearchRepository {
+
+    List<Product> search(ProductSearchQuery searchQuery, long skip, int limit);
+
+}
@@ -0,0 +1,56 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.dto.ProductSearchQuery;
+import com.marketplace.product.web.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    private static final String PRICE_FIELD = "price";
+
+    private static final String ACTIVE_FIELD = "active";
+
+    private static final Sort FALLBACK_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Product> search(ProductSearchQuery searchQuery, long skip, int limit) {
+        Query query = searchQuery.hasText()
+                ? TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchQuery.getText().trim())).sortByScore()
+                : new Query().with(FALLBACK_SORT);
+
+        if (searchQuery.getActive() != null) {
+            query.addCriteria(Criteria.where(ACTIVE_FIELD).is(searchQuery.getActive()));
+        }
+
+        if (searchQuery.getMinPrice() != null || searchQuery.getMaxPrice() != null) {
+            query.addCriteria(buildPriceCriteria(searchQuery));
+        }
+
+        return mongoTemplate.find(query.skip(skip).limit(limit), Product.class);
+    }
+
+    private Criteria buildPriceCriteria(ProductSearchQuery searchQuery) {
+        Criteria priceCriteria = Criteria.where(PRICE_FIELD);
+
+        if (searchQuery.getMinPrice() != null) {
+            priceCriteria.gte(searchQuery.getMinPrice());
+        }
+
+        if (searchQuery.getMaxPrice() != null) {
+            priceCriteria.lte(searchQuery.getMaxPrice());
+        }
+
+        return priceCriteria;
+    }
+}
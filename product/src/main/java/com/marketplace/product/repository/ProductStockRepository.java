@@ -0,0 +1,13 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.model.Product;
+
+import java.util.Optional;
+
+public interface ProductStockRepository {
+
+    Optional<Product> decreaseAmountIfAvailable(String productId, int quantity);
+
+    void increaseAmount(String productId, int quantity);
+
+}
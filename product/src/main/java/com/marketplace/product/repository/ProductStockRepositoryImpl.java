@@ -0,0 +1,64 @@
+package com.marketplace.product.repository;
+
+import com.marketplace.product.web.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String AMOUNT_FIELD = "amount";
+
+    private static final String ACTIVE_FIELD = "active";
+
+    private static final String VERSION_FIELD = "version";
+
+    private static final String UPDATED_AT_FIELD = "updatedAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Product> decreaseAmountIfAvailable(String productId, int quantity) {
+        Query query = Query.query(Criteria.where("_id").is(productId)
+                .and(ACTIVE_FIELD).is(true)
+                .and(AMOUNT_FIELD).gte(quantity));
+
+        AggregationUpdate update = AggregationUpdate.update()
+                .set(AMOUNT_FIELD).toValue(ArithmeticOperators.valueOf(AMOUNT_FIELD).subtract(quantity))
+                .set(ACTIVE_FIELD).toValue(ComparisonOperators.valueOf(AMOUNT_FIELD).greaterThanValue(0))
+                .set(VERSION_FIELD).toValue(increasedVersion())
+                .set(UPDATED_AT_FIELD).toValue(LocalDateTime.now());
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Product.class));
+    }
+
+    @Override
+    public void increaseAmount(String productId, int quantity) {
+        Query query = Query.query(Criteria.where("_id").is(productId));
+
+        AggregationUpdate update = AggregationUpdate.update()
+                .set(ACTIVE_FIELD).toValue(ConditionalOperators.when(ComparisonOperators.valueOf(AMOUNT_FIELD).equalToValue(0))
+                        .then(true)
+                        .otherwiseValueOf(ACTIVE_FIELD))
+                .set(AMOUNT_FIELD).toValue(ArithmeticOperators.valueOf(AMOUNT_FIELD).add(quantity))
+                .set(VERSION_FIELD).toValue(increasedVersion())
+                .set(UPDATED_AT_FIELD).toValue(LocalDateTime.now());
+
+        mongoTemplate.updateFirst(query, update, Product.class);
+    }
+
+    private AggregationExpression increasedVersion() {
+        return ArithmeticOperators.valueOf(ConditionalOperators.ifNull(VERSION_FIELD).then(0L)).add(1);
+    }
+}
@@ -1,46 +1,71 @@
 package com.marketplace.product.service;
 
-import com.marketplace.aws.service.S3FileManagerService;
-import com.marketplace.aws.service.S3FileUploadService;
+import com.marketplace.aws.model.UploadedFile;
 import com.marketplace.common.exception.EntityNotFoundException;
-import com.marketplace.product.kafka.producer.ProductEventProducer;
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
 import com.marketplace.product.mapper.ProductEntityMapper;
 import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.web.dto.ProductListingQuery;
+import com.marketplace.product.web.dto.ProductPage;
 import com.marketplace.product.web.dto.ProductRequest;
+import com.marketplace.product.web.dto.ProductSearchPage;
+import com.marketplace.product.web.dto.ProductSearchQuery;
+import com.marketplace.product.web.dto.ProductSortOrder;
+import com.marketplace.product.web.model.PhotoStatus;
 import com.marketplace.product.web.model.Product;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.security.AuthenticationUserService;
 import com.marketplace.usercore.service.DefaultUserValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.net.URL;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MongoProductCrudService implements ProductCrudService {
 
+    private static final String CURSOR_DELIMITER = "|";
+
     private final ProductRepository productRepository;
 
     private final ProductEntityMapper productEntityMapper;
 
     private final AuthenticationUserService authenticationUserService;
 
-    private final S3FileUploadService s3FileUploadService;
+    private final DefaultUserValidationService defaultUserValidationService;
+
+    private final ProductOutboxService productOutboxService;
 
-    private final S3FileManagerService s3FileManagerService;
+    private final MongoPartialUpdateService mongoPartialUpdateService;
 
-    private final DefaultUserValidationService defaultUserValidationService;
+    private final ProductPhotoUploadService productPhotoUploadService;
+
+    private final ProductCacheService productCacheService;
+
+    @Value("${product.catalog.page-size:12}")
+    private int catalogPageSize;
+
+    @Value("${product.catalog.max-page-size:60}")
+    private int catalogMaxPageSize;
 
-    private final ProductEventProducer productEventProducer;
+    @Value("${product.search.max-page:50}")
+    private int searchMaxPage;
 
     @Transactional
     @Override
@@ -51,12 +76,23 @@ public class MongoProductCrudService implements ProductCrudService {
                 .ownerId(authenticatedUser.getId())
                 .build();
 
-        if (productRequest.getPhoto() != null) {
-            URL url = s3FileUploadService.uploadFile(productRequest.getPhoto(), String.valueOf(UUID.randomUUID()));
-            product.setPhotoUrl(url.toString());
+        if (productRequest.getPhoto() == null) {
+            Product savedProduct = productRepository.save(product);
+            productCacheService.invalidate(savedProduct.getId());
+            return savedProduct;
         }
 
-        return productRepository.save(product);
+        String photoName = String.valueOf(UUID.randomUUID());
+        CompletableFuture<UploadedFile> photoUpload = productPhotoUploadService.uploadPhoto(productRequest.getPhoto());
+        product.setPhotoStatus(PhotoStatus.PENDING);
+        product.setPendingPhotoName(photoName);
+        product.setPendingPhotoSince(LocalDateTime.now());
+
+        Product savedProduct = saveOrDiscardPhoto(product, photoUpload);
+        productCacheService.invalidate(savedProduct.getId());
+        productPhotoUploadService.completeOnUpload(savedProduct.getId(), photoName, photoUpload);
+
+        return savedProduct;
     }
 
     @Override
@@ -64,9 +100,54 @@ public class MongoProductCrudService implements ProductCrudService {
         return productRepository.findAll();
     }
 
+    @Override
+    public ProductPage findPage(ProductListingQuery listingQuery) {
+        int size = resolvePageSize(listingQuery.getSize());
+        ProductSortOrder sortOrder = listingQuery.getSortOrder();
+        Product position = decodeCursor(listingQuery.getCursor(), sortOrder).orElse(null);
+
+        List<Product> products = productRepository.findListing(listingQuery, position, size + 1);
+
+        if (products.size() <= size) {
+            return ProductPage.builder()
+                    .products(products)
+                    .build();
+        }
+
+        List<Product> pageProducts = products.subList(0, size);
+        return ProductPage.builder()
+                .products(pageProducts)
+                .nextCursor(encodeCursor(pageProducts.get(size - 1), sortOrder))
+                .build();
+    }
+
+    @Override
+    public ProductSearchPage search(ProductSearchQuery searchQuery) {
+        int size = resolvePageSize(searchQuery.getSize());
+        int page = resolveSearchPage(searchQuery.getPage());
+
+        if (searchQuery.getMinPrice() != null && searchQuery.getMaxPrice() != null && searchQuery.getMinPrice().compareTo(searchQuery.getMaxPrice()) > 0) {
+            return ProductSearchPage.builder()
+                    .products(List.of())
+                    .page(page)
+                    .size(size)
+                    .lastPage(true)
+                    .build();
+        }
+
+        List<Product> products = productRepository.search(searchQuery, (long) page * size, size + 1);
+
+        return ProductSearchPage.builder()
+                .products(products.size() > size ? products.subList(0, size) : products)
+                .page(page)
+                .size(size)
+                .lastPage(products.size() <= size || page + 1 >= searchMaxPage)
+                .build();
+    }
+
     @Override
     public Product getById(String productId) {
-        return productRepository.findById(productId)
+        return productCacheService.findById(productId, productRepository::findById)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found!"));
     }
 
@@ -75,20 +156,41 @@ public class MongoProductCrudService implements ProductCrudService {
     public Product update(String productId, ProductRequest productRequest) {
         Product product = validateProductAccessOrThrow(productId);
 
-        updateProductByRequest(product, productRequest);
+        PartialUpdate partialUpdate = buildPartialUpdate(productRequest);
+        if (productRequest.getPhoto() == null && partialUpdate.isEmpty()) {
+            return product;
+        }
 
-        return productRepository.save(product);
+        if (productRequest.getPhoto() == null) {
+            Product updatedProduct = mongoPartialUpdateService.updateOrThrow(productId, product.getVersion(), partialUpdate, Product.class);
+            productCacheService.invalidate(productId);
+            return updatedProduct;
+        }
+
+        String photoName = String.valueOf(UUID.randomUUID());
+        CompletableFuture<UploadedFile> photoUpload = productPhotoUploadService.uploadPhoto(productRequest.getPhoto());
+        partialUpdate.setIfPresent("photoStatus", PhotoStatus.PENDING)
+                .setIfPresent("pendingPhotoName", photoName)
+                .setIfPresent("pendingPhotoSince", LocalDateTime.now());
+
+        Product updatedProduct = updateOrDiscardPhoto(product, partialUpdate, photoUpload);
+        productCacheService.invalidate(productId);
+        productPhotoUploadService.completeOnUpload(productId, photoName, photoUpload);
+
+        return updatedProduct;
     }
 
+    @Transactional
     @Override
     public void delete(String productId) {
         validateProductAccessOrThrow(productId);
-        productEventProducer.sendDeleteProductInstancesEvent(productId);
+        productOutboxService.enqueueDeleteProductInstancesEvent(productId);
     }
 
     private Product validateProductAccessOrThrow(String productId) {
         User authenticatedUser = authenticationUserService.getAuthenticatedUser();
-        Product product = getById(productId);
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found!"));
 
         if (defaultUserValidationService.validateEntityOwnerOrAdmin(authenticatedUser, product.getOwnerId())) {
             return product;
@@ -97,30 +199,85 @@ public class MongoProductCrudService implements ProductCrudService {
         throw new AccessDeniedException("Access denied!");
     }
 
-    private void updateProductByRequest(Product product, ProductRequest productRequest) {
-        Optional.ofNullable(productRequest.getName()).ifPresent(product::setName);
-        Optional.ofNullable(productRequest.getPrice()).ifPresent(product::setPrice);
-        Optional.ofNullable(productRequest.getDescription()).ifPresent(product::setDescription);
-        Optional.ofNullable(productRequest.getActive()).ifPresent(product::setActive);
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1) {
+            return catalogPageSize;
+        }
+
+        return Math.min(pageSize, catalogMaxPageSize);
+    }
+
+    private int resolveSearchPage(Integer page) {
+        if (page == null || page < 0) {
+            return 0;
+        }
+
+        return Math.min(page, searchMaxPage - 1);
+    }
+
+    private String encodeCursor(Product product, ProductSortOrder sortOrder) {
+        Object positionValue = sortOrder == ProductSortOrder.NEWEST ? product.getCreatedAt() : product.getPrice();
+        if (positionValue == null) {
+            log.warn("[MONGO_PRODUCT_CRUD_SERVICE]: Product {} has no {}, next page is unavailable", product.getId(), sortOrder.getField());
+            return null;
+        }
 
-        updateAmount(product, productRequest.getAmount());
-        removePreviousAndAddNewPhoto(product, productRequest.getPhoto());
+        String position = sortOrder.name() + CURSOR_DELIMITER + positionValue + CURSOR_DELIMITER + product.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
-    private void updateAmount(Product product, Integer amount) {
-        Optional.ofNullable(amount).ifPresent(productAmount -> {
-            if (amount == 0) {
-                product.setActive(false);
+    private Optional<Product> decodeCursor(String cursor, ProductSortOrder sortOrder) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(Pattern.quote(CURSOR_DELIMITER), 3);
+            if (position.length != 3 || ProductSortOrder.valueOf(position[0]) != sortOrder) {
+                log.warn("[MONGO_PRODUCT_CRUD_SERVICE]: Cursor {} does not match sort order {}, falling back to the first page", cursor, sortOrder);
+                return Optional.empty();
             }
-            product.setAmount(amount);
-        });
+
+            Product.ProductBuilder<?, ?> productBuilder = Product.builder().id(position[2]);
+            return Optional.of(sortOrder == ProductSortOrder.NEWEST
+                    ? productBuilder.createdAt(LocalDateTime.parse(position[1])).build()
+                    : productBuilder.price(new BigDecimal(position[1])).build());
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            log.warn("[MONGO_PRODUCT_CRUD_SERVICE]: Cursor {} is malformed, falling back to the first page", cursor);
+            return Optional.empty();
+        }
+    }
+
+    private Product saveOrDiscardPhoto(Product product, CompletableFuture<UploadedFile> photoUpload) {
+        try {
+            return productRepository.save(product);
+        } catch (RuntimeException exception) {
+            productPhotoUploadService.discardOnUpload(photoUpload);
+            throw exception;
+        }
     }
 
-    private void removePreviousAndAddNewPhoto(Product product, MultipartFile requestPhoto) {
-        Optional.ofNullable(requestPhoto).ifPresent(multipartFile -> {
-            s3FileUploadService.deleteFile(s3FileManagerService.getFilenameFromUrl(product.getPhotoUrl()));
-            URL url = s3FileUploadService.uploadFile(requestPhoto, String.valueOf(UUID.randomUUID()));
-            product.setPhotoUrl(String.valueOf(url));
-        });
+    private Product updateOrDiscardPhoto(Product product, PartialUpdate partialUpdate, CompletableFuture<UploadedFile> photoUpload) {
+        try {
+            return mongoPartialUpdateService.updateOrThrow(product.getId(), product.getVersion(), partialUpdate, Product.class);
+        } catch (RuntimeException exception) {
+            productPhotoUploadService.discardOnUpload(photoUpload);
+            throw exception;
+        }
+    }
+
+    private PartialUpdate buildPartialUpdate(ProductRequest productRequest) {
+        PartialUpdate partialUpdate = PartialUpdate.create()
+                .setIfPresent("name", productRequest.getName())
+                .setIfPresent("price", productRequest.getPrice())
+                .setIfPresent("description", productRequest.getDescription())
+                .setIfPresent("active", productRequest.getActive())
+                .setIfPresent("amount", productRequest.getAmount());
+
+        if (productRequest.getAmount() != null && productRequest.getAmount() == 0) {
+            partialUpdate.setIfPresent("active", false);
+        }
+
+        return partialUpdate;
     }
 }
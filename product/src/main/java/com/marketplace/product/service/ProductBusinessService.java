@@ -1,5 +1,6 @@
 package com.marketplace.product.service;
 
+import com.marketplace.common.exception.EntityNotFoundException;
 import com.marketplace.product.exception.ProductNotAvailableException;
 import com.marketplace.product.repository.ProductRepository;
 import com.marketplace.product.web.model.Product;
@@ -7,9 +8,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,28 +25,62 @@ public class ProductBusinessService implements ProductManagerService {
 
     private final ProductRepository productRepository;
 
+    private final ProductCacheService productCacheService;
+
     @Override
     public Optional<Product> requireProductById(String productId) {
-        return productRepository.findById(productId);
+        return productCacheService.findById(productId, productRepository::findById);
     }
 
     @Override
     public List<Product> findAllByIdIn(Set<String> productIds) {
-        return productRepository.findAllByIdIn(productIds);
+        return productCacheService.findAllByIdIn(productIds, productRepository::findAllByIdIn);
     }
 
     @Override
-    public void decreaseProductsAmountAndSave(Set<Product> products) {
-        products.forEach(product -> {
-            boolean decreasedAmount = product.decreaseAmount();
-
-            if (!decreasedAmount) {
-                throw new ProductNotAvailableException("Product " + product.getName() + " is out of stock");
-            } else if (product.getAmount() == 0) {
-                product.setActive(false);
-            }
-        });
+    public List<Product> findAllByIdInOrThrow(Collection<String> productIds) {
+        Set<String> requestedIds = new LinkedHashSet<>(productIds);
+        Map<String, Product> productsById = productCacheService.findAllByIdIn(requestedIds, productRepository::findAllByIdIn).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<String> missingIds = requestedIds.stream()
+                .filter(productId -> !productsById.containsKey(productId))
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            log.warn("[PRODUCT_BUSINESS_SERVICE]: Products {} not found", missingIds);
+            throw new EntityNotFoundException("Products not found: " + String.join(", ", missingIds));
+        }
+
+        return requestedIds.stream()
+                .map(productsById::get)
+                .toList();
+    }
 
-        productRepository.saveAll(products);
+    @Override
+    public void decreaseProductsAmountAndSave(Collection<Product> products, Map<String, Integer> quantitiesByProductId) {
+        Map<String, Integer> decreasedQuantities = new LinkedHashMap<>();
+
+        try {
+            for (Product product : products) {
+                int quantity = quantitiesByProductId.getOrDefault(product.getId(), 1);
+                Optional<Product> decreasedProduct = productRepository.decreaseAmountIfAvailable(product.getId(), quantity);
+
+                if (decreasedProduct.isEmpty()) {
+                    log.warn("[PRODUCT_BUSINESS_SERVICE]: Product {} has less than {} items in stock", product.getId(), quantity);
+                    throw new ProductNotAvailableException("Product " + product.getName() + " is out of stock");
+                }
+
+                decreasedQuantities.put(product.getId(), quantity);
+                product.setAmount(decreasedProduct.get().getAmount());
+                product.setActive(decreasedProduct.get().getActive());
+            }
+        } catch (RuntimeException exception) {
+            log.warn("[PRODUCT_BUSINESS_SERVICE]: Restoring {} reserved products", decreasedQuantities.size());
+            decreasedQuantities.forEach(productRepository::increaseAmount);
+            throw exception;
+        } finally {
+            productCacheService.invalidate(decreasedQuantities.keySet());
+        }
     }
 }
@@ -0,0 +1,128 @@
+package com.marketplace.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.marketplace.product.kafka.producer.ProductEventProducer;
+import com.marketplace.product.web.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+public class ProductCacheService {
+
+    private final Cache<String, Product> productsById;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final ProductEventProducer productEventProducer;
+
+    private final ProductListingCacheService productListingCacheService;
+
+    public ProductCacheService(
+            ProductEventProducer productEventProducer,
+            ProductListingCacheService productListingCacheService,
+            @Value("${product.cache.maximum-size:10000}") long maximumSize,
+            @Value("${product.cache.expire-after-write:PT1M}") Duration expireAfterWrite
+    ) {
+        this.productEventProducer = productEventProducer;
+        this.productListingCacheService = productListingCacheService;
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .removalListener((String productId, Product product, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        log.debug("[PRODUCT_CACHE_SERVICE]: Product {} evicted, cause {}", productId, cause);
+                    }
+                })
+                .build();
+    }
+
+    public Optional<Product> findById(String productId, Function<String, Optional<Product>> loader) {
+        return Optional.ofNullable(productsById.get(productId, key -> loader.apply(key).orElse(null)))
+                .map(this::copyOf);
+    }
+
+    /**
+     * Bulk loads are not atomic with eviction, so products evicted while loading are dropped from the cache again.
+     */
+    public List<Product> findAllByIdIn(Collection<String> productIds, Function<Set<String>, List<Product>> loader) {
+        List<Product> products = new ArrayList<>();
+        Set<String> missingIds = new LinkedHashSet<>();
+
+        for (String productId : productIds) {
+            Product cachedProduct = productsById.getIfPresent(productId);
+            if (cachedProduct != null) {
+                products.add(cachedProduct);
+            } else {
+                missingIds.add(productId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            long evictionsBeforeLoad = evictions.get();
+            List<Product> loadedProducts = loader.apply(missingIds);
+            loadedProducts.forEach(product -> productsById.put(product.getId(), product));
+            if (evictions.get() != evictionsBeforeLoad) {
+                productsById.invalidateAll(loadedProducts.stream().map(Product::getId).toList());
+            }
+
+            products.addAll(loadedProducts);
+        }
+
+        return products.stream()
+                .map(this::copyOf)
+                .toList();
+    }
+
+    public void invalidate(String productId) {
+        invalidate(List.of(productId));
+    }
+
+    public void invalidate(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        evict(productIds);
+        productIds.forEach(productEventProducer::sendProductCacheInvalidationEvent);
+    }
+
+    public void evict(Collection<String> productIds) {
+        evictions.incrementAndGet();
+        productsById.invalidateAll(productIds);
+        productListingCacheService.evictAll();
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        productsById.invalidateAll();
+        productListingCacheService.evictAll();
+    }
+
+    public CacheStats getStats() {
+        return productsById.stats();
+    }
+
+    public long getSize() {
+        return productsById.estimatedSize();
+    }
+
+    private Product copyOf(Product product) {
+        return product.toBuilder().build();
+    }
+}
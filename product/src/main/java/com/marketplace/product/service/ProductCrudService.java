@@ -1,6 +1,10 @@
 package com.marketplace.product.service;
 
+import com.marketplace.product.web.dto.ProductListingQuery;
+import com.marketplace.product.web.dto.ProductPage;
 import com.marketplace.product.web.dto.ProductRequest;
+import com.marketplace.product.web.dto.ProductSearchPage;
+import com.marketplace.product.web.dto.ProductSearchQuery;
 import com.marketplace.product.web.model.Product;
 
 import java.util.List;
@@ -12,6 +16,10 @@ public interface ProductCrudService {
 
     List<Product> findAll();
 
+    ProductPage findPage(ProductListingQuery listingQuery);
+
+    ProductSearchPage search(ProductSearchQuery searchQuery);
+
     Product getById(String productId);
 
     Product update(String productId, ProductRequest productRequest);
@@ -0,0 +1,58 @@
+package com.marketplace.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class ProductListingCacheService {
+
+    private final Cache<String, RenderedPage> pagesByRequest;
+
+    public ProductListingCacheService(
+            @Value("${product.listing-cache.maximum-size:500}") long maximumSize,
+            @Value("${product.listing-cache.expire-after-write:PT5M}") Duration expireAfterWrite
+    ) {
+        this.pagesByRequest = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .removalListener((String request, RenderedPage renderedPage, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        log.debug("[PRODUCT_LISTING_CACHE_SERVICE]: Page {} evicted, cause {}", request, cause);
+                    }
+                })
+                .build();
+    }
+
+    public Optional<RenderedPage> find(String request) {
+        return Optional.ofNullable(pagesByRequest.getIfPresent(request));
+    }
+
+    public void put(String request, RenderedPage renderedPage) {
+        pagesByRequest.put(request, renderedPage);
+    }
+
+    public void evictAll() {
+        pagesByRequest.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return pagesByRequest.stats();
+    }
+
+    public long getSize() {
+        return pagesByRequest.estimatedSize();
+    }
+
+    public record RenderedPage(byte[] body, String contentType, String entityTag, String lastModified) {
+    }
+}
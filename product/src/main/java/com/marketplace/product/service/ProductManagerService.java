@@ -2,7 +2,9 @@ package com.marketplace.product.service;
 
 import com.marketplace.product.web.model.Product;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -12,6 +14,8 @@ public interface ProductManagerService {
 
     List<Product> findAllByIdIn(Set<String> productIds);
 
-    void decreaseProductsAmountAndSave(Set<Product> products);
+    List<Product> findAllByIdInOrThrow(Collection<String> productIds);
+
+    void decreaseProductsAmountAndSave(Collection<Product> products, Map<String, Integer> quantitiesByProductId);
 
 }
@@ -0,0 +1,33 @@
+package com.marketplace.product.service;
+
+import com.marketplace.product.kafka.config.OutputTopics;
+import com.marketplace.product.repository.ProductOutboxRepository;
+import com.marketplace.product.web.model.ProductOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductOutboxService {
+
+    private final ProductOutboxRepository productOutboxRepository;
+
+    public ProductOutboxEvent enqueueDeleteProductInstancesEvent(String productId) {
+        ProductOutboxEvent outboxEvent = productOutboxRepository.insert(ProductOutboxEvent.builder()
+                .id(String.valueOf(UUID.randomUUID()))
+                .topic(OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC)
+                .key(productId)
+                .payload(productId)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        log.info("[PRODUCT_OUTBOX_SERVICE]: Event {} for {} enqueued", outboxEvent.getId(), outboxEvent.getTopic());
+        return outboxEvent;
+    }
+
+}
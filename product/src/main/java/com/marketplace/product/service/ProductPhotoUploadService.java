@@ -0,0 +1,189 @@
+package com.marketplace.product.service;
+
+import com.marketplace.aws.exception.AwsPhotoUploadException;
+import com.marketplace.aws.model.StagedFile;
+import com.marketplace.aws.model.UploadedFile;
+import com.marketplace.aws.service.S3FileManagerService;
+import com.marketplace.aws.service.S3FileUploadService;
+import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.web.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductPhotoUploadService {
+
+    private final ProductRepository productRepository;
+
+    private final S3FileUploadService s3FileUploadService;
+
+    private final S3FileManagerService s3FileManagerService;
+
+    private final ProductCacheService productCacheService;
+
+    @Value("${product.photo.upload.pending-timeout:PT15M}")
+    private Duration pendingTimeout;
+
+    @Value("${product.photo.upload.stale-batch-size:500}")
+    private int staleBatchSize;
+
+    @Value("${product.photo.release.grace-period:PT10M}")
+    private Duration releaseGracePeriod;
+
+    @Value("${product.photo.release.batch-size:500}")
+    private int releaseBatchSize;
+
+    /**
+     * The reference is acquired before the photo is stored, so a concurrent release cannot delete an object this upload relies on.
+     */
+    public CompletableFuture<UploadedFile> uploadPhoto(InputStreamSource photo) {
+        StagedFile stagedFile = s3FileUploadService.stageFile(photo);
+        acquirePhotoReferenceOrThrow(stagedFile);
+
+        CompletableFuture<UploadedFile> photoUpload;
+        try {
+            photoUpload = s3FileUploadService.uploadStagedFileAsync(stagedFile);
+        } catch (RuntimeException exception) {
+            releasePhoto(stagedFile.getFileName());
+            throw exception;
+        }
+
+        return photoUpload.whenComplete((uploadedFile, throwable) -> {
+            if (throwable != null) {
+                releasePhoto(stagedFile.getFileName());
+            }
+        });
+    }
+
+    public void completeOnUpload(String productId, String photoName, CompletableFuture<UploadedFile> photoUpload) {
+        photoUpload.whenComplete((uploadedFile, throwable) -> {
+            if (throwable != null) {
+                failPhotoUpload(productId, photoName, throwable);
+                return;
+            }
+
+            completePhotoUpload(productId, photoName, uploadedFile);
+        });
+    }
+
+    public void discardOnUpload(CompletableFuture<UploadedFile> photoUpload) {
+        photoUpload.thenAccept(uploadedFile -> releasePhoto(getFileName(uploadedFile)));
+    }
+
+    /**
+     * Photos are detached before they are released, so a redelivered delete event does not release them twice.
+     */
+    public void releasePhotos(Collection<Product> products) {
+        products.stream()
+                .filter(product -> product.getPhotoUrl() != null)
+                .filter(product -> productRepository.detachPhoto(product.getId(), product.getPhotoUrl()))
+                .map(product -> s3FileManagerService.getFilenameFromUrl(product.getPhotoUrl()))
+                .forEach(this::releasePhoto);
+    }
+
+    /**
+     * An upload whose node died never completes its future, so its product would stay PENDING forever.
+     */
+    @Scheduled(
+            initialDelayString = "${product.photo.upload.stale-sweep-interval-ms:60000}",
+            fixedDelayString = "${product.photo.upload.stale-sweep-interval-ms:60000}"
+    )
+    public void failStalePhotoUploads() {
+        try {
+            List<String> productIds = productRepository.failStalePhotoUploads(LocalDateTime.now().minus(pendingTimeout), staleBatchSize);
+            if (productIds.isEmpty()) {
+                return;
+            }
+
+            productCacheService.invalidate(productIds);
+            log.warn("[PRODUCT_PHOTO_UPLOAD_SERVICE]: Marked {} photo uploads pending longer than {} as failed", productIds.size(), pendingTimeout);
+        } catch (DataAccessException exception) {
+            log.error("[PRODUCT_PHOTO_UPLOAD_SERVICE]: Stale photo uploads sweep failed {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Released photos stay in the bucket for a grace period, so an upload of the same photo can still claim them.
+     */
+    @Scheduled(
+            initialDelayString = "${product.photo.release.sweep-interval-ms:60000}",
+            fixedDelayString = "${product.photo.release.sweep-interval-ms:60000}"
+    )
+    public void deleteReleasedPhotos() {
+        try {
+            List<String> fileNames = productRepository.claimReleasedPhotoReferences(LocalDateTime.now().minus(releaseGracePeriod), releaseBatchSize);
+            if (fileNames.isEmpty()) {
+                return;
+            }
+
+            s3FileUploadService.deleteFiles(fileNames);
+            productRepository.removePhotoReferences(fileNames);
+            log.info("[PRODUCT_PHOTO_UPLOAD_SERVICE]: Deleted {} photos released longer than {} ago", fileNames.size(), releaseGracePeriod);
+        } catch (DataAccessException exception) {
+            log.error("[PRODUCT_PHOTO_UPLOAD_SERVICE]: Released photos sweep failed {}", exception.getMessage());
+        }
+    }
+
+    private void acquirePhotoReferenceOrThrow(StagedFile stagedFile) {
+        try {
+            if (!productRepository.acquirePhotoReference(stagedFile.getFileName())) {
+                throw new AwsPhotoUploadException("Photo is being deleted, try again later");
+            }
+        } catch (RuntimeException exception) {
+            s3FileUploadService.discardStagedFile(stagedFile);
+            throw exception;
+        }
+    }
+
+    private void completePhotoUpload(String productId, String photoName, UploadedFile uploadedFile) {
+        String fileName = getFileName(uploadedFile);
+        Map<String, String> photoVariantUrls = new LinkedHashMap<>();
+        uploadedFile.getVariantUrls().forEach((photoVariant, url) -> photoVariantUrls.put(photoVariant.getKey(), url.toString()));
+
+        Optional<Product> previousProduct = productRepository.completePhotoUpload(productId, photoName, uploadedFile.getUrl().toString(), photoVariantUrls);
+        productCacheService.invalidate(productId);
+        if (previousProduct.isEmpty()) {
+            log.warn("[PRODUCT_PHOTO_UPLOAD_SERVICE]: Photo {} is no longer pending for product {}, discarding", photoName, productId);
+            releasePhoto(fileName);
+            return;
+        }
+
+        String previousPhotoUrl = previousProduct.get().getPhotoUrl();
+        if (previousPhotoUrl != null) {
+            releasePhoto(s3FileManagerService.getFilenameFromUrl(previousPhotoUrl));
+        }
+
+        log.info("[PRODUCT_PHOTO_UPLOAD_SERVICE]: Photo {} attached to product {}", fileName, productId);
+    }
+
+    private void failPhotoUpload(String productId, String photoName, Throwable throwable) {
+        log.error("[PRODUCT_PHOTO_UPLOAD_SERVICE]: Photo {} upload for product {} failed {}", photoName, productId, throwable.getMessage());
+        productRepository.failPhotoUpload(productId, photoName);
+        productCacheService.invalidate(productId);
+    }
+
+    private void releasePhoto(String fileName) {
+        productRepository.releasePhotoReference(fileName);
+    }
+
+    private String getFileName(UploadedFile uploadedFile) {
+        return s3FileManagerService.getFilenameFromUrl(uploadedFile.getUrl().toString());
+    }
+
+}
@@ -2,7 +2,7 @@ package com.marketplace.product.service;
 
 import com.marketplace.product.web.model.Product;
 
-import java.util.Set;
+import java.util.Collection;
 
 public interface ProductValidationService {
 
@@ -10,6 +10,6 @@ public interface ProductValidationService {
 
     boolean isNotValidProduct(Product product);
 
-    boolean validateProducts(Set<Product> products);
+    boolean validateProducts(Collection<Product> products);
 
 }
@@ -0,0 +1,31 @@
+package com.marketplace.product.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder(toBuilder = true)
+public class ProductListingQuery {
+
+    private String cursor;
+
+    private Integer size;
+
+    @Builder.Default
+    private ProductSortOrder sortOrder = ProductSortOrder.NEWEST;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private Boolean inStock;
+
+    private String ownerId;
+
+    public boolean isFirstPage() {
+        return cursor == null || cursor.isBlank();
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.marketplace.product.web.dto;
+
+import com.marketplace.product.web.model.Product;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Data
+@Builder
+public class ProductPage {
+
+    private List<Product> products;
+
+    private String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public Optional<LocalDateTime> lastModified() {
+        return products.stream()
+                .map(product -> product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder());
+    }
+
+    public String entityTag() {
+        StringBuilder position = new StringBuilder();
+        products.forEach(product -> position.append(product.getId())
+                .append(':').append(product.getVersion())
+                .append(':').append(product.getUpdatedAt())
+                .append(';'));
+        position.append(nextCursor);
+
+        return "W/\"" + DigestUtils.md5DigestAsHex(position.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+}
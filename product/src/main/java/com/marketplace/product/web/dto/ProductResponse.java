@@ -1,11 +1,13 @@
 package com.marketplace.product.web.dto;
 
 import com.marketplace.common.dto.BaseResponse;
+import com.marketplace.product.web.model.PhotoStatus;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.SuperBuilder;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Data
 @SuperBuilder
@@ -24,6 +26,10 @@ public class ProductResponse extends BaseResponse {
 
     private String photoUrl;
 
+    private Map<String, String> photoVariantUrls;
+
+    private PhotoStatus photoStatus;
+
     private Boolean active;
 
 }
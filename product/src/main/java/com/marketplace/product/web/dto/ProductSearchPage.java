@@ -0,0 +1,25 @@
+package com.marketplace.product.web.dto;
+
+import com.marketplace.product.web.model.Product;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ProductSearchPage {
+
+    private List<Product> products;
+
+    private int page;
+
+    private int size;
+
+    private boolean lastPage;
+
+    public boolean hasNext() {
+        return !lastPage;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.marketplace.product.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder(toBuilder = true)
+public class ProductSearchQuery {
+
+    private String text;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private Boolean active;
+
+    private Integer page;
+
+    private Integer size;
+
+    public boolean hasText() {
+        return text != null && !text.isBlank();
+    }
+
+}
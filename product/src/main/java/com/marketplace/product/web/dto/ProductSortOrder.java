@@ -0,0 +1,25 @@
+package com.marketplace.product.web.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+@Getter
+@RequiredArgsConstructor
+public enum ProductSortOrder {
+
+    NEWEST("createdAt", Sort.Direction.DESC, "Newest first"),
+    PRICE_ASC("price", Sort.Direction.ASC, "Price: low to high"),
+    PRICE_DESC("price", Sort.Direction.DESC, "Price: high to low");
+
+    private final String field;
+
+    private final Sort.Direction direction;
+
+    private final String label;
+
+    public Sort toSort() {
+        return Sort.by(new Sort.Order(direction, field), new Sort.Order(direction, "id"));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.marketplace.product.web.filter;
+
+import com.marketplace.auth.security.cookie.CookieService;
+import com.marketplace.product.service.ProductListingCacheService;
+import com.marketplace.product.service.ProductListingCacheService.RenderedPage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class ProductListingCacheFilter extends OncePerRequestFilter {
+
+    public static final String ANONYMOUS_CACHE_CONTROL = "no-cache";
+
+    private final ProductListingCacheService productListingCacheService;
+
+    private final CookieService cookieService;
+
+    private final Set<String> cachedPaths;
+
+    public ProductListingCacheFilter(
+            ProductListingCacheService productListingCacheService,
+            CookieService cookieService,
+            @Value("${product.listing-cache.paths:/home,/products/all}") Set<String> cachedPaths
+    ) {
+        this.productListingCacheService = productListingCacheService;
+        this.cookieService = cookieService;
+        this.cachedPaths = cachedPaths;
+    }
+
+    /**
+     * Requests carrying a token cookie bypass the cache, so anonymity is decided without resolving the security context.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !cachedPaths.contains(request.getRequestURI())
+                || cookieService.hasTokenCookie(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String cacheKey = buildCacheKey(request);
+        Optional<RenderedPage> cachedPage = productListingCacheService.find(cacheKey);
+        if (cachedPage.isPresent()) {
+            writeCachedPage(cachedPage.get(), request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+            RenderedPage renderedPage = renderedPageOf(responseWrapper);
+            responseWrapper.setHeader(HttpHeaders.ETAG, renderedPage.entityTag());
+            responseWrapper.setHeader(HttpHeaders.CACHE_CONTROL, ANONYMOUS_CACHE_CONTROL);
+            responseWrapper.setHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+            productListingCacheService.put(cacheKey, renderedPage);
+            log.debug("[PRODUCT_LISTING_CACHE_FILTER]: Page {} rendered and cached", cacheKey);
+        }
+
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void writeCachedPage(RenderedPage renderedPage, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ANONYMOUS_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+        if (renderedPage.lastModified() != null) {
+            response.setHeader(HttpHeaders.LAST_MODIFIED, renderedPage.lastModified());
+        }
+
+        if (new ServletWebRequest(request, response).checkNotModified(renderedPage.entityTag())) {
+            return;
+        }
+
+        response.setContentType(renderedPage.contentType());
+        response.setContentLength(renderedPage.body().length);
+        response.getOutputStream().write(renderedPage.body());
+    }
+
+    private RenderedPage renderedPageOf(ContentCachingResponseWrapper responseWrapper) {
+        byte[] body = responseWrapper.getContentAsByteArray();
+        String entityTag = responseWrapper.getHeader(HttpHeaders.ETAG);
+        if (entityTag == null) {
+            entityTag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        }
+
+        return new RenderedPage(body, responseWrapper.getContentType(), entityTag, responseWrapper.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    private String buildCacheKey(HttpServletRequest request) {
+        String queryString = request.getQueryString();
+        return queryString == null ? request.getRequestURI() : request.getRequestURI() + "?" + queryString;
+    }
+}
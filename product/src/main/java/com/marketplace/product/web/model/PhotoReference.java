@@ -0,0 +1,28 @@
+package com.marketplace.product.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "photo_references")
+public class PhotoReference {
+
+    @Id
+    private String id;
+
+    private long references;
+
+    private LocalDateTime releasedAt;
+
+    private LocalDateTime deletingAt;
+
+}
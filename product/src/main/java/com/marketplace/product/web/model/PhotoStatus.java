@@ -0,0 +1,7 @@
+package com.marketplace.product.web.model;
+
+public enum PhotoStatus {
+    PENDING,
+    UPLOADED,
+    FAILED
+}
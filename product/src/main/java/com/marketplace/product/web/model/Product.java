@@ -6,9 +6,14 @@ import lombok.*;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -35,6 +40,7 @@ public class Product extends AuditableEntity {
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0", inclusive = false, message = "Price must be greater or equal to 0")
     @Digits(integer = 8, fraction = 2, message = "Price must have up to 8 digits before the decimal point and 2 after")
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal price;
 
     @NotNull(message = "Amount is required")
@@ -43,9 +49,20 @@ public class Product extends AuditableEntity {
 
     private String photoUrl;
 
+    private Map<String, String> photoVariantUrls;
+
+    private PhotoStatus photoStatus;
+
+    private String pendingPhotoName;
+
+    private LocalDateTime pendingPhotoSince;
+
     @NotNull(message = "Active is required")
     private Boolean active;
 
+    @Version
+    private Long version;
+
     public boolean decreaseAmount() {
         if (amount > 0) {
             amount--;
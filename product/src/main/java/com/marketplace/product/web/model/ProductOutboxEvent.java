@@ -0,0 +1,32 @@
+package com.marketplace.product.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "product_outbox_events")
+public class ProductOutboxEvent {
+
+    @Id
+    private String id;
+
+    private String topic;
+
+    private String key;
+
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime claimedUntil;
+
+}
@@ -2,20 +2,28 @@ package com.marketplace.product.web.view;
 
 import com.marketplace.product.mapper.ProductEntityMapper;
 import com.marketplace.product.service.ProductCrudService;
+import com.marketplace.product.web.dto.ProductListingQuery;
+import com.marketplace.product.web.dto.ProductPage;
 import com.marketplace.product.web.dto.ProductRequest;
+import com.marketplace.product.web.dto.ProductSearchPage;
+import com.marketplace.product.web.dto.ProductSearchQuery;
+import com.marketplace.product.web.dto.ProductSortOrder;
+import com.marketplace.product.web.filter.ProductListingCacheFilter;
 import com.marketplace.product.web.model.Product;
 
 import com.marketplace.product.web.validator.ProductValidator;
+import com.marketplace.usercore.security.AuthenticationUserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
-import java.util.List;
+import java.time.ZoneId;
 
 @Controller
 @RequiredArgsConstructor
@@ -28,10 +36,67 @@ public class ProductController {
 
     private final ProductEntityMapper productEntityMapper;
 
+    private final AuthenticationUserService authenticationUserService;
+
     @GetMapping("/all")
-    public String getAllProducts(Model model) {
-        List<Product> products = productCrudService.findAll();
-        model.addAttribute("products", productEntityMapper.mapProductsToProductResponseDtos(new HashSet<>(products)));
+    public String getAllProducts(
+            Model model,
+            ServletWebRequest webRequest,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "NEWEST") ProductSortOrder sort,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String ownerId
+    ) {
+        ProductListingQuery listingQuery = ProductListingQuery.builder()
+                .cursor(cursor)
+                .size(size)
+                .sortOrder(sort)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStock(inStock)
+                .ownerId(ownerId)
+                .build();
+        ProductPage productPage = productCrudService.findPage(listingQuery);
+
+        if (!authenticationUserService.isAuthenticated() && isNotModified(productPage, webRequest)) {
+            return null;
+        }
+
+        model.addAttribute("products", productEntityMapper.mapProductsToProductResponseDtos(productPage.getProducts()));
+        model.addAttribute("listingQuery", listingQuery);
+        model.addAttribute("sortOrders", ProductSortOrder.values());
+        model.addAttribute("nextCursor", productPage.getNextCursor());
+        model.addAttribute("pageSize", size);
+        model.addAttribute("isFirstPage", listingQuery.isFirstPage());
+        return "products";
+    }
+
+    @GetMapping("/search")
+    public String searchProducts(
+            Model model,
+            @RequestParam(name = "q", required = false) String text,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        ProductSearchQuery searchQuery = ProductSearchQuery.builder()
+                .text(text)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .active(active)
+                .page(page)
+                .size(size)
+                .build();
+        ProductSearchPage searchPage = productCrudService.search(searchQuery);
+
+        model.addAttribute("products", productEntityMapper.mapProductsToProductResponseDtos(searchPage.getProducts()));
+        model.addAttribute("searchQuery", searchQuery);
+        model.addAttribute("searchPage", searchPage);
         return "products";
     }
 
@@ -103,4 +168,14 @@ public class ProductController {
         productCrudService.delete(productId);
         return "redirect:/products/all";
     }
+
+    private boolean isNotModified(ProductPage productPage, ServletWebRequest webRequest) {
+        long lastModified = productPage.lastModified()
+                .map(updatedAt -> updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(-1L);
+
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, ProductListingCacheFilter.ANONYMOUS_CACHE_CONTROL);
+        webRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+        return webRequest.checkNotModified(productPage.entityTag(), lastModified);
+    }
 }
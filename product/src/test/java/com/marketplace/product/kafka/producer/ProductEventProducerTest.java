@@ -0,0 +1,72 @@
+package com.marketplace.product.kafka.producer;
+
+import com.marketplace.product.kafka.config.OutputTopics;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.*;
+
+public class ProductEventProducerTest {
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private ThreadPoolTaskExecutor kafkaPublishTaskExecutor;
+
+    private ProductEventProducer productEventProducer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        kafkaPublishTaskExecutor = new ThreadPoolTaskExecutor();
+        kafkaPublishTaskExecutor.initialize();
+        productEventProducer = new ProductEventProducer(kafkaTemplate, kafkaPublishTaskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        kafkaPublishTaskExecutor.shutdown();
+    }
+
+    @Test
+    public void sendProductCacheInvalidationEvent_ShouldNotThrow_WhenSendFails() {
+        String productId = String.valueOf(UUID.randomUUID());
+
+        when(kafkaTemplate.send(OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId, productId))
+                .thenThrow(new KafkaException("Send failed"));
+
+        assertThatCode(() -> productEventProducer.sendProductCacheInvalidationEvent(productId)).doesNotThrowAnyException();
+
+        verify(kafkaTemplate, timeout(1000)).send(OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId, productId);
+    }
+
+    @Test
+    public void sendProductCacheInvalidationEvent_ShouldNotThrow_WhenSendCompletesExceptionally() {
+        String productId = String.valueOf(UUID.randomUUID());
+
+        when(kafkaTemplate.send(OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId, productId))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("Broker unavailable")));
+
+        assertThatCode(() -> productEventProducer.sendProductCacheInvalidationEvent(productId)).doesNotThrowAnyException();
+
+        verify(kafkaTemplate, timeout(1000)).send(OutputTopics.PRODUCT_CACHE_INVALIDATION_TOPIC, productId, productId);
+    }
+
+    @Test
+    public void sendProductCacheInvalidationEvent_ShouldNotThrow_WhenExecutorRejects() {
+        String productId = String.valueOf(UUID.randomUUID());
+        kafkaPublishTaskExecutor.shutdown();
+
+        assertThatCode(() -> productEventProducer.sendProductCacheInvalidationEvent(productId)).doesNotThrowAnyException();
+
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
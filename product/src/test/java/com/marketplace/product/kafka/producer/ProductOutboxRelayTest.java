@@ -0,0 +1,94 @@
+package com.marketplace.product.kafka.producer;
+
+import com.marketplace.product.config.ProductApplicationConfig;
+import com.marketplace.product.kafka.config.OutputTopics;
+import com.marketplace.product.repository.ProductOutboxRepository;
+import com.marketplace.product.web.model.ProductOutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(
+        classes = ProductApplicationConfig.class,
+        properties = {
+                "product.outbox.relay.enabled=true",
+                "product.outbox.relay.interval-ms=3600000"
+        }
+)
+public class ProductOutboxRelayTest {
+
+    @MockitoBean
+    private ProductOutboxRepository productOutboxRepository;
+
+    @MockitoBean
+    private ProductEventProducer productEventProducer;
+
+    @Autowired
+    private ProductOutboxRelay productOutboxRelay;
+
+    @Test
+    public void relayPendingEvents_ShouldDeleteRelayedEvents() {
+        ProductOutboxEvent outboxEvent = buildOutboxEvent();
+        ProductOutboxEvent outboxEvent1 = buildOutboxEvent();
+
+        when(productOutboxRepository.claimPendingEvents(anyInt(), any(Duration.class))).thenReturn(List.of(outboxEvent, outboxEvent1));
+        when(productEventProducer.sendOutboxEvent(any(ProductOutboxEvent.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        productOutboxRelay.relayPendingEvents();
+
+        verify(productEventProducer).sendOutboxEvent(outboxEvent);
+        verify(productEventProducer).sendOutboxEvent(outboxEvent1);
+        verify(productOutboxRepository).deleteAllById(List.of(outboxEvent.getId(), outboxEvent1.getId()));
+        verify(productOutboxRepository, never()).releaseClaims(any());
+    }
+
+    @Test
+    public void relayPendingEvents_ShouldKeepEvents_WhenSendFailed() {
+        ProductOutboxEvent outboxEvent = buildOutboxEvent();
+        ProductOutboxEvent outboxEvent1 = buildOutboxEvent();
+
+        when(productOutboxRepository.claimPendingEvents(anyInt(), any(Duration.class))).thenReturn(List.of(outboxEvent, outboxEvent1));
+        when(productEventProducer.sendOutboxEvent(outboxEvent)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker is unavailable")));
+        when(productEventProducer.sendOutboxEvent(outboxEvent1)).thenReturn(CompletableFuture.completedFuture(null));
+
+        productOutboxRelay.relayPendingEvents();
+
+        verify(productOutboxRepository).deleteAllById(List.of(outboxEvent1.getId()));
+        verify(productOutboxRepository).releaseClaims(List.of(outboxEvent.getId()));
+    }
+
+    @Test
+    public void relayPendingEvents_ShouldDoNothing_WhenNoPendingEvents() {
+        when(productOutboxRepository.claimPendingEvents(anyInt(), any(Duration.class))).thenReturn(List.of());
+
+        productOutboxRelay.relayPendingEvents();
+
+        verify(productEventProducer, never()).sendOutboxEvent(any(ProductOutboxEvent.class));
+        verify(productOutboxRepository, never()).deleteAllById(any());
+    }
+
+    private ProductOutboxEvent buildOutboxEvent() {
+        String productId = String.valueOf(UUID.randomUUID());
+        return ProductOutboxEvent.builder()
+                .id(String.valueOf(UUID.randomUUID()))
+                .topic(OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC)
+                .key(productId)
+                .payload(productId)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+}
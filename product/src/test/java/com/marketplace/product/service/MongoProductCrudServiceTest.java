@@ -1,23 +1,36 @@
 package com.marketplace.product.service;
 
 import com.marketplace.aws.exception.AwsPhotoUploadException;
+import com.marketplace.aws.model.UploadedFile;
 import com.marketplace.aws.service.S3FileBusinessService;
 import com.marketplace.aws.service.S3ProductPhotoService;
 import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
 import com.marketplace.product.config.ProductApplicationConfig;
+import com.marketplace.product.kafka.config.OutputTopics;
 import com.marketplace.product.kafka.producer.ProductEventProducer;
+import com.marketplace.product.repository.ProductOutboxRepository;
 import com.marketplace.product.repository.ProductRepository;
 import com.marketplace.product.util.MockHelper;
 import com.marketplace.product.util.ProductDataBuilder;
 import com.marketplace.product.util.UserDataBuilder;
+import com.marketplace.product.web.dto.ProductListingQuery;
+import com.marketplace.product.web.dto.ProductPage;
 import com.marketplace.product.web.dto.ProductRequest;
+import com.marketplace.product.web.dto.ProductSearchPage;
+import com.marketplace.product.web.dto.ProductSearchQuery;
+import com.marketplace.product.web.dto.ProductSortOrder;
+import com.marketplace.product.web.model.PhotoStatus;
 import com.marketplace.product.web.model.Product;
+import com.marketplace.product.web.model.ProductOutboxEvent;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserRole;
 import com.marketplace.usercore.security.AuthenticationUserService;
 import com.marketplace.usercore.service.DefaultUserValidationService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
@@ -29,9 +42,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.math.BigDecimal;
 import java.net.URL;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -62,12 +77,24 @@ public class MongoProductCrudServiceTest {
     @MockitoBean
     private ProductEventProducer productEventProducer;
 
+    @MockitoBean
+    private MongoPartialUpdateService mongoPartialUpdateService;
+
+    @MockitoBean
+    private ProductPhotoUploadService productPhotoUploadService;
+
+    @MockitoBean
+    private ProductOutboxRepository productOutboxRepository;
+
     @Autowired
     private MockHelper mockHelper;
 
     @Autowired
     private MongoProductCrudService mongoProductCrudService;
 
+    @Autowired
+    private ProductListingCacheService productListingCacheService;
+
     @AfterEach
     public void clearSecurityContext() {
         SecurityContextHolder.clearContext();
@@ -75,7 +102,7 @@ public class MongoProductCrudServiceTest {
 
     @Test
     public void create_shouldCreateProduct() {
-        URL mockedUrl = mock(URL.class);
+        CompletableFuture<UploadedFile> photoUpload = new CompletableFuture<>();
         Product product = ProductDataBuilder.buildProductWithAllFields().build();
         MockMultipartFile mockMultipartFile = new MockMultipartFile("data", "photo.png", "image/*", "photo_content".getBytes());
         ProductRequest productRequest = ProductRequest.builder()
@@ -88,18 +115,25 @@ public class MongoProductCrudServiceTest {
         User user = mockHelper.mockAuthenticationAndSetContext();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
-        when(s3ProductPhotoService.uploadFile(eq(productRequest.getPhoto()), anyString())).thenReturn(mockedUrl);
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productPhotoUploadService.uploadPhoto(productRequest.getPhoto())).thenReturn(photoUpload);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.<Product>getArgument(0).toBuilder()
+                .id(product.getId())
+                .build());
 
         Product responseProduct = mongoProductCrudService.create(productRequest);
 
         assertThat(product.getName()).isEqualTo(responseProduct.getName());
         assertThat(product.getDescription()).isEqualTo(responseProduct.getDescription());
         assertThat(product.getPrice()).isEqualTo(responseProduct.getPrice());
+        assertThat(responseProduct.getPhotoUrl()).isNull();
+        assertThat(responseProduct.getPhotoStatus()).isEqualTo(PhotoStatus.PENDING);
+        assertThat(responseProduct.getPendingPhotoName()).isNotNull();
 
         verify(authenticationUserService).getAuthenticatedUser();
-        verify(s3ProductPhotoService).uploadFile(eq(productRequest.getPhoto()), anyString());
+        verify(productPhotoUploadService).uploadPhoto(productRequest.getPhoto());
         verify(productRepository).save(any(Product.class));
+        verify(productPhotoUploadService).completeOnUpload(responseProduct.getId(), responseProduct.getPendingPhotoName(), photoUpload);
+        verify(productEventProducer).sendProductCacheInvalidationEvent(product.getId());
     }
 
     @Test
@@ -116,12 +150,13 @@ public class MongoProductCrudServiceTest {
         User user = mockHelper.mockAuthenticationAndSetContext();
 
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
-        when(s3ProductPhotoService.uploadFile(eq(productRequest.getPhoto()), anyString())).thenThrow(AwsPhotoUploadException.class);
+        when(productPhotoUploadService.uploadPhoto(productRequest.getPhoto())).thenThrow(AwsPhotoUploadException.class);
 
         assertThatThrownBy(() -> mongoProductCrudService.create(productRequest)).isInstanceOf(AwsPhotoUploadException.class);
 
         verify(authenticationUserService).getAuthenticatedUser();
-        verify(s3ProductPhotoService).uploadFile(eq(productRequest.getPhoto()), anyString());
+        verify(productPhotoUploadService).uploadPhoto(productRequest.getPhoto());
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
@@ -150,6 +185,157 @@ public class MongoProductCrudServiceTest {
         assertEquals("Test Product", products.get(0).getName());
     }
 
+    @Test
+    public void findPage_shouldReturnFirstPageWithNextCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        product.setCreatedAt(createdAt);
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        product1.setCreatedAt(createdAt.minusMinutes(1));
+        ProductListingQuery listingQuery = ProductListingQuery.builder().size(1).build();
+
+        when(productRepository.findListing(listingQuery, null, 2)).thenReturn(List.of(product, product1));
+
+        ProductPage productPage = mongoProductCrudService.findPage(listingQuery);
+
+        assertThat(productPage.getProducts()).isEqualTo(List.of(product));
+        assertThat(productPage.hasNext()).isTrue();
+    }
+
+    @Test
+    public void findPage_shouldReturnPageAfterCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        product.setCreatedAt(createdAt);
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        product1.setCreatedAt(createdAt.minusMinutes(1));
+        ProductListingQuery listingQuery = ProductListingQuery.builder().size(1).build();
+
+        when(productRepository.findListing(eq(listingQuery), isNull(), eq(2))).thenReturn(List.of(product, product1));
+        String nextCursor = mongoProductCrudService.findPage(listingQuery).getNextCursor();
+        ProductListingQuery nextListingQuery = listingQuery.toBuilder().cursor(nextCursor).build();
+
+        ArgumentCaptor<Product> positionCaptor = ArgumentCaptor.forClass(Product.class);
+        when(productRepository.findListing(eq(nextListingQuery), positionCaptor.capture(), eq(2))).thenReturn(List.of(product1));
+
+        ProductPage productPage = mongoProductCrudService.findPage(nextListingQuery);
+
+        assertThat(productPage.getProducts()).isEqualTo(List.of(product1));
+        assertThat(productPage.hasNext()).isFalse();
+        assertThat(positionCaptor.getValue().getId()).isEqualTo(product.getId());
+        assertThat(positionCaptor.getValue().getCreatedAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    public void findPage_shouldEncodePriceCursor_WhenSortedByPrice() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().price(BigDecimal.valueOf(15.50)).build();
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().price(BigDecimal.valueOf(20)).build();
+        ProductListingQuery listingQuery = ProductListingQuery.builder()
+                .size(1)
+                .sortOrder(ProductSortOrder.PRICE_ASC)
+                .inStock(true)
+                .build();
+
+        when(productRepository.findListing(eq(listingQuery), isNull(), eq(2))).thenReturn(List.of(product, product1));
+        String nextCursor = mongoProductCrudService.findPage(listingQuery).getNextCursor();
+        ProductListingQuery nextListingQuery = listingQuery.toBuilder().cursor(nextCursor).build();
+
+        ArgumentCaptor<Product> positionCaptor = ArgumentCaptor.forClass(Product.class);
+        when(productRepository.findListing(eq(nextListingQuery), positionCaptor.capture(), eq(2))).thenReturn(List.of(product1));
+
+        mongoProductCrudService.findPage(nextListingQuery);
+
+        assertThat(positionCaptor.getValue().getId()).isEqualTo(product.getId());
+        assertThat(positionCaptor.getValue().getPrice()).isEqualTo(product.getPrice());
+    }
+
+    @Test
+    public void findPage_shouldFallbackToFirstPage_WhenCursorMalformed() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        product.setCreatedAt(LocalDateTime.now());
+        ProductListingQuery listingQuery = ProductListingQuery.builder().cursor("not-a-cursor").build();
+
+        when(productRepository.findListing(eq(listingQuery), isNull(), anyInt())).thenReturn(List.of(product));
+
+        ProductPage productPage = mongoProductCrudService.findPage(listingQuery);
+
+        assertThat(productPage.getProducts()).isEqualTo(List.of(product));
+        assertThat(productPage.hasNext()).isFalse();
+    }
+
+    @Test
+    public void findPage_shouldFallbackToFirstPage_WhenCursorFromOtherSortOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        product.setCreatedAt(createdAt);
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        product1.setCreatedAt(createdAt.minusMinutes(1));
+        ProductListingQuery listingQuery = ProductListingQuery.builder().size(1).build();
+
+        when(productRepository.findListing(any(ProductListingQuery.class), isNull(), eq(2))).thenReturn(List.of(product, product1));
+        String nextCursor = mongoProductCrudService.findPage(listingQuery).getNextCursor();
+
+        mongoProductCrudService.findPage(listingQuery.toBuilder()
+                .cursor(nextCursor)
+                .sortOrder(ProductSortOrder.PRICE_DESC)
+                .build());
+
+        verify(productRepository, never()).findListing(any(ProductListingQuery.class), notNull(), anyInt());
+    }
+
+    @Test
+    public void search_shouldReturnPageWithNext_WhenMoreResultsExist() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        ProductSearchQuery searchQuery = ProductSearchQuery.builder()
+                .text("phone")
+                .minPrice(BigDecimal.ONE)
+                .maxPrice(BigDecimal.TEN)
+                .active(true)
+                .page(1)
+                .size(1)
+                .build();
+
+        when(productRepository.search(searchQuery, 1L, 2)).thenReturn(List.of(product, product1));
+
+        ProductSearchPage searchPage = mongoProductCrudService.search(searchQuery);
+
+        assertThat(searchPage.getProducts()).isEqualTo(List.of(product));
+        assertThat(searchPage.getPage()).isEqualTo(1);
+        assertThat(searchPage.hasNext()).isTrue();
+    }
+
+    @Test
+    public void search_shouldReturnLastPage_WhenNoMoreResults() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        ProductSearchQuery searchQuery = ProductSearchQuery.builder()
+                .text("phone")
+                .page(-1)
+                .build();
+
+        when(productRepository.search(eq(searchQuery), eq(0L), anyInt())).thenReturn(List.of(product));
+
+        ProductSearchPage searchPage = mongoProductCrudService.search(searchQuery);
+
+        assertThat(searchPage.getProducts()).isEqualTo(List.of(product));
+        assertThat(searchPage.getPage()).isEqualTo(0);
+        assertThat(searchPage.hasNext()).isFalse();
+    }
+
+    @Test
+    public void search_shouldReturnEmptyPage_WhenPriceRangeInverted() {
+        ProductSearchQuery searchQuery = ProductSearchQuery.builder()
+                .minPrice(BigDecimal.TEN)
+                .maxPrice(BigDecimal.ONE)
+                .build();
+
+        ProductSearchPage searchPage = mongoProductCrudService.search(searchQuery);
+
+        assertThat(searchPage.getProducts()).isEqualTo(List.of());
+        assertThat(searchPage.hasNext()).isFalse();
+        verify(productRepository, never()).search(any(), anyLong(), anyInt());
+    }
+
     @Test
     public void findById_shouldReturnProductById() {
         Product product = ProductDataBuilder.buildProductWithAllFields().build();
@@ -160,6 +346,19 @@ public class MongoProductCrudServiceTest {
         assertEquals(product, result);
     }
 
+    @Test
+    public void findById_shouldReturnCachedProduct_WhenRequestedAgain() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+
+        mongoProductCrudService.getById(product.getId());
+        Product cachedProduct = mongoProductCrudService.getById(product.getId());
+
+        assertEquals(product, cachedProduct);
+        verify(productRepository, times(1)).findById(product.getId());
+    }
+
     @Test
     public void findById_shouldThrowExceptionIfProductNotFound() {
         String id = UUID.randomUUID().toString();
@@ -172,7 +371,7 @@ public class MongoProductCrudServiceTest {
 
     @Test
     public void update_shouldUpdateProduct() {
-        String filename = "filename";
+        CompletableFuture<UploadedFile> photoUpload = new CompletableFuture<>();
         User user = mockHelper.mockAuthenticationAndSetContext();
         MockMultipartFile mockMultipartFile = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
         Product product = ProductDataBuilder.buildProductWithAllFields()
@@ -189,9 +388,9 @@ public class MongoProductCrudServiceTest {
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
         when(defaultUserValidationService.validateEntityOwnerOrAdmin(user, product.getOwnerId())).thenReturn(true);
-        when(s3FileBusinessService.getFilenameFromUrl(product.getPhotoUrl())).thenReturn(filename);
-        doNothing().when(s3ProductPhotoService).deleteFile(filename);
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productPhotoUploadService.uploadPhoto(mockMultipartFile)).thenReturn(photoUpload);
+        mockPartialUpdate(product, productRequest);
+        productListingCacheService.put("/products/all", new ProductListingCacheService.RenderedPage(new byte[0], "text/html", "W/\"etag\"", null));
 
         Product resultProduct = mongoProductCrudService.update(product.getId(), productRequest);
 
@@ -199,12 +398,49 @@ public class MongoProductCrudServiceTest {
         assertThat(productRequest.getDescription()).isEqualTo(resultProduct.getDescription());
         assertThat(productRequest.getPrice()).isEqualTo(resultProduct.getPrice());
 
+        ArgumentCaptor<PartialUpdate> partialUpdateCaptor = ArgumentCaptor.forClass(PartialUpdate.class);
+        verify(mongoPartialUpdateService).updateOrThrow(eq(product.getId()), eq(product.getVersion()), partialUpdateCaptor.capture(), eq(Product.class));
+        assertThat(partialUpdateCaptor.getValue().getValue("name")).isEqualTo(productRequest.getName());
+        assertThat(partialUpdateCaptor.getValue().getValue("amount")).isEqualTo(productRequest.getAmount());
+        assertThat(partialUpdateCaptor.getValue().getValue("photoUrl")).isNull();
+        assertThat(partialUpdateCaptor.getValue().getValue("photoStatus")).isEqualTo(PhotoStatus.PENDING);
+        assertThat(partialUpdateCaptor.getValue().getValue("ownerId")).isNull();
+
+        String photoName = (String) partialUpdateCaptor.getValue().getValue("pendingPhotoName");
         verify(authenticationUserService).getAuthenticatedUser();
         verify(productRepository).findById(product.getId());
         verify(defaultUserValidationService).validateEntityOwnerOrAdmin(user, product.getOwnerId());
-        verify(s3FileBusinessService).getFilenameFromUrl(anyString());
-        verify(s3ProductPhotoService).deleteFile(filename);
-        verify(productRepository).save(any(Product.class));
+        verify(productPhotoUploadService).uploadPhoto(mockMultipartFile);
+        verify(s3ProductPhotoService, never()).deleteFile(anyString());
+        verify(productPhotoUploadService).completeOnUpload(product.getId(), photoName, photoUpload);
+        verify(productEventProducer).sendProductCacheInvalidationEvent(product.getId());
+        verify(productRepository, never()).save(any(Product.class));
+        assertThat(productListingCacheService.find("/products/all")).isEmpty();
+    }
+
+    @Test
+    public void update_shouldDeactivateProduct_WhenAmountIsZero() {
+        User user = mockHelper.mockAuthenticationAndSetContext();
+        Product product = ProductDataBuilder.buildProductWithAllFields()
+                .ownerId(user.getId())
+                .build();
+        ProductRequest productRequest = ProductRequest.builder()
+                .amount(0)
+                .active(true)
+                .build();
+
+        when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(defaultUserValidationService.validateEntityOwnerOrAdmin(user, product.getOwnerId())).thenReturn(true);
+        mockPartialUpdate(product, productRequest);
+
+        mongoProductCrudService.update(product.getId(), productRequest);
+
+        ArgumentCaptor<PartialUpdate> partialUpdateCaptor = ArgumentCaptor.forClass(PartialUpdate.class);
+        verify(mongoPartialUpdateService).updateOrThrow(eq(product.getId()), eq(product.getVersion()), partialUpdateCaptor.capture(), eq(Product.class));
+        assertThat(partialUpdateCaptor.getValue().getValue("amount")).isEqualTo(0);
+        assertThat(partialUpdateCaptor.getValue().getValue("active")).isEqualTo(false);
+        assertThat(partialUpdateCaptor.getValue().getValue("name")).isNull();
     }
 
     @Test
@@ -276,7 +512,7 @@ public class MongoProductCrudServiceTest {
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
         when(defaultUserValidationService.validateEntityOwnerOrAdmin(user, ownerId)).thenReturn(true);
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        mockPartialUpdate(product, productRequest);
 
         Product resultProduct = mongoProductCrudService.update(product.getId(), productRequest);
 
@@ -296,11 +532,18 @@ public class MongoProductCrudServiceTest {
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
         when(defaultUserValidationService.validateEntityOwnerOrAdmin(user, product.getOwnerId())).thenReturn(true);
 
+        when(productOutboxRepository.insert(any(ProductOutboxEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
         mongoProductCrudService.delete(product.getId());
 
+        ArgumentCaptor<ProductOutboxEvent> outboxEventCaptor = ArgumentCaptor.forClass(ProductOutboxEvent.class);
         verify(authenticationUserService).getAuthenticatedUser();
         verify(productRepository).findById(product.getId());
-        verify(productEventProducer).sendDeleteProductInstancesEvent(product.getId());
+        verify(productOutboxRepository).insert(outboxEventCaptor.capture());
+        verify(productEventProducer, never()).sendOutboxEvent(any(ProductOutboxEvent.class));
+        assertThat(outboxEventCaptor.getValue().getId()).isNotNull();
+        assertThat(outboxEventCaptor.getValue().getTopic()).isEqualTo(OutputTopics.DELETE_PRODUCT_INSTANCES_TOPIC);
+        assertThat(outboxEventCaptor.getValue().getPayload()).isEqualTo(product.getId());
     }
 
     @Test
@@ -353,9 +596,20 @@ public class MongoProductCrudServiceTest {
         when(authenticationUserService.getAuthenticatedUser()).thenReturn(user);
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
         when(defaultUserValidationService.validateEntityOwnerOrAdmin(user, ownerId)).thenReturn(true);
+        when(productOutboxRepository.insert(any(ProductOutboxEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         mongoProductCrudService.delete(product.getId());
 
-        verify(productEventProducer).sendDeleteProductInstancesEvent(product.getId());
+        verify(productOutboxRepository).insert(any(ProductOutboxEvent.class));
     }
+
+    private void mockPartialUpdate(Product product, ProductRequest productRequest) {
+        when(mongoPartialUpdateService.updateOrThrow(eq(product.getId()), eq(product.getVersion()), any(PartialUpdate.class), eq(Product.class)))
+                .thenReturn(product.toBuilder()
+                        .name(productRequest.getName())
+                        .description(productRequest.getDescription())
+                        .price(productRequest.getPrice())
+                        .build());
+    }
+
 }
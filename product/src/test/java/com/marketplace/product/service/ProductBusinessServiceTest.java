@@ -1,19 +1,30 @@
 package com.marketplace.product.service;
 
+import com.marketplace.common.exception.EntityNotFoundException;
 import com.marketplace.product.config.ProductApplicationConfig;
+import com.marketplace.product.exception.ProductNotAvailableException;
+import com.marketplace.product.kafka.producer.ProductEventProducer;
 import com.marketplace.product.repository.ProductRepository;
 import com.marketplace.product.util.ProductDataBuilder;
 import com.marketplace.product.web.model.Product;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
@@ -26,6 +37,9 @@ public class ProductBusinessServiceTest {
     @MockitoBean
     private DefaultProductValidationService defaultProductValidationService;
 
+    @MockitoBean
+    private ProductEventProducer productEventProducer;
+
     @Autowired
     private ProductBusinessService productBusinessService;
 
@@ -47,33 +61,152 @@ public class ProductBusinessServiceTest {
     }
 
     @Test
-    public void decreaseProductsAmountAndSave_ShouldDecreaseProductsAmountAndSave() {
-        Product mockedProduct = mock(Product.class);
+    public void findAllByIdIn_ShouldLoadOnlyUncachedProducts() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+
+        when(productRepository.findAllByIdIn(Set.of(product.getId()))).thenReturn(List.of(product));
+        when(productRepository.findAllByIdIn(Set.of(product1.getId()))).thenReturn(List.of(product1));
+
+        productBusinessService.findAllByIdIn(Set.of(product.getId()));
+        List<Product> products = productBusinessService.findAllByIdIn(new LinkedHashSet<>(List.of(product.getId(), product1.getId())));
+
+        assertThat(products.size()).isEqualTo(2);
+        assertThat(products.get(0).getId()).isEqualTo(product.getId());
+        assertThat(products.get(1).getId()).isEqualTo(product1.getId());
+
+        verify(productRepository, times(1)).findAllByIdIn(Set.of(product.getId()));
+        verify(productRepository, times(1)).findAllByIdIn(Set.of(product1.getId()));
+    }
+
+    @Test
+    public void requireProductById_ShouldReadFromCache_UntilInvalidated() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+
+        productBusinessService.requireProductById(product.getId());
+        Optional<Product> cachedProduct = productBusinessService.requireProductById(product.getId());
+
+        assertThat(cachedProduct.isPresent()).isTrue();
+        assertThat(cachedProduct.get().getId()).isEqualTo(product.getId());
+        verify(productRepository, times(1)).findById(product.getId());
+
+        when(productRepository.decreaseAmountIfAvailable(product.getId(), 1)).thenReturn(Optional.of(product));
+        productBusinessService.decreaseProductsAmountAndSave(Set.of(product), Map.of(product.getId(), 1));
+        productBusinessService.requireProductById(product.getId());
+
+        verify(productRepository, times(2)).findById(product.getId());
+        verify(productEventProducer).sendProductCacheInvalidationEvent(product.getId());
+    }
+
+    @Test
+    public void findAllByIdInOrThrow_ShouldReturnProductsInRequestedOrder() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        Set<String> productIds = new LinkedHashSet<>(List.of(product.getId(), product1.getId()));
+
+        when(productRepository.findAllByIdIn(productIds)).thenReturn(List.of(product1, product));
+
+        List<Product> products = productBusinessService.findAllByIdInOrThrow(productIds);
+
+        assertThat(products.size()).isEqualTo(2);
+        assertThat(products.get(0).getId()).isEqualTo(product.getId());
+        assertThat(products.get(1).getId()).isEqualTo(product1.getId());
+
+        verify(productRepository, times(1)).findAllByIdIn(productIds);
+    }
+
+    @Test
+    public void findAllByIdInOrThrow_ShouldThrowException_WhenProductsMissing() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Set<String> productIds = new LinkedHashSet<>(List.of("missingId1", product.getId(), "missingId2"));
+
+        when(productRepository.findAllByIdIn(productIds)).thenReturn(List.of(product));
+
+        assertThatThrownBy(() -> productBusinessService.findAllByIdInOrThrow(productIds))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Products not found: missingId1, missingId2");
+
+        verify(productRepository, times(1)).findAllByIdIn(productIds);
+    }
+
+    @Test
+    public void decreaseProductsAmountAndSave_ShouldDecreaseProductsAmount() {
+        Product product = ProductDataBuilder.buildProductWithAllFields()
+                .amount(3)
+                .build();
+        Product decreasedProduct = product.toBuilder()
+                .amount(1)
+                .build();
+
+        when(productRepository.decreaseAmountIfAvailable(product.getId(), 2)).thenReturn(Optional.of(decreasedProduct));
 
-        when(mockedProduct.decreaseAmount()).thenReturn(true);
-        when(productRepository.saveAll(List.of(mockedProduct))).thenAnswer(invocation -> invocation.getArgument(0));
+        productBusinessService.decreaseProductsAmountAndSave(Set.of(product), Map.of(product.getId(), 2));
 
-        productBusinessService.decreaseProductsAmountAndSave(Set.of(mockedProduct));
+        assertThat(product.getAmount()).isEqualTo(1);
+        assertThat(product.getActive()).isTrue();
 
-        verify(mockedProduct).decreaseAmount();
-        verify(productRepository).saveAll(Set.of(mockedProduct));
+        verify(productRepository).decreaseAmountIfAvailable(product.getId(), 2);
+        verify(productRepository, never()).saveAll(any());
     }
 
     @Test
-    public void decreaseProductsAmountAndSave_ShouldThrowException_WhenProductAmountIsNotEnough() {
-        Product mockedProduct = mock(Product.class);
+    public void decreaseProductsAmountAndSave_ShouldDeactivateProduct_WhenAmountReachesZero() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Product decreasedProduct = product.toBuilder()
+                .amount(0)
+                .active(false)
+                .build();
+
+        when(productRepository.decreaseAmountIfAvailable(product.getId(), 1)).thenReturn(Optional.of(decreasedProduct));
+
+        productBusinessService.decreaseProductsAmountAndSave(Set.of(product), Map.of(product.getId(), 1));
+
+        assertThat(product.getAmount()).isEqualTo(0);
+        assertThat(product.getActive()).isFalse();
+
+        verify(productRepository).decreaseAmountIfAvailable(product.getId(), 1);
+    }
+
+    @Test
+    public void decreaseProductsAmountAndSave_ShouldRestoreDecreasedProducts_WhenProductOutOfStock() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        Set<Product> products = new LinkedHashSet<>(List.of(product, product1));
+
+        Map<String, Integer> quantities = Map.of(product.getId(), 3, product1.getId(), 1);
+
+        when(productRepository.decreaseAmountIfAvailable(product.getId(), 3)).thenReturn(Optional.of(product));
+        when(productRepository.decreaseAmountIfAvailable(product1.getId(), 1)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productBusinessService.decreaseProductsAmountAndSave(products, quantities))
+                .isInstanceOf(ProductNotAvailableException.class)
+                .hasMessage("Product " + product1.getName() + " is out of stock");
+
+        verify(productRepository).increaseAmount(product.getId(), 3);
+        verify(productRepository, never()).increaseAmount(eq(product1.getId()), anyInt());
+        verify(productEventProducer).sendProductCacheInvalidationEvent(product.getId());
+        verify(productEventProducer, never()).sendProductCacheInvalidationEvent(product1.getId());
+    }
+
+    @Test
+    public void decreaseProductsAmountAndSave_ShouldRestoreDecreasedProducts_WhenReservationFails() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Product product1 = ProductDataBuilder.buildProductWithAllFields().build();
+        Set<Product> products = new LinkedHashSet<>(List.of(product, product1));
 
-        when(mockedProduct.decreaseAmount()).thenReturn(true);
-        when(mockedProduct.getAmount()).thenReturn(0);
-        when(productRepository.saveAll(List.of(mockedProduct))).thenAnswer(invocation -> invocation.getArgument(0));
+        Map<String, Integer> quantities = Map.of(product.getId(), 2, product1.getId(), 1);
 
-        productBusinessService.decreaseProductsAmountAndSave(Set.of(mockedProduct));
+        when(productRepository.decreaseAmountIfAvailable(product.getId(), 2)).thenReturn(Optional.of(product));
+        when(productRepository.decreaseAmountIfAvailable(product1.getId(), 1)).thenThrow(new DataAccessResourceFailureException("Mongo unavailable"));
 
-        assertThat(mockedProduct.getActive()).isFalse();
+        assertThatThrownBy(() -> productBusinessService.decreaseProductsAmountAndSave(products, quantities))
+                .isInstanceOf(DataAccessResourceFailureException.class);
 
-        verify(mockedProduct).decreaseAmount();
-        verify(mockedProduct).getAmount();
-        verify(productRepository).saveAll(Set.of(mockedProduct));
+        verify(productRepository).increaseAmount(product.getId(), 2);
+        verify(productRepository, never()).increaseAmount(eq(product1.getId()), anyInt());
+        verify(productEventProducer).sendProductCacheInvalidationEvent(product.getId());
     }
 
 }
@@ -0,0 +1,83 @@
+package com.marketplace.product.service;
+
+import com.marketplace.aws.service.S3FileBusinessService;
+import com.marketplace.aws.service.S3ProductPhotoService;
+import com.marketplace.product.config.ProductApplicationConfig;
+import com.marketplace.product.kafka.producer.ProductEventProducer;
+import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.util.ProductDataBuilder;
+import com.marketplace.product.web.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = ProductApplicationConfig.class)
+public class ProductCacheServiceTest {
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @MockitoBean
+    private S3ProductPhotoService s3ProductPhotoService;
+
+    @MockitoBean
+    private S3FileBusinessService s3FileBusinessService;
+
+    @MockitoBean
+    private ProductEventProducer productEventProducer;
+
+    @Autowired
+    private ProductCacheService productCacheService;
+
+    @BeforeEach
+    public void clearCache() {
+        productCacheService.evictAll();
+    }
+
+    @Test
+    public void findAllByIdIn_ShouldCacheLoadedProducts() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        AtomicInteger loads = new AtomicInteger();
+
+        productCacheService.findAllByIdIn(List.of(product.getId()), productIds -> {
+            loads.incrementAndGet();
+            return List.of(product);
+        });
+        productCacheService.findAllByIdIn(List.of(product.getId()), productIds -> {
+            loads.incrementAndGet();
+            return List.of(product);
+        });
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void findAllByIdIn_ShouldNotCacheProducts_WhenEvictedDuringLoad() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        AtomicInteger loads = new AtomicInteger();
+
+        productCacheService.findAllByIdIn(List.of(product.getId()), productIds -> {
+            loads.incrementAndGet();
+            productCacheService.evict(Set.of(product.getId()));
+            return List.of(product);
+        });
+        List<Product> products = productCacheService.findAllByIdIn(List.of(product.getId()), productIds -> {
+            loads.incrementAndGet();
+            return List.of(product.toBuilder().name("Updated Product").build());
+        });
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(products.get(0).getName()).isEqualTo("Updated Product");
+    }
+
+}
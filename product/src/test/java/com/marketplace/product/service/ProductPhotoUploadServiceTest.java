@@ -0,0 +1,208 @@
+package com.marketplace.product.service;
+
+import com.marketplace.aws.exception.AwsPhotoUploadException;
+import com.marketplace.aws.model.PhotoVariant;
+import com.marketplace.aws.model.StagedFile;
+import com.marketplace.aws.model.UploadedFile;
+import com.marketplace.aws.service.S3FileBusinessService;
+import com.marketplace.aws.service.S3ProductPhotoService;
+import com.marketplace.product.config.ProductApplicationConfig;
+import com.marketplace.product.repository.ProductRepository;
+import com.marketplace.product.util.ProductDataBuilder;
+import com.marketplace.product.web.model.Product;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(classes = ProductApplicationConfig.class)
+public class ProductPhotoUploadServiceTest {
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @MockitoBean
+    private S3ProductPhotoService s3ProductPhotoService;
+
+    @MockitoBean
+    private S3FileBusinessService s3FileBusinessService;
+
+    @MockitoBean
+    private ProductCacheService productCacheService;
+
+    @Autowired
+    private ProductPhotoUploadService productPhotoUploadService;
+
+    @Test
+    public void uploadPhoto_ShouldAcquireReferenceBeforeUpload() throws Exception {
+        MockMultipartFile photo = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
+        StagedFile stagedFile = StagedFile.builder().fileName("photoName.png").build();
+        CompletableFuture<UploadedFile> photoUpload = CompletableFuture.completedFuture(UploadedFile.builder().url(URI.create("http://bucket/products/photoName.png").toURL()).build());
+
+        when(s3ProductPhotoService.stageFile(photo)).thenReturn(stagedFile);
+        when(productRepository.acquirePhotoReference("photoName.png")).thenReturn(true);
+        when(s3ProductPhotoService.uploadStagedFileAsync(stagedFile)).thenReturn(photoUpload);
+
+        productPhotoUploadService.uploadPhoto(photo).join();
+
+        InOrder inOrder = inOrder(productRepository, s3ProductPhotoService);
+        inOrder.verify(productRepository).acquirePhotoReference("photoName.png");
+        inOrder.verify(s3ProductPhotoService).uploadStagedFileAsync(stagedFile);
+        verify(productRepository, never()).releasePhotoReference(anyString());
+    }
+
+    @Test
+    public void uploadPhoto_ShouldReleaseReference_WhenUploadFails() {
+        MockMultipartFile photo = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
+        StagedFile stagedFile = StagedFile.builder().fileName("photoName.png").build();
+
+        when(s3ProductPhotoService.stageFile(photo)).thenReturn(stagedFile);
+        when(productRepository.acquirePhotoReference("photoName.png")).thenReturn(true);
+        when(s3ProductPhotoService.uploadStagedFileAsync(stagedFile)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("S3 unavailable")));
+
+        assertThatThrownBy(() -> productPhotoUploadService.uploadPhoto(photo).join())
+                .isInstanceOf(CompletionException.class);
+
+        verify(productRepository).releasePhotoReference("photoName.png");
+        verify(s3ProductPhotoService, never()).deleteFile(anyString());
+    }
+
+    @Test
+    public void uploadPhoto_ShouldDiscardStagedFile_WhenPhotoIsBeingDeleted() {
+        MockMultipartFile photo = new MockMultipartFile("photo", "photo.png", "image/png", "photo".getBytes());
+        StagedFile stagedFile = StagedFile.builder().fileName("photoName.png").build();
+
+        when(s3ProductPhotoService.stageFile(photo)).thenReturn(stagedFile);
+        when(productRepository.acquirePhotoReference("photoName.png")).thenReturn(false);
+
+        assertThatThrownBy(() -> productPhotoUploadService.uploadPhoto(photo))
+                .isInstanceOf(AwsPhotoUploadException.class)
+                .hasMessage("Photo is being deleted, try again later");
+
+        verify(s3ProductPhotoService).discardStagedFile(stagedFile);
+        verify(s3ProductPhotoService, never()).uploadStagedFileAsync(any());
+    }
+
+    @Test
+    public void completeOnUpload_ShouldAttachPhotoAndReleasePreviousOne() throws Exception {
+        String photoName = "photoName";
+        URL url = URI.create("http://bucket/products/photoName.png").toURL();
+        Product previousProduct = ProductDataBuilder.buildProductWithAllFields().build();
+        URL cardUrl = URI.create("http://bucket/products/photoName-png-card.jpg").toURL();
+        CompletableFuture<UploadedFile> photoUpload = new CompletableFuture<>();
+
+        when(productRepository.completePhotoUpload(previousProduct.getId(), photoName, url.toString(), Map.of("card", cardUrl.toString()))).thenReturn(Optional.of(previousProduct));
+        when(s3FileBusinessService.getFilenameFromUrl(url.toString())).thenReturn("photoName.png");
+        when(s3FileBusinessService.getFilenameFromUrl(previousProduct.getPhotoUrl())).thenReturn("previous.png");
+
+        productPhotoUploadService.completeOnUpload(previousProduct.getId(), photoName, photoUpload);
+        verify(productRepository, never()).completePhotoUpload(anyString(), anyString(), anyString(), anyMap());
+
+        photoUpload.complete(UploadedFile.builder()
+                .url(url)
+                .variantUrls(Map.of(PhotoVariant.CARD, cardUrl))
+                .build());
+
+        verify(productRepository).completePhotoUpload(previousProduct.getId(), photoName, url.toString(), Map.of("card", cardUrl.toString()));
+        verify(productRepository).releasePhotoReference("previous.png");
+        verify(productRepository, never()).releasePhotoReference("photoName.png");
+        verify(productRepository, never()).acquirePhotoReference(anyString());
+        verify(s3ProductPhotoService, never()).deleteFile(anyString());
+        verify(productRepository, never()).failPhotoUpload(anyString(), anyString());
+        verify(productCacheService).invalidate(previousProduct.getId());
+    }
+
+    @Test
+    public void completeOnUpload_ShouldReleaseUploadedPhoto_WhenPhotoIsNoLongerPending() throws Exception {
+        String photoName = "photoName";
+        URL url = URI.create("http://bucket/products/photoName.png").toURL();
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        when(productRepository.completePhotoUpload(product.getId(), photoName, url.toString(), Map.of())).thenReturn(Optional.empty());
+        when(s3FileBusinessService.getFilenameFromUrl(url.toString())).thenReturn("photoName.png");
+
+        productPhotoUploadService.completeOnUpload(product.getId(), photoName, CompletableFuture.completedFuture(UploadedFile.builder().url(url).build()));
+
+        verify(productRepository).releasePhotoReference("photoName.png");
+        verify(s3ProductPhotoService, never()).deleteFile(anyString());
+        verify(s3FileBusinessService, never()).getFilenameFromUrl(product.getPhotoUrl());
+    }
+
+    @Test
+    public void completeOnUpload_ShouldMarkPhotoAsFailed_WhenUploadFails() {
+        String photoName = "photoName";
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        productPhotoUploadService.completeOnUpload(product.getId(), photoName, CompletableFuture.failedFuture(new IllegalStateException("S3 unavailable")));
+
+        verify(productRepository).failPhotoUpload(product.getId(), photoName);
+        verify(productRepository, never()).completePhotoUpload(anyString(), anyString(), anyString(), anyMap());
+        verify(s3ProductPhotoService, never()).deleteFile(anyString());
+    }
+
+    @Test
+    public void releasePhotos_ShouldReleaseOnlyDetachedPhotos() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+        Product releasedProduct = ProductDataBuilder.buildProductWithAllFields().build();
+        Product productWithoutPhoto = ProductDataBuilder.buildProductWithAllFields()
+                .photoUrl(null)
+                .build();
+
+        when(s3FileBusinessService.getFilenameFromUrl(product.getPhotoUrl())).thenReturn("photo.png");
+        when(productRepository.detachPhoto(product.getId(), product.getPhotoUrl())).thenReturn(true);
+        when(productRepository.detachPhoto(releasedProduct.getId(), releasedProduct.getPhotoUrl())).thenReturn(false);
+
+        productPhotoUploadService.releasePhotos(List.of(product, releasedProduct, productWithoutPhoto));
+
+        verify(productRepository).releasePhotoReference("photo.png");
+        verify(productRepository, times(1)).releasePhotoReference(anyString());
+        verify(productRepository, times(2)).detachPhoto(anyString(), anyString());
+        verify(s3ProductPhotoService, never()).deleteFiles(any());
+    }
+
+    @Test
+    public void deleteReleasedPhotos_ShouldDeleteClaimedPhotosAndRemoveTheirReferences() {
+        when(productRepository.claimReleasedPhotoReferences(any(LocalDateTime.class), anyInt())).thenReturn(List.of("photo.png"));
+
+        productPhotoUploadService.deleteReleasedPhotos();
+
+        InOrder inOrder = inOrder(productRepository, s3ProductPhotoService);
+        inOrder.verify(productRepository).claimReleasedPhotoReferences(argThat(releasedBefore -> releasedBefore.isBefore(LocalDateTime.now())), anyInt());
+        inOrder.verify(s3ProductPhotoService).deleteFiles(List.of("photo.png"));
+        inOrder.verify(productRepository).removePhotoReferences(List.of("photo.png"));
+    }
+
+    @Test
+    public void failStalePhotoUploads_ShouldInvalidateProductsMarkedAsFailed() {
+        Product product = ProductDataBuilder.buildProductWithAllFields().build();
+
+        when(productRepository.failStalePhotoUploads(any(LocalDateTime.class), anyInt())).thenReturn(List.of(product.getId()));
+
+        productPhotoUploadService.failStalePhotoUploads();
+
+        verify(productRepository).failStalePhotoUploads(argThat(deadline -> deadline.isBefore(LocalDateTime.now())), anyInt());
+        verify(productCacheService).invalidate(List.of(product.getId()));
+    }
+
+}
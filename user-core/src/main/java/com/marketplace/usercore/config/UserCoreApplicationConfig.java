@@ -7,7 +7,10 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
 
 @Configuration
 @EnableAutoConfiguration
-@ComponentScan(basePackages = {"com.marketplace.usercore"})
+@ComponentScan(basePackages = {
+        "com.marketplace.usercore",
+        "com.marketplace.common"
+})
 @EnableMongoRepositories(basePackages = {"com.marketplace.usercore.repository"})
 public class UserCoreApplicationConfig {
 }
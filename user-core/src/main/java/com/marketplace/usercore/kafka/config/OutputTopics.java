@@ -0,0 +1,5 @@
+package com.marketplace.usercore.kafka.config;
+
+public interface OutputTopics {
+    String USER_DETAILS_CACHE_INVALIDATION_TOPIC = "USER_DETAILS_CACHE_INVALIDATION_TOPIC";
+}
@@ -0,0 +1,15 @@
+package com.marketplace.usercore.kafka.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UserKafkaTopicConfigurer {
+
+    @Bean
+    public NewTopic userDetailsCacheInvalidationTopic() {
+        return new NewTopic(OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, 3, (short) 2);
+    }
+
+}
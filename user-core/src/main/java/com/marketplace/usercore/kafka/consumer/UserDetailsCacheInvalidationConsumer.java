@@ -0,0 +1,27 @@
+package com.marketplace.usercore.kafka.consumer;
+
+import com.marketplace.usercore.kafka.config.OutputTopics;
+import com.marketplace.usercore.security.UserDetailsCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.KafkaListener;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class UserDetailsCacheInvalidationConsumer {
+
+    private final UserDetailsCacheService userDetailsCacheService;
+
+    @KafkaListener(
+            topics = OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC,
+            groupId = "#{'user_details_cache_invalidation_' + T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest"}
+    )
+    public void listenUserDetailsCacheInvalidationEvents(String email) {
+        log.debug("[USER_DETAILS_CACHE_INVALIDATION_CONSUMER]: Received {} for user {}", OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email);
+        userDetailsCacheService.evict(email);
+    }
+
+}
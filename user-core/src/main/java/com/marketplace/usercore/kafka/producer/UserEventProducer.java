@@ -0,0 +1,42 @@
+package com.marketplace.usercore.kafka.producer;
+
+import com.marketplace.usercore.kafka.config.OutputTopics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserEventProducer {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final ThreadPoolTaskExecutor kafkaPublishTaskExecutor;
+
+    /**
+     * Best effort: sent off the caller's thread, failures are only logged since the local cache is already evicted.
+     */
+    public void sendUserDetailsCacheInvalidationEvent(String email) {
+        try {
+            CompletableFuture.supplyAsync(() -> kafkaTemplate.send(OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email, email), kafkaPublishTaskExecutor)
+                    .thenCompose(Function.identity())
+                    .whenComplete((result, exception) -> {
+                        if (exception != null) {
+                            log.error("[USER_EVENT_PRODUCER]: Failed to send {} for user {}: {}", OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email, exception.getMessage());
+                        } else {
+                            log.debug("[USER_EVENT_PRODUCER]: Sent {} for user {}", OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email);
+                        }
+                    });
+        } catch (RejectedExecutionException exception) {
+            log.error("[USER_EVENT_PRODUCER]: Skipped {} for user {}: {}", OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email, exception.getMessage());
+        }
+    }
+
+}
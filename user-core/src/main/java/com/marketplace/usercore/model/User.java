@@ -11,6 +11,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -43,6 +44,19 @@ public class User extends AuditableEntity implements UserDetails {
     @Pattern(regexp = "^(?=\\S{8,32}$).*$", message = "Password must be between 8 and 32 characters")
     private String password;
 
+    private Long statusVersion;
+
+    @Version
+    private Long version;
+
+    public long currentStatusVersion() {
+        return statusVersion == null ? 0L : statusVersion;
+    }
+
+    public void increaseStatusVersion() {
+        statusVersion = currentStatusVersion() + 1;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(role);
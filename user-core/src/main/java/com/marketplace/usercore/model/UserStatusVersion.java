@@ -0,0 +1,26 @@
+package com.marketplace.usercore.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_status_versions")
+public class UserStatusVersion {
+
+    @Id
+    private String id;
+
+    private Long statusVersion;
+
+    private Instant changedAt;
+
+}
@@ -28,4 +28,9 @@ public class AuthenticationUserService {
             throw new AuthenticationServiceException("User is not authenticated");
         }
     }
+
+    public boolean isAuthenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User;
+    }
 }
@@ -1,15 +1,42 @@
 package com.marketplace.usercore.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class BCryptEncoder {
 
+    @Value("${user.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    /**
+     * 0 sizes the pool to the available cores: hashing is pure CPU work, more threads only add contention.
+     */
+    @Value("${user.password.hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${user.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
     @Bean
     public PasswordEncoder encoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingTaskExecutor() {
+        int poolSize = hashingPoolSize > 0 ? hashingPoolSize : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+
+        return executor;
     }
 }
@@ -0,0 +1,89 @@
+package com.marketplace.usercore.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on a bounded pool so a burst of sign-ins can't take every request thread.
+ * When the queue is full, or a task waits longer than the timeout, callers get a
+ * {@link PasswordHashingRejectedException} instead of a slow response.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private static final String REJECTED_MESSAGE = "Too many authentication attempts, try again later";
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolTaskExecutor passwordHashingTaskExecutor;
+
+    private final Duration timeout;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingTaskExecutor") ThreadPoolTaskExecutor passwordHashingTaskExecutor,
+            @Value("${user.password.hashing.timeout:PT5S}") Duration timeout
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingTaskExecutor = passwordHashingTaskExecutor;
+        this.timeout = timeout;
+    }
+
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public PasswordVerification verify(String rawPassword, String encodedPassword) {
+        return execute(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return PasswordVerification.builder().matched(false).build();
+            }
+
+            return PasswordVerification.builder()
+                    .matched(true)
+                    .upgradedPassword(passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(rawPassword) : null)
+                    .build();
+        });
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+
+        try {
+            future = passwordHashingTaskExecutor.submit(task);
+        } catch (TaskRejectedException exception) {
+            log.warn("[PASSWORD_HASHING_SERVICE]: Hashing queue is full, rejecting request");
+            throw new PasswordHashingRejectedException(REJECTED_MESSAGE);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            log.warn("[PASSWORD_HASHING_SERVICE]: Hashing did not complete within {}", timeout);
+            throw new PasswordHashingRejectedException(REJECTED_MESSAGE);
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException(REJECTED_MESSAGE);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+}
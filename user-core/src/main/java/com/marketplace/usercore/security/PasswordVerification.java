@@ -0,0 +1,22 @@
+package com.marketplace.usercore.security;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Optional;
+
+@Getter
+@Builder
+public class PasswordVerification {
+
+    private final boolean matched;
+
+    /**
+     * Present when the stored hash was produced with a weaker cost than the configured one.
+     */
+    private final String upgradedPassword;
+
+    public Optional<String> findUpgradedPassword() {
+        return Optional.ofNullable(upgradedPassword);
+    }
+}
@@ -0,0 +1,84 @@
+package com.marketplace.usercore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.marketplace.usercore.kafka.producer.UserEventProducer;
+import com.marketplace.usercore.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+public class UserDetailsCacheService implements MeterBinder {
+
+    private static final String CACHE_NAME = "user_details";
+
+    private final Cache<String, User> usersByEmail;
+
+    private final UserEventProducer userEventProducer;
+
+    public UserDetailsCacheService(
+            UserEventProducer userEventProducer,
+            @Value("${user.details-cache.maximum-size:10000}") long maximumSize,
+            @Value("${user.details-cache.expire-after-write:PT5M}") Duration expireAfterWrite
+    ) {
+        this.userEventProducer = userEventProducer;
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .removalListener((String email, User user, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        log.debug("[USER_DETAILS_CACHE_SERVICE]: User {} evicted, cause {}", email, cause);
+                    }
+                })
+                .build();
+    }
+
+    public Optional<User> findByEmail(String email, Function<String, Optional<User>> loader) {
+        return Optional.ofNullable(usersByEmail.get(email, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Evicts the user here and on every other instance.
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            evict(email);
+            userEventProducer.sendUserDetailsCacheInvalidationEvent(email);
+        }
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            usersByEmail.invalidate(email);
+        }
+    }
+
+    public void evictAll() {
+        usersByEmail.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usersByEmail, CACHE_NAME);
+    }
+
+    public CacheStats getStats() {
+        return usersByEmail.stats();
+    }
+
+    public long getSize() {
+        return usersByEmail.estimatedSize();
+    }
+}
@@ -0,0 +1,106 @@
+package com.marketplace.usercore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marketplace.usercore.model.User;
+import com.marketplace.usercore.model.UserStatusVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Latest status version per user, persisted so every instance sees changes made on another one.
+ * Versions are mirrored into an in-memory cache so stateless access tokens can be checked without a Mongo round trip.
+ */
+@Slf4j
+@Service
+public class UserStatusVersionService {
+
+    private static final long REVOKED_VERSION = Long.MAX_VALUE;
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String STATUS_VERSION_FIELD = "statusVersion";
+
+    private static final String CHANGED_AT_FIELD = "changedAt";
+
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Cache<String, Long> latestStatusVersions;
+
+    private volatile Instant lastSyncedAt;
+
+    public UserStatusVersionService(
+            MongoTemplate mongoTemplate,
+            @Value("${user.status-version.retention:P1D}") Duration retention
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.latestStatusVersions = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+        this.lastSyncedAt = Instant.now().minus(retention);
+    }
+
+    public void registerStatusVersion(User user) {
+        updateStatusVersion(user.getId(), user.currentStatusVersion());
+    }
+
+    public void revoke(String userId) {
+        updateStatusVersion(userId, REVOKED_VERSION);
+    }
+
+    public boolean isStatusVersionOutdated(String userId, long statusVersion) {
+        Long latestStatusVersion = latestStatusVersions.getIfPresent(userId);
+        return latestStatusVersion != null && latestStatusVersion > statusVersion;
+    }
+
+    /**
+     * Picks up status changes made by other instances; the first run loads every change within the retention period.
+     */
+    @Scheduled(fixedDelayString = "${user.status-version.sync-interval-ms:5000}")
+    public void syncStatusVersions() {
+        Instant syncStartedAt = Instant.now();
+
+        try {
+            List<UserStatusVersion> statusVersions = mongoTemplate.find(
+                    Query.query(Criteria.where(CHANGED_AT_FIELD).gte(lastSyncedAt.minus(SYNC_OVERLAP))),
+                    UserStatusVersion.class);
+
+            statusVersions.forEach(statusVersion -> mergeStatusVersion(statusVersion.getId(), statusVersion.getStatusVersion()));
+            lastSyncedAt = syncStartedAt;
+        } catch (DataAccessException exception) {
+            log.error("[USER_STATUS_VERSION_SERVICE]: Status versions sync failed {}", exception.getMessage());
+        }
+    }
+
+    private void updateStatusVersion(String userId, long statusVersion) {
+        mergeStatusVersion(userId, statusVersion);
+
+        try {
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where(ID_FIELD).is(userId)),
+                    new Update().max(STATUS_VERSION_FIELD, statusVersion).set(CHANGED_AT_FIELD, Instant.now()),
+                    UserStatusVersion.class);
+        } catch (DataAccessException exception) {
+            log.error("[USER_STATUS_VERSION_SERVICE]: Status version of user {} was not persisted {}", userId, exception.getMessage());
+        }
+    }
+
+    private void mergeStatusVersion(String userId, Long statusVersion) {
+        if (userId != null && statusVersion != null) {
+            latestStatusVersions.asMap().merge(userId, statusVersion, Math::max);
+        }
+    }
+}
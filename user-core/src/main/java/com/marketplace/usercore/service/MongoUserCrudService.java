@@ -1,18 +1,21 @@
 package com.marketplace.usercore.service;
 
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
 import com.marketplace.usercore.dto.UserRequest;
 import com.marketplace.usercore.dto.UserUpdateRequest;
 import com.marketplace.usercore.mapper.UserEntityMapper;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserStatus;
 import com.marketplace.usercore.repository.UserRepository;
+import com.marketplace.usercore.security.PasswordHashingService;
+import com.marketplace.usercore.security.UserDetailsCacheService;
+import com.marketplace.usercore.security.UserStatusVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 @Slf4j
 @Service
@@ -21,17 +24,23 @@ public class MongoUserCrudService implements UserCrudService {
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     private final UserEntityMapper userEntityMapper;
 
     private final UserManagerService userManagerService;
 
+    private final UserStatusVersionService userStatusVersionService;
+
+    private final UserDetailsCacheService userDetailsCacheService;
+
+    private final MongoPartialUpdateService mongoPartialUpdateService;
+
     @Override
     public User create(UserRequest userRequest) {
         userManagerService.throwIfUserExistsByEmail(userRequest.getEmail());
 
-        String encodedPassword = passwordEncoder.encode(userRequest.getPassword());
+        String encodedPassword = passwordHashingService.encode(userRequest.getPassword());
         User user = userEntityMapper.mapUserRequestDtoToUser(userRequest).toBuilder()
                 .status(UserStatus.ACTIVE)
                 .password(encodedPassword)
@@ -53,22 +62,40 @@ public class MongoUserCrudService implements UserCrudService {
     @Override
     public User update(String userId, UserUpdateRequest userUpdateRequest) {
         User userForUpdate = userManagerService.throwIfUserNotFoundByIdOrGet(userId);
+        String previousEmail = userForUpdate.getEmail();
+
+        PartialUpdate partialUpdate = PartialUpdate.create()
+                .setIfPresent("email", resolveChangedEmail(userForUpdate, userUpdateRequest.getEmail()))
+                .setIfPresent("role", userUpdateRequest.getRole() != userForUpdate.getRole() ? userUpdateRequest.getRole() : null)
+                .setIfPresent("status", userUpdateRequest.getStatus() != userForUpdate.getStatus() ? userUpdateRequest.getStatus() : null);
 
-        if (!userUpdateRequest.getEmail().equals(userForUpdate.getEmail())) {
-            userManagerService.throwIfUserExistsByEmail(userUpdateRequest.getEmail());
-            Optional.ofNullable(userUpdateRequest.getEmail()).ifPresent(userForUpdate::setEmail);
+        if (partialUpdate.isEmpty()) {
+            return userForUpdate;
         }
 
-        Optional.ofNullable(userUpdateRequest.getRole()).ifPresent(userForUpdate::setRole);
-        Optional.ofNullable(userUpdateRequest.getStatus()).ifPresent(userForUpdate::setStatus);
+        partialUpdate.setIfPresent("statusVersion", userForUpdate.currentStatusVersion() + 1);
+        User updatedUser = mongoPartialUpdateService.updateOrThrow(userId, userForUpdate.getVersion(), partialUpdate, User.class);
+        userStatusVersionService.registerStatusVersion(updatedUser);
+        userDetailsCacheService.invalidate(previousEmail);
 
-        return userRepository.save(userForUpdate);
+        return updatedUser;
     }
 
     @Override
     public void delete(String userId) {
-        userManagerService.throwIfUserNotFoundByIdOrGet(userId);
+        User userForDelete = userManagerService.throwIfUserNotFoundByIdOrGet(userId);
         userRepository.deleteById(userId);
+        userStatusVersionService.revoke(userId);
+        userDetailsCacheService.invalidate(userForDelete.getEmail());
+    }
+
+    private String resolveChangedEmail(User userForUpdate, String requestEmail) {
+        if (requestEmail == null || requestEmail.equals(userForUpdate.getEmail())) {
+            return null;
+        }
+
+        userManagerService.throwIfUserExistsByEmail(requestEmail);
+        return requestEmail;
     }
 
 }
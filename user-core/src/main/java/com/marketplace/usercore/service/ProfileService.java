@@ -4,6 +4,8 @@ import com.marketplace.usercore.dto.ProfileUpdateRequest;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.repository.UserRepository;
 import com.marketplace.usercore.security.AuthenticationUserService;
+import com.marketplace.usercore.security.UserDetailsCacheService;
+import com.marketplace.usercore.security.UserStatusVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
@@ -23,6 +25,15 @@ public class ProfileService {
 
     private final UserRepository userRepository;
 
+    private final UserStatusVersionService userStatusVersionService;
+
+    private final UserDetailsCacheService userDetailsCacheService;
+
+    public User getAuthenticatedProfile() {
+        User authenticatedUser = authenticationUserService.getAuthenticatedUser();
+        return userManagerService.throwIfUserNotFoundByIdOrGet(authenticatedUser.getId());
+    }
+
     public User update(String userId, ProfileUpdateRequest profileUpdateRequest) {
 
         User authenticatedUser = authenticationUserService.getAuthenticatedUser();
@@ -39,8 +50,15 @@ public class ProfileService {
 
         userManagerService.throwIfUserExistsByEmail(profileUpdateRequest.getEmail());
 
+        String previousEmail = userForUpdate.getEmail();
         Optional.ofNullable(profileUpdateRequest.getEmail()).ifPresent(userForUpdate::setEmail);
-        return userRepository.save(userForUpdate);
+        userForUpdate.increaseStatusVersion();
+
+        User updatedUser = userRepository.save(userForUpdate);
+        userStatusVersionService.registerStatusVersion(updatedUser);
+        userDetailsCacheService.invalidate(previousEmail);
+
+        return updatedUser;
     }
 
 }
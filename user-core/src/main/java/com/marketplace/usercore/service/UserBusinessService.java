@@ -2,10 +2,14 @@ package com.marketplace.usercore.service;
 
 import com.marketplace.common.exception.EntityExistsException;
 import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.repository.UserRepository;
+import com.marketplace.usercore.security.UserDetailsCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -15,6 +19,10 @@ public class UserBusinessService implements UserManagerService {
 
     private final UserRepository userRepository;
 
+    private final MongoPartialUpdateService mongoPartialUpdateService;
+
+    private final UserDetailsCacheService userDetailsCacheService;
+
     @Override
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
@@ -36,4 +44,18 @@ public class UserBusinessService implements UserManagerService {
                     return new EntityNotFoundException("User not found!");
                 });
     }
+
+    /**
+     * Best effort: a concurrent update wins and the hash is upgraded on the next sign-in instead.
+     */
+    @Override
+    public void upgradePassword(User user, String encodedPassword) {
+        try {
+            mongoPartialUpdateService.updateOrThrow(user.getId(), user.getVersion(), PartialUpdate.create().setIfPresent("password", encodedPassword), User.class);
+            userDetailsCacheService.invalidate(user.getEmail());
+            log.info("[USER_SERVICE_FACADE]: Password hash upgraded for user: {}", user.getId());
+        } catch (OptimisticLockingFailureException exception) {
+            log.warn("[USER_SERVICE_FACADE]: Skipping password hash upgrade for user {}: {}", user.getId(), exception.getMessage());
+        }
+    }
 }
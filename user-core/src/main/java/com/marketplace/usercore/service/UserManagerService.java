@@ -10,4 +10,6 @@ public interface UserManagerService {
 
     boolean existsByEmail(String email);
 
+    void upgradePassword(User user, String encodedPassword);
+
 }
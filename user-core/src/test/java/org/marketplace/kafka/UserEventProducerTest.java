@@ -0,0 +1,72 @@
+package org.marketplace.kafka;
+
+import com.marketplace.usercore.kafka.config.OutputTopics;
+import com.marketplace.usercore.kafka.producer.UserEventProducer;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.*;
+
+public class UserEventProducerTest {
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private ThreadPoolTaskExecutor kafkaPublishTaskExecutor;
+
+    private UserEventProducer userEventProducer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        kafkaPublishTaskExecutor = new ThreadPoolTaskExecutor();
+        kafkaPublishTaskExecutor.initialize();
+        userEventProducer = new UserEventProducer(kafkaTemplate, kafkaPublishTaskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        kafkaPublishTaskExecutor.shutdown();
+    }
+
+    @Test
+    public void sendUserDetailsCacheInvalidationEvent_ShouldNotThrow_WhenSendFails() {
+        String email = "test@gmail.com";
+
+        when(kafkaTemplate.send(OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email, email))
+                .thenThrow(new KafkaException("Send failed"));
+
+        assertThatCode(() -> userEventProducer.sendUserDetailsCacheInvalidationEvent(email)).doesNotThrowAnyException();
+
+        verify(kafkaTemplate, timeout(1000)).send(OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email, email);
+    }
+
+    @Test
+    public void sendUserDetailsCacheInvalidationEvent_ShouldNotThrow_WhenSendCompletesExceptionally() {
+        String email = "test@gmail.com";
+
+        when(kafkaTemplate.send(OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email, email))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("Broker unavailable")));
+
+        assertThatCode(() -> userEventProducer.sendUserDetailsCacheInvalidationEvent(email)).doesNotThrowAnyException();
+
+        verify(kafkaTemplate, timeout(1000)).send(OutputTopics.USER_DETAILS_CACHE_INVALIDATION_TOPIC, email, email);
+    }
+
+    @Test
+    public void sendUserDetailsCacheInvalidationEvent_ShouldNotThrow_WhenExecutorRejects() {
+        String email = "test@gmail.com";
+        kafkaPublishTaskExecutor.shutdown();
+
+        assertThatCode(() -> userEventProducer.sendUserDetailsCacheInvalidationEvent(email)).doesNotThrowAnyException();
+
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
@@ -13,6 +13,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
@@ -54,6 +58,51 @@ public class AuthenticationUserServiceTest {
                 .hasMessage("User is not authenticated");
     }
 
+    @Test
+    public void isAuthenticated_ShouldReturnTrue_WhenPrincipalIsUser() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        addAuthenticationToContext(user);
+
+        assertThat(authenticationUserService.isAuthenticated()).isTrue();
+    }
+
+    @Test
+    public void isAuthenticated_ShouldReturnFalse_WhenAuthenticationIsNull() {
+        SecurityContextHolder.clearContext();
+
+        assertThat(authenticationUserService.isAuthenticated()).isFalse();
+    }
+
+    @Test
+    public void getAuthenticatedUser_ShouldIsolateContextPerVirtualThread() throws Exception {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+        User user1 = UserDataBuilder.buildUserWithAllFields()
+                .email("test1@gmail.com")
+                .build();
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> email = executorService.submit(() -> getAuthenticatedEmailOnCurrentThread(user));
+            Future<String> email1 = executorService.submit(() -> getAuthenticatedEmailOnCurrentThread(user1));
+            Future<Boolean> authenticated = executorService.submit(authenticationUserService::isAuthenticated);
+
+            assertThat(email.get()).isEqualTo(user.getEmail());
+            assertThat(email1.get()).isEqualTo(user1.getEmail());
+            assertThat(authenticated.get()).isFalse();
+        }
+    }
+
+    private String getAuthenticatedEmailOnCurrentThread(User user) {
+        assertThat(Thread.currentThread().isVirtual()).isTrue();
+
+        addAuthenticationToContext(user);
+        try {
+            return authenticationUserService.getAuthenticatedUser().getEmail();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     private void addAuthenticationToContext(UserDetails userDetails) {
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                 userDetails,
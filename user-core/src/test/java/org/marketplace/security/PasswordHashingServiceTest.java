@@ -0,0 +1,98 @@
+package org.marketplace.security;
+
+import com.marketplace.usercore.config.UserCoreApplicationConfig;
+import com.marketplace.usercore.security.PasswordHashingRejectedException;
+import com.marketplace.usercore.security.PasswordHashingService;
+import com.marketplace.usercore.security.PasswordVerification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@SpringBootTest(classes = UserCoreApplicationConfig.class, properties = {
+        "user.password.bcrypt-strength=6",
+        "user.password.hashing.pool-size=1",
+        "user.password.hashing.queue-capacity=1"
+})
+public class PasswordHashingServiceTest {
+
+    private static final String RAW_PASSWORD = "testPassword1";
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordHashingTaskExecutor")
+    private ThreadPoolTaskExecutor passwordHashingTaskExecutor;
+
+    @Test
+    public void encode_ShouldProduceHashMatchingRawPassword() {
+        String encodedPassword = passwordHashingService.encode(RAW_PASSWORD);
+
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, encodedPassword)).isTrue();
+    }
+
+    @Test
+    public void verify_ShouldNotUpgrade_WhenHashUsesConfiguredStrength() {
+        PasswordVerification verification = passwordHashingService.verify(RAW_PASSWORD, passwordEncoder.encode(RAW_PASSWORD));
+
+        assertThat(verification.isMatched()).isTrue();
+        assertThat(verification.findUpgradedPassword()).isEmpty();
+    }
+
+    @Test
+    public void verify_ShouldReturnUpgradedHash_WhenHashUsesWeakerStrength() {
+        String weakPassword = new BCryptPasswordEncoder(4).encode(RAW_PASSWORD);
+
+        PasswordVerification verification = passwordHashingService.verify(RAW_PASSWORD, weakPassword);
+
+        assertThat(verification.isMatched()).isTrue();
+        assertThat(verification.findUpgradedPassword()).isPresent();
+        assertThat(passwordEncoder.upgradeEncoding(verification.getUpgradedPassword())).isFalse();
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, verification.getUpgradedPassword())).isTrue();
+    }
+
+    @Test
+    public void verify_ShouldNotMatch_WhenPasswordIsWrong() {
+        PasswordVerification verification = passwordHashingService.verify("wrongPassword", passwordEncoder.encode(RAW_PASSWORD));
+
+        assertThat(verification.isMatched()).isFalse();
+        assertThat(verification.findUpgradedPassword()).isEmpty();
+    }
+
+    @Test
+    public void encode_ShouldReject_WhenHashingPoolIsSaturated() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        passwordHashingTaskExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            started.await();
+            passwordHashingTaskExecutor.execute(() -> {});
+
+            assertThatThrownBy(() -> passwordHashingService.encode(RAW_PASSWORD))
+                    .isInstanceOf(PasswordHashingRejectedException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.marketplace.security;
+
+import com.marketplace.usercore.config.UserCoreApplicationConfig;
+import com.marketplace.usercore.kafka.producer.UserEventProducer;
+import com.marketplace.usercore.model.User;
+import com.marketplace.usercore.security.UserDetailsCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.marketplace.util.builder.UserDataBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = UserCoreApplicationConfig.class)
+public class UserDetailsCacheServiceTest {
+
+    @MockitoBean
+    private UserEventProducer userEventProducer;
+
+    @Autowired
+    private UserDetailsCacheService userDetailsCacheService;
+
+    @AfterEach
+    public void tearDown() {
+        userDetailsCacheService.evictAll();
+    }
+
+    @Test
+    public void invalidate_ShouldEvictUserAndBroadcastEviction() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+
+        userDetailsCacheService.findByEmail(user.getEmail(), email -> Optional.of(user));
+        userDetailsCacheService.invalidate(user.getEmail());
+
+        assertThat(userDetailsCacheService.getSize()).isEqualTo(0L);
+        verify(userEventProducer).sendUserDetailsCacheInvalidationEvent(user.getEmail());
+    }
+
+    @Test
+    public void bindTo_ShouldPublishCacheMetrics() {
+        User user = UserDataBuilder.buildUserWithAllFields().build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        userDetailsCacheService.bindTo(meterRegistry);
+        userDetailsCacheService.findByEmail(user.getEmail(), email -> Optional.of(user));
+        userDetailsCacheService.findByEmail(user.getEmail(), email -> Optional.of(user));
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", "user_details").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "user_details").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+}
@@ -2,16 +2,21 @@ package org.marketplace.service;
 
 import com.marketplace.common.exception.EntityExistsException;
 import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
 import com.marketplace.usercore.config.UserCoreApplicationConfig;
 import com.marketplace.usercore.dto.UserRequest;
 import com.marketplace.usercore.dto.UserUpdateRequest;
+import com.marketplace.usercore.kafka.producer.UserEventProducer;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.model.UserRole;
 import com.marketplace.usercore.model.UserStatus;
 import com.marketplace.usercore.repository.UserRepository;
 import com.marketplace.usercore.security.AuthenticationUserService;
+import com.marketplace.usercore.security.UserStatusVersionService;
 import com.marketplace.usercore.service.UserCrudService;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.marketplace.util.builder.UserDataBuilder;
 import org.marketplace.util.builder.UserUpdateRequestDataBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +31,7 @@ import java.util.UUID;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = UserCoreApplicationConfig.class)
@@ -40,9 +46,18 @@ public class MongoUserCrudServiceTest {
     @MockitoBean
     private AuthenticationUserService authenticationUserService;
 
+    @MockitoBean
+    private MongoPartialUpdateService mongoPartialUpdateService;
+
+    @MockitoBean
+    private UserEventProducer userEventProducer;
+
     @Autowired
     private UserCrudService userCrudService;
 
+    @Autowired
+    private UserStatusVersionService userStatusVersionService;
+
     @Test
     public void findById_shouldReturnUserById() {
         String userId = String.valueOf(UUID.randomUUID());
@@ -145,22 +160,78 @@ public class MongoUserCrudServiceTest {
                 .id(String.valueOf(UUID.randomUUID()))
                 .build();
         UserUpdateRequest userUpdateRequest = UserUpdateRequestDataBuilder.buildUserWithAllFields().build();
+        User updatedUser = user.toBuilder()
+                .email(userUpdateRequest.getEmail())
+                .role(userUpdateRequest.getRole())
+                .build();
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(userRepository.save(user)).thenAnswer(invocation -> {
-            User invocationUser = invocation.getArgument(0);
-            invocationUser.setRole(UserRole.ADMIN);
-            invocationUser.setEmail("test1@gmail.com");
-            return invocationUser;
-        });
+        when(mongoPartialUpdateService.updateOrThrow(eq(user.getId()), eq(user.getVersion()), any(PartialUpdate.class), eq(User.class))).thenReturn(updatedUser);
 
         User responseUser = userCrudService.update(user.getId(), userUpdateRequest);
         assertThat(responseUser).isNotNull();
         assertThat(responseUser.getEmail()).isEqualTo(userUpdateRequest.getEmail());
         assertThat(responseUser.getRole()).isEqualTo(userUpdateRequest.getRole());
 
+        ArgumentCaptor<PartialUpdate> partialUpdateCaptor = ArgumentCaptor.forClass(PartialUpdate.class);
         verify(userRepository).findById(user.getId());
-        verify(userRepository).save(user);
+        verify(mongoPartialUpdateService).updateOrThrow(eq(user.getId()), eq(user.getVersion()), partialUpdateCaptor.capture(), eq(User.class));
+        assertThat(partialUpdateCaptor.getValue().getValue("email")).isEqualTo(userUpdateRequest.getEmail());
+        assertThat(partialUpdateCaptor.getValue().getValue("role")).isEqualTo(userUpdateRequest.getRole());
+        assertThat(partialUpdateCaptor.getValue().getValue("password")).isNull();
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void update_shouldIncreaseStatusVersion_WhenStatusChanged() {
+        User user = UserDataBuilder.buildUserWithAllFields()
+                .id(String.valueOf(UUID.randomUUID()))
+                .status(UserStatus.ACTIVE)
+                .build();
+        UserUpdateRequest userUpdateRequest = UserUpdateRequestDataBuilder.buildUserWithAllFields()
+                .email(user.getEmail())
+                .role(user.getRole())
+                .status(UserStatus.BLOCKED)
+                .build();
+        User updatedUser = user.toBuilder()
+                .status(UserStatus.BLOCKED)
+                .statusVersion(1L)
+                .build();
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(mongoPartialUpdateService.updateOrThrow(eq(user.getId()), eq(user.getVersion()), any(PartialUpdate.class), eq(User.class))).thenReturn(updatedUser);
+
+        User responseUser = userCrudService.update(user.getId(), userUpdateRequest);
+        assertThat(responseUser.getStatus()).isEqualTo(UserStatus.BLOCKED);
+        assertThat(responseUser.getStatusVersion()).isEqualTo(1L);
+        assertThat(userStatusVersionService.isStatusVersionOutdated(user.getId(), 0L)).isTrue();
+        assertThat(userStatusVersionService.isStatusVersionOutdated(user.getId(), 1L)).isFalse();
+
+        ArgumentCaptor<PartialUpdate> partialUpdateCaptor = ArgumentCaptor.forClass(PartialUpdate.class);
+        verify(mongoPartialUpdateService).updateOrThrow(eq(user.getId()), eq(user.getVersion()), partialUpdateCaptor.capture(), eq(User.class));
+        assertThat(partialUpdateCaptor.getValue().getValue("status")).isEqualTo(UserStatus.BLOCKED);
+        assertThat(partialUpdateCaptor.getValue().getValue("statusVersion")).isEqualTo(1L);
+        assertThat(partialUpdateCaptor.getValue().getValue("email")).isNull();
+    }
+
+    @Test
+    public void update_shouldSkipWrite_WhenNothingChanged() {
+        User user = UserDataBuilder.buildUserWithAllFields()
+                .id(String.valueOf(UUID.randomUUID()))
+                .build();
+        UserUpdateRequest userUpdateRequest = UserUpdateRequestDataBuilder.buildUserWithAllFields()
+                .email(user.getEmail())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .build();
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        User responseUser = userCrudService.update(user.getId(), userUpdateRequest);
+        assertThat(responseUser).isEqualTo(user);
+
+        verifyNoInteractions(mongoPartialUpdateService);
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -189,6 +260,7 @@ public class MongoUserCrudServiceTest {
 
         verify(userRepository).findById(userId);
         verify(userRepository).deleteById(userId);
+        verify(userEventProducer).sendUserDetailsCacheInvalidationEvent(user.getEmail());
 
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
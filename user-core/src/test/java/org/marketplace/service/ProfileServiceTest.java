@@ -3,6 +3,7 @@ package org.marketplace.service;
 import com.marketplace.common.exception.EntityExistsException;
 import com.marketplace.usercore.config.UserCoreApplicationConfig;
 import com.marketplace.usercore.dto.ProfileUpdateRequest;
+import com.marketplace.usercore.kafka.producer.UserEventProducer;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.repository.UserRepository;
 import com.marketplace.usercore.security.AuthenticationUserService;
@@ -33,6 +34,9 @@ public class ProfileServiceTest {
     @MockitoBean
     private UserRepository userRepository;
 
+    @MockitoBean
+    private UserEventProducer userEventProducer;
+
     @Autowired
     private ProfileService profileService;
 
@@ -41,6 +45,7 @@ public class ProfileServiceTest {
         User user = UserDataBuilder.buildUserWithAllFields()
                 .id(String.valueOf(UUID.randomUUID()))
                 .build();
+        String previousEmail = user.getEmail();
 
         ProfileUpdateRequest profileUpdateRequest = ProfileUpdateRequest.builder()
                 .email("test123@gmail.com")
@@ -59,6 +64,7 @@ public class ProfileServiceTest {
         verify(authenticationUserService).getAuthenticatedUser();
         verify(userManagerService).throwIfUserNotFoundByIdOrGet(user.getId());
         verify(userRepository).save(user);
+        verify(userEventProducer).sendUserDetailsCacheInvalidationEvent(previousEmail);
     }
 
     @Test
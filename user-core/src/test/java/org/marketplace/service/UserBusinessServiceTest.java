@@ -2,14 +2,19 @@ package org.marketplace.service;
 
 import com.marketplace.common.exception.EntityExistsException;
 import com.marketplace.common.exception.EntityNotFoundException;
+import com.marketplace.common.mongo.MongoPartialUpdateService;
+import com.marketplace.common.mongo.PartialUpdate;
 import com.marketplace.usercore.config.UserCoreApplicationConfig;
 import com.marketplace.usercore.model.User;
 import com.marketplace.usercore.repository.UserRepository;
+import com.marketplace.usercore.security.UserDetailsCacheService;
 import com.marketplace.usercore.service.UserBusinessService;
 import org.junit.jupiter.api.Test;
 import org.marketplace.util.builder.UserDataBuilder;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.util.Optional;
@@ -17,6 +22,10 @@ import java.util.UUID;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = UserCoreApplicationConfig.class)
@@ -25,6 +34,12 @@ public class UserBusinessServiceTest {
     @MockitoBean
     private UserRepository userRepository;
 
+    @MockitoBean
+    private MongoPartialUpdateService mongoPartialUpdateService;
+
+    @MockitoBean
+    private UserDetailsCacheService userDetailsCacheService;
+
     @Autowired
     private UserBusinessService userBusinessService;
 
@@ -87,4 +102,35 @@ public class UserBusinessServiceTest {
 
         assertThatThrownBy(() -> userBusinessService.throwIfUserNotFoundByIdOrGet(user.getId())).isInstanceOf(EntityNotFoundException.class);
     }
+
+    @Test
+    public void upgradePassword_ShouldUpdatePasswordAndEvictCachedUser() {
+        User user = UserDataBuilder.buildUserWithAllFields()
+                .id(String.valueOf(UUID.randomUUID()))
+                .version(3L)
+                .build();
+        String upgradedPassword = "upgradedPassword";
+        ArgumentCaptor<PartialUpdate> partialUpdateCaptor = ArgumentCaptor.forClass(PartialUpdate.class);
+
+        userBusinessService.upgradePassword(user, upgradedPassword);
+
+        verify(mongoPartialUpdateService).updateOrThrow(eq(user.getId()), eq(user.getVersion()), partialUpdateCaptor.capture(), eq(User.class));
+        assertThat(partialUpdateCaptor.getValue().getValue("password")).isEqualTo(upgradedPassword);
+        verify(userDetailsCacheService).invalidate(user.getEmail());
+    }
+
+    @Test
+    public void upgradePassword_ShouldSkip_WhenUserWasModifiedConcurrently() {
+        User user = UserDataBuilder.buildUserWithAllFields()
+                .id(String.valueOf(UUID.randomUUID()))
+                .version(3L)
+                .build();
+
+        when(mongoPartialUpdateService.updateOrThrow(eq(user.getId()), eq(user.getVersion()), any(PartialUpdate.class), eq(User.class)))
+                .thenThrow(new OptimisticLockingFailureException("User was modified by another request, please try again"));
+
+        userBusinessService.upgradePassword(user, "upgradedPassword");
+
+        verify(userDetailsCacheService, never()).invalidate(user.getEmail());
+    }
 }
@@ -26,7 +26,8 @@ public class ProfileController {
     private final AuthenticationUserService authenticationUserService;
 
     @GetMapping
-    public String getProfile() {
+    public String getProfile(Model model) {
+        model.addAttribute("authUser", profileService.getAuthenticatedProfile());
         return "profile";
     }
 